@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import io.github.tigerbotics7125.tigerlib.math.graph.BenchmarkGraph.Shape;
+import io.github.tigerbotics7125.tigerlib.math.graph.CompiledAStar.SearchMode;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks planning over graphs of increasing size, with {@link AStar} over a {@link Graph}, and
+ * {@link CompiledAStar} in each direction over its {@link CompiledGraph}. Each invocation plans
+ * the next of a fixed set of far apart queries.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AStarBenchmark {
+
+    private static final int kQueries = 64;
+
+    // Parameters are named as they appear in results.
+    @Param({"GRID", "RANDOM", "FIELD"})
+    public Shape shape;
+
+    @Param({"32", "64", "128"})
+    public int width;
+
+    private AStar<Integer> mAStar;
+    private CompiledAStar<Integer> mCompiledAStar;
+    private Graph<Integer> mGraph;
+    private int[] mQueries;
+    private int mNext;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkGraph graph = BenchmarkGraph.create(shape, width);
+        mGraph = graph.getGraph();
+        mAStar = new AStar<>(mGraph, graph.getHeuristicFunction());
+        mCompiledAStar = new CompiledAStar<>(mGraph.compile(), graph.getHeuristic());
+        mQueries = graph.getQueries(kQueries);
+    }
+
+    /** @return Index of the next query's start, its end follows it. */
+    private int nextQuery() {
+        int query = mNext;
+        mNext = (mNext + 2) % mQueries.length;
+        return query;
+    }
+
+    @Benchmark
+    public List<Vertex<Integer>> aStar() {
+        int query = nextQuery();
+        return mAStar.astar(
+                mGraph.getVertex(mQueries[query]), mGraph.getVertex(mQueries[query + 1]));
+    }
+
+    @Benchmark
+    public List<Vertex<Integer>> compiledUnidirectional() {
+        int query = nextQuery();
+        return mCompiledAStar.astar(
+                mQueries[query], mQueries[query + 1], SearchMode.UNIDIRECTIONAL);
+    }
+
+    @Benchmark
+    public List<Vertex<Integer>> compiledBidirectional() {
+        int query = nextQuery();
+        return mCompiledAStar.astar(mQueries[query], mQueries[query + 1], SearchMode.BIDIRECTIONAL);
+    }
+}
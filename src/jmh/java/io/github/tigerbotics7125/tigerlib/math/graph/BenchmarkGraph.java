@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import io.github.tigerbotics7125.tigerlib.math.Tuple;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Graphs for benchmarks, built from a fixed seed so every run and version plans over the same
+ * graph. Each vertex holds its index, and its position is kept in arrays for the heuristic.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class BenchmarkGraph {
+
+    private static final long kSeed = 7125;
+
+    /** The shape of a benchmark graph. */
+    public enum Shape {
+        /** An open, 8-connected grid. */
+        GRID,
+        /** Randomly placed points, each connected to its nearest neighbours. */
+        RANDOM,
+        /** An 8-connected grid with walls and obstacles like those on a field. */
+        FIELD;
+    }
+
+    private final Graph<Integer> mGraph;
+    private final double[] mXs;
+    private final double[] mYs;
+
+    private BenchmarkGraph(int size) {
+        mGraph = new Graph<>();
+        mXs = new double[size];
+        mYs = new double[size];
+    }
+
+    /**
+     * @param shape The shape of the graph.
+     * @param width The graph covers a width x width area, with about width^2 verticies.
+     * @return The graph.
+     */
+    public static BenchmarkGraph create(Shape shape, int width) {
+        return switch (shape) {
+            case GRID -> grid(width, false);
+            case RANDOM -> random(width);
+            case FIELD -> grid(width, true);
+        };
+    }
+
+    private static BenchmarkGraph grid(int width, boolean obstacles) {
+        BenchmarkGraph result = new BenchmarkGraph(width * width);
+        Random random = new Random(kSeed);
+        boolean[] blocked = new boolean[width * width];
+
+        if (obstacles) {
+            // Two walls with gaps, like a charge station and community, and scattered boxes.
+            for (int y = 0; y < width; y++) {
+                if (y < width / 3 || y > width / 2) blocked[width / 3 + y * width] = true;
+                if (y > width / 2 || y < width / 4) blocked[2 * width / 3 + y * width] = true;
+            }
+            for (int box = 0; box < width / 4; box++) {
+                int x0 = random.nextInt(width), y0 = random.nextInt(width);
+                for (int y = y0; y < Math.min(width, y0 + 3); y++)
+                    for (int x = x0; x < Math.min(width, x0 + 3); x++)
+                        blocked[x + y * width] = true;
+            }
+            // Keep the corners free, as they are used as starts and goals.
+            blocked[0] = false;
+            blocked[width * width - 1] = false;
+        }
+
+        for (int i = 0; i < width * width; i++) result.add(i, i % width, i / width);
+        for (int y = 0; y < width; y++) {
+            for (int x = 0; x < width; x++) {
+                if (blocked[x + y * width]) continue;
+                for (int dy = 0; dy <= 1; dy++) {
+                    for (int dx = -1; dx <= 1; dx++) {
+                        if (dy == 0 && dx <= 0) continue;
+                        int nx = x + dx, ny = y + dy;
+                        if (nx < 0 || nx >= width || ny >= width || blocked[nx + ny * width])
+                            continue;
+                        result.mGraph.addEdge(x + y * width, nx + ny * width, Math.hypot(dx, dy));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static BenchmarkGraph random(int width) {
+        int size = width * width;
+        BenchmarkGraph result = new BenchmarkGraph(size);
+        Random random = new Random(kSeed);
+
+        double[] xs = new double[size], ys = new double[size];
+        for (int i = 0; i < size; i++) {
+            xs[i] = random.nextDouble() * width;
+            ys[i] = random.nextDouble() * width;
+            result.add(i, xs[i], ys[i]);
+        }
+
+        KdTree tree = new KdTree(xs, ys);
+        int[] nearest = new int[7];
+        for (int i = 0; i < size; i++) {
+            int count = tree.nearest(xs[i], ys[i], nearest);
+            for (int n = 0; n < count; n++) {
+                if (nearest[n] == i) continue;
+                result.mGraph.addEdge(
+                        i, nearest[n], Math.hypot(xs[i] - xs[nearest[n]], ys[i] - ys[nearest[n]]));
+            }
+        }
+        return result;
+    }
+
+    private void add(int vertex, double x, double y) {
+        mGraph.addVertex(vertex);
+        mXs[vertex] = x;
+        mYs[vertex] = y;
+    }
+
+    /** @return The graph. */
+    public Graph<Integer> getGraph() {
+        return mGraph;
+    }
+
+    /** @return The straight line distance between two verticies of the graph. */
+    public Heuristic getHeuristic() {
+        return (from, to) -> Math.hypot(mXs[from] - mXs[to], mYs[from] - mYs[to]);
+    }
+
+    /** @return The straight line distance between two verticies of the graph. */
+    public Function<Tuple<Vertex<Integer>, Vertex<Integer>>, Double> getHeuristicFunction() {
+        Heuristic heuristic = getHeuristic();
+        return pair -> heuristic.estimate(pair.getFirst().getData(), pair.getSecond().getData());
+    }
+
+    /**
+     * @param count How many pairs.
+     * @return Start and goal indicies, alternating, which are connected and far apart.
+     */
+    public int[] getQueries(int count) {
+        CompiledGraph<Integer> compiled = mGraph.compile();
+        CompiledAStar<Integer> astar = new CompiledAStar<>(compiled, getHeuristic());
+        Heuristic heuristic = getHeuristic();
+        Random random = new Random(kSeed);
+        int[] queries = new int[2 * count];
+
+        int found = 0;
+        while (found < count) {
+            int start = random.nextInt(compiled.size()), end = random.nextInt(compiled.size());
+            if (heuristic.estimate(start, end) < Math.sqrt(compiled.size()) / 2) continue;
+            try {
+                astar.astar(start, end);
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            queries[2 * found] = start;
+            queries[2 * found + 1] = end;
+            found++;
+        }
+        return queries;
+    }
+}
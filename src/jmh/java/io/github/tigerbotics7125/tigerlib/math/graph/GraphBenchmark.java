@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import io.github.tigerbotics7125.tigerlib.math.graph.BenchmarkGraph.Shape;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks building a {@link Graph}, and compiling it.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GraphBenchmark {
+
+    // Parameters are named as they appear in results.
+    @Param({"GRID", "RANDOM", "FIELD"})
+    public Shape shape;
+
+    @Param({"32", "64", "128"})
+    public int width;
+
+    private Graph<Integer> mGraph;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        mGraph = BenchmarkGraph.create(shape, width).getGraph();
+    }
+
+    @Benchmark
+    public Graph<Integer> build() {
+        return BenchmarkGraph.create(shape, width).getGraph();
+    }
+
+    @Benchmark
+    public CompiledGraph<Integer> compile() {
+        return mGraph.compile();
+    }
+}
@@ -6,7 +6,9 @@
 package io.github.tigerbotics7125.tigerlib.math.graph;
 
 import io.github.tigerbotics7125.tigerlib.math.Tuple;
-import java.util.*;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 
 /**
@@ -23,38 +25,42 @@ public class AStar<T> {
     // Function which takes in two verticies and returns their calculated heuristic.
     private Function<Tuple<Vertex<T>, Vertex<T>>, Double> mHeuristicFunction;
 
-    // Map between a vertex and its costs, the tuple is in order of (f, g).
-    private Map<Vertex<T>, Tuple<Double, Double>> mVertexCostMap;
+    // Costs, "cameFrom" verticies and open / closed sets, by vertex index. Entries are stamped
+    // per search, so a search only touches the verticies it explores.
+    private SearchState mState;
 
-    // Map representing which Vertex "cameFrom" which Vertex.
-    private Map<Vertex<T>, Vertex<T>> mCameFrom;
-
-    // PriorityQueue is used to track open values as it auto sorts the values (yay!)
-    // and is eff%!
-    private PriorityQueue<Vertex<T>> mOpenQueue;
+    // Paths already planned since the Graph last changed, null if paths are not cached.
+    private PathCache<T> mCache;
 
     /**
      * @param graph The Graph of which this AStar instance will operate over.
-     * @param hFunc The function which calculates the heuristic from any two Verticies.
+     * @param hFunc The function which calculates the heuristic from any two Verticies, it should
+     *     be consistent (never decrease by more than the edge weight between two verticies).
      */
     public AStar(Graph<T> graph, Function<Tuple<Vertex<T>, Vertex<T>>, Double> hFunc) {
         mGraph = graph;
         mHeuristicFunction = hFunc;
-        mVertexCostMap = new HashMap<>();
-        mCameFrom = new HashMap<>();
-        mOpenQueue =
-                new PriorityQueue<>(
-                        new Comparator<Vertex<T>>() {
-                            @Override
-                            public int compare(Vertex<T> v1, Vertex<T> v2) {
-                                var defVal =
-                                        Tuple.of(
-                                                Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
-                                double f1 = mVertexCostMap.getOrDefault(v1, defVal).getFirst();
-                                double f2 = mVertexCostMap.getOrDefault(v2, defVal).getFirst();
-                                return Double.compare(f1, f2);
-                            }
-                        });
+        mState = new SearchState(graph.size());
+    }
+
+    /**
+     * Creates an AStar instance which caches the paths it plans, until the Graph changes. Cached
+     * paths are unmodifiable, and the same path is returned for each identical query.
+     *
+     * @param graph The Graph of which this AStar instance will operate over.
+     * @param hFunc The function which calculates the heuristic from any two Verticies, it should
+     *     be consistent (never decrease by more than the edge weight between two verticies).
+     * @param cacheSize The most paths cached at once.
+     */
+    public AStar(
+            Graph<T> graph, Function<Tuple<Vertex<T>, Vertex<T>>, Double> hFunc, int cacheSize) {
+        this(graph, hFunc);
+        mCache = new PathCache<>(cacheSize);
+    }
+
+    /** @return The cache of planned paths, null if paths are not cached. */
+    public PathCache<T> getCache() {
+        return mCache;
     }
 
     /**
@@ -97,70 +103,84 @@ public class AStar<T> {
      */
     public List<Vertex<T>> astar(Vertex<T> start, Vertex<T> end) {
 
-        if (!mGraph.contains(start))
+        int startIndex = mGraph.indexOf(start);
+        int endIndex = mGraph.indexOf(end);
+
+        if (startIndex == -1)
             throw new IllegalArgumentException("Graph must contain starting vertex");
-        if (!mGraph.contains(end))
-            throw new IllegalArgumentException("Graph must contain ending vertex");
-
-        // Clear values from previous runs.
-        mVertexCostMap.clear();
-        mCameFrom.clear();
-        mOpenQueue.clear();
-
-        // Fill map and set default to +inf.
-        mGraph.getVerticies()
-                .forEach(
-                        v ->
-                                mVertexCostMap.put(
-                                        v,
-                                        Tuple.of(
-                                                Double.POSITIVE_INFINITY,
-                                                Double.POSITIVE_INFINITY)));
+        if (endIndex == -1) throw new IllegalArgumentException("Graph must contain ending vertex");
+
+        if (mCache == null) return search(start, end, startIndex, endIndex);
+
+        List<Vertex<T>> path = mCache.get(startIndex, endIndex, mGraph.getVersion());
+        if (path == null) {
+            path = search(start, end, startIndex, endIndex);
+            path = mCache.put(startIndex, endIndex, mGraph.getVersion(), path);
+        }
+        return path;
+    }
+
+    private List<Vertex<T>> search(Vertex<T> start, Vertex<T> end, int startIndex, int endIndex) {
+        // Start a new search, every vertex now reads as +inf cost without visiting it.
+        mState.reset(mGraph.size());
+        IndexedMinHeap openQueue = mState.getOpenQueue();
 
         // start node f score is simply the heuristic of start and end. g cost is zero
-        // obviously,
-        // its the first Vertex.
-        mVertexCostMap.put(start, Tuple.of(h(start, end), 0.0));
+        // obviously, its the first Vertex.
+        mState.set(startIndex, 0.0, h(start, end), -1);
 
         // Give the open queue starting Vertex.
-        mOpenQueue.offer(start);
+        openQueue.offer(startIndex, mState.getF(startIndex));
 
         // Main A* logic loop.
-        while (!mOpenQueue.isEmpty()) {
+        while (!openQueue.isEmpty()) {
             // Get current node, its the node with the smallest f cost.
-            Vertex<T> currentVertex = mOpenQueue.poll();
+            int currentIndex = openQueue.poll();
+            mState.close(currentIndex);
 
             // If current vertex is the final vertex, we're done!
-            if (currentVertex.equals(end)) return genPath(mCameFrom, currentVertex);
+            if (currentIndex == endIndex) return genPath(currentIndex);
+
+            // No edge may leave a blocked vertex.
+            if (mGraph.isBlocked(currentIndex)) continue;
 
             // Add successors (verticies connected to the current one) to the queue if
             // applicable.
-            // Loop iterates over "currentVertex"s children and the g cost to reach them.
-            for (Tuple<Vertex<T>, Double> child : mGraph.getSuccessors(currentVertex)) {
+            // Loop iterates over the edges leaving "currentVertex", and the cost to travel them.
+            for (int i = 0; i < mGraph.getOutDegree(currentIndex); i++) {
+                int edge = mGraph.getOutEdge(currentIndex, i);
+                int childIndex = mGraph.getEdgeTarget(edge);
+
+                // Expanded verticies already have their cheapest cost (given the heuristic is
+                // consistent), so there is no need to look at them again. No edge may enter a
+                // blocked vertex.
+                if (mState.isClosed(childIndex) || mGraph.isBlocked(childIndex)) continue;
 
                 // g(start -> this) = g(start -> parent) + g(parent -> this).
-                double tentativeG = /* Parent */
-                        mVertexCostMap.get(currentVertex).getFirst()
-                                +
-                                /* child */ child.getSecond();
+                double tentativeG = mState.getG(currentIndex) + mGraph.getEdgeCost(edge);
 
                 // If travel cost is lower than any previously calculated cost (or default),
-                // replace
-                // that info.
-                if (tentativeG < mVertexCostMap.get(child.getFirst()).getSecond()) {
-
-                    mCameFrom.put(child.getFirst(), currentVertex);
-
-                    double fCost = tentativeG + h(child.getFirst(), end);
-                    mVertexCostMap.put(child.getFirst(), Tuple.of(fCost, tentativeG));
+                // replace that info.
+                if (tentativeG < mState.getG(childIndex)) {
+                    double fCost = tentativeG + h(mGraph.getVertex(childIndex), end);
+                    mState.set(childIndex, tentativeG, fCost, currentIndex);
 
-                    // Re-add the child to the queue now that its updated again. (does nothing if
-                    // queue already contains child).
-                    mOpenQueue.offer(child.getFirst());
+                    // Add the child to the queue, or lower its key if its already queued.
+                    openQueue.offer(childIndex, fCost);
                 }
             }
         }
         throw new IllegalArgumentException(
                 "Graph does not contain a valid path between start and end.");
     }
+
+    /**
+     * @param end Index of the last vertex in the path.
+     * @return The ordered list of verticies which lead to the given vertex.
+     */
+    private List<Vertex<T>> genPath(int end) {
+        LinkedList<Vertex<T>> path = new LinkedList<>();
+        for (int v = end; v != -1; v = mState.getCameFrom(v)) path.addFirst(mGraph.getVertex(v));
+        return path;
+    }
 }
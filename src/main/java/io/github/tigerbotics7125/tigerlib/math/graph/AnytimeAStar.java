@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import java.util.List;
+
+/**
+ * An anytime planner (ARA*) over a {@link CompiledGraph}, which works within a time or expansion
+ * budget. It quickly finds a path with an inflated heuristic (weighted A*), then lowers the
+ * inflation and improves the path while budget remains, reusing the work of previous iterations.
+ * Each result carries a bound on how far from optimal its path may be.
+ *
+ * <p>Planning the same start and end again continues where the last call left off, so a plan can
+ * be improved over several cycles of a fixed time slice.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class AnytimeAStar<T> {
+
+    // How many expansions between checks of the clock.
+    private static final int kClockCheckInterval = 64;
+
+    // Graph of which this instance will operate over.
+    private final CompiledGraph<T> mGraph;
+
+    // Heuristic between any two vertex indicies.
+    private final Heuristic mHeuristic;
+
+    // Heuristic inflation of the first iteration, and how much it is lowered each iteration.
+    private final double mInitialEpsilon;
+    private final double mEpsilonStep;
+
+    // Costs, "cameFrom" verticies, closed set and open queue, the open queue is keyed by
+    // g + epsilon * h.
+    private final SearchState mState;
+
+    // Verticies whose cost improved after they were expanded this iteration, keyed by g + h.
+    private final IndexedMinHeap mInconsistent;
+
+    // Scratch space for re-keying the open queue.
+    private int[] mScratch = new int[0];
+
+    // The search in progress.
+    private int mStart = -1;
+    private int mEnd = -1;
+    private double mEpsilon;
+    private boolean mFinished;
+    private PlanResult<T> mResult;
+
+    // Number of verticies expanded by the last call.
+    private int mExpanded;
+
+    /**
+     * Creates a planner which starts with a heuristic inflation of 3, lowered by 0.5 per iteration.
+     *
+     * @param graph The CompiledGraph of which this instance will operate over.
+     * @param heuristic The heuristic between any two vertex indicies, it should be consistent.
+     */
+    public AnytimeAStar(CompiledGraph<T> graph, Heuristic heuristic) {
+        this(graph, heuristic, 3.0, 0.5);
+    }
+
+    /**
+     * @param graph The CompiledGraph of which this instance will operate over.
+     * @param heuristic The heuristic between any two vertex indicies, it should be consistent.
+     * @param initialEpsilon Heuristic inflation of the first iteration, at least 1.
+     * @param epsilonStep How much the inflation is lowered each iteration, positive.
+     */
+    public AnytimeAStar(
+            CompiledGraph<T> graph,
+            Heuristic heuristic,
+            double initialEpsilon,
+            double epsilonStep) {
+        if (initialEpsilon < 1.0)
+            throw new IllegalArgumentException("Initial epsilon must be at least 1.");
+        if (!(epsilonStep > 0.0))
+            throw new IllegalArgumentException("Epsilon step must be positive.");
+
+        mGraph = graph;
+        mHeuristic = heuristic;
+        mInitialEpsilon = initialEpsilon;
+        mEpsilonStep = epsilonStep;
+        mState = new SearchState(graph.size());
+        mInconsistent = new IndexedMinHeap(graph.size());
+    }
+
+    /** @return The number of verticies expanded by the last call. */
+    public int getExpanded() {
+        return mExpanded;
+    }
+
+    /** @return The result of the last call, null if nothing has been planned yet. */
+    public PlanResult<T> getLastResult() {
+        return mResult;
+    }
+
+    /**
+     * Plans for at most the given time.
+     *
+     * @param start The starting Vertex.
+     * @param end The ending, goal Vertex.
+     * @param timeoutNanos How long to plan for, in nanoseconds.
+     * @return The best path found so far, and its suboptimality bound.
+     * @throws IllegalArgumentException if there is no path between start and end.
+     */
+    public PlanResult<T> plan(Vertex<T> start, Vertex<T> end, long timeoutNanos) {
+        int startIndex = mGraph.indexOf(start);
+        int endIndex = mGraph.indexOf(end);
+
+        if (startIndex < 0)
+            throw new IllegalArgumentException("Graph must contain starting vertex");
+        if (endIndex < 0) throw new IllegalArgumentException("Graph must contain ending vertex");
+
+        return plan(startIndex, endIndex, timeoutNanos, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Plans until either the time or the expansion budget runs out, or the path is optimal.
+     *
+     * @param start Index of the starting Vertex.
+     * @param end Index of the ending, goal Vertex.
+     * @param timeoutNanos How long to plan for, in nanoseconds.
+     * @param maxExpansions How many verticies may be expanded.
+     * @return The best path found so far, and its suboptimality bound.
+     * @throws IllegalArgumentException if there is no path between start and end.
+     */
+    public PlanResult<T> plan(int start, int end, long timeoutNanos, int maxExpansions) {
+        long startTime = System.nanoTime();
+        mExpanded = 0;
+
+        if (start != mStart || end != mEnd || mResult == null) initialize(start, end);
+
+        while (!mFinished) {
+            if (!improvePath(startTime, timeoutNanos, maxExpansions)) break;
+
+            publish();
+            if (mEpsilon <= 1.0 || !mResult.hasPath()) {
+                mFinished = true;
+                break;
+            }
+            nextIteration();
+        }
+
+        if (mFinished && !mResult.hasPath())
+            throw new IllegalArgumentException(
+                    "Graph does not contain a valid path between start and end.");
+        return mResult;
+    }
+
+    private void initialize(int start, int end) {
+        mStart = start;
+        mEnd = end;
+        mEpsilon = mInitialEpsilon;
+        mFinished = false;
+        mResult = new PlanResult<>(List.of(), Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+        mState.reset(mGraph.size());
+        mInconsistent.clear();
+        mState.set(start, 0.0, 0.0, -1);
+        mState.getOpenQueue().offer(start, key(start));
+    }
+
+    /** @return The open queue key of the vertex for the current epsilon. */
+    private double key(int v) {
+        return mState.getG(v) + mEpsilon * mHeuristic.estimate(v, mEnd);
+    }
+
+    /**
+     * Expands verticies until the path to the end is within epsilon of optimal.
+     *
+     * @return Whether the iteration finished before the budget ran out.
+     */
+    private boolean improvePath(long startTime, long timeoutNanos, int maxExpansions) {
+        IndexedMinHeap openQueue = mState.getOpenQueue();
+
+        while (mState.getG(mEnd) > openQueue.peekKey()) {
+            if (mExpanded >= maxExpansions) return false;
+            if (mExpanded % kClockCheckInterval == 0
+                    && System.nanoTime() - startTime >= timeoutNanos) return false;
+
+            int current = openQueue.poll();
+            mState.close(current);
+            mExpanded++;
+
+            double currentG = mState.getG(current);
+            for (int e = mGraph.getEdgeStart(current); e < mGraph.getEdgeEnd(current); e++) {
+                int child = mGraph.getEdgeTarget(e);
+                double tentativeG = currentG + mGraph.getEdgeWeight(e);
+
+                if (tentativeG < mState.getG(child)) {
+                    mState.set(child, tentativeG, tentativeG, current);
+                    if (!mState.isClosed(child)) {
+                        openQueue.offer(child, key(child));
+                    } else {
+                        // Already expanded this iteration, so hold it for the next one.
+                        mInconsistent.offer(child, tentativeG + mHeuristic.estimate(child, mEnd));
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /** Records the current path to the end, and its suboptimality bound. */
+    private void publish() {
+        double cost = mState.getG(mEnd);
+        if (cost == Double.POSITIVE_INFINITY) {
+            mResult = new PlanResult<>(List.of(), cost, Double.POSITIVE_INFINITY);
+            return;
+        }
+
+        // The optimal cost is at least the smallest g + h of any vertex left to expand.
+        IndexedMinHeap openQueue = mState.getOpenQueue();
+        double lowerBound = mInconsistent.isEmpty() ? cost : mInconsistent.peekKey();
+        for (int i = 0; i < openQueue.size(); i++) {
+            int v = openQueue.indexAt(i);
+            lowerBound = Math.min(lowerBound, mState.getG(v) + mHeuristic.estimate(v, mEnd));
+        }
+
+        double suboptimality = lowerBound >= cost ? 1.0 : Math.min(mEpsilon, cost / lowerBound);
+        mResult =
+                new PlanResult<>(CompiledAStar.genPath(mGraph, mState, mEnd), cost, suboptimality);
+        if (suboptimality <= 1.0) mEpsilon = 1.0;
+    }
+
+    /** Lowers epsilon, and prepares the open queue for the next iteration. */
+    private void nextIteration() {
+        mEpsilon = Math.max(1.0, mEpsilon - mEpsilonStep);
+
+        // Move the inconsistent verticies into the open queue, and re-key it for the new epsilon.
+        IndexedMinHeap openQueue = mState.getOpenQueue();
+        int count = openQueue.size() + mInconsistent.size();
+        if (mScratch.length < count) mScratch = new int[Math.max(count, mScratch.length * 2)];
+
+        int n = 0;
+        for (int i = 0; i < openQueue.size(); i++) mScratch[n++] = openQueue.indexAt(i);
+        for (int i = 0; i < mInconsistent.size(); i++) mScratch[n++] = mInconsistent.indexAt(i);
+        openQueue.clear();
+        mInconsistent.clear();
+        for (int i = 0; i < n; i++) openQueue.offer(mScratch[i], key(mScratch[i]));
+
+        mState.clearClosed();
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import io.github.tigerbotics7125.tigerlib.math.Tuple;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * An A* algorithm which operates over a {@link CompiledGraph}. Costs are kept in primitive arrays
+ * indexed by vertex index, so a search does not box or allocate per edge like {@link AStar} does.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class CompiledAStar<T> {
+
+    /** Which direction(s) a search expands in. */
+    public enum SearchMode {
+        /** Search from the start towards the end. */
+        UNIDIRECTIONAL,
+        /**
+         * Search from both the start and the end at once, meeting in the middle. This usually
+         * expands fewer verticies on long paths, the heuristic must be consistent.
+         */
+        BIDIRECTIONAL;
+    }
+
+    // Graph of which this instance will operate over.
+    private final CompiledGraph<T> mGraph;
+
+    // Heuristic between any two vertex indicies.
+    private final Heuristic mHeuristic;
+
+    // Costs, "cameFrom" verticies and open / closed sets, stamped per search.
+    private final SearchState mState;
+
+    // Costs of the backwards half of bidirectional searches, created when first needed.
+    private SearchState mReverseState;
+
+    // Number of verticies expanded by the last search.
+    private int mExpanded;
+
+    /**
+     * @param graph The CompiledGraph of which this instance will operate over.
+     * @param heuristic The heuristic between any two vertex indicies, it should be consistent.
+     */
+    public CompiledAStar(CompiledGraph<T> graph, Heuristic heuristic) {
+        mGraph = graph;
+        mHeuristic = heuristic;
+        mState = new SearchState(graph.size());
+    }
+
+    /**
+     * Creates an instance using the same heuristic function as {@link AStar}. Prefer {@link
+     * #CompiledAStar(CompiledGraph, Heuristic)}, as this allocates a Tuple per estimate.
+     *
+     * @param graph The CompiledGraph of which this instance will operate over.
+     * @param hFunc The function which calculates the heuristic from any two Verticies.
+     */
+    public CompiledAStar(
+            CompiledGraph<T> graph, Function<Tuple<Vertex<T>, Vertex<T>>, Double> hFunc) {
+        this(graph, (a, b) -> hFunc.apply(Tuple.of(graph.getVertex(a), graph.getVertex(b))));
+    }
+
+    /** @return The number of verticies expanded by the last search. */
+    public int getExpanded() {
+        return mExpanded;
+    }
+
+    /** @return The CompiledGraph this instance operates over. */
+    public CompiledGraph<T> getGraph() {
+        return mGraph;
+    }
+
+    /**
+     * @param start The starting Vertex.
+     * @param end The ending, goal Vertex.
+     * @return The list of Verticies, start to end, which represents the most cost effecient way of
+     *     traversing the graph.
+     */
+    public List<Vertex<T>> astar(Vertex<T> start, Vertex<T> end) {
+        return astar(start, end, SearchMode.UNIDIRECTIONAL);
+    }
+
+    /**
+     * @param start The starting Vertex.
+     * @param end The ending, goal Vertex.
+     * @param mode Which direction(s) to search in.
+     * @return The list of Verticies, start to end, which represents the most cost effecient way of
+     *     traversing the graph.
+     */
+    public List<Vertex<T>> astar(Vertex<T> start, Vertex<T> end, SearchMode mode) {
+        int startIndex = mGraph.indexOf(start);
+        int endIndex = mGraph.indexOf(end);
+
+        if (startIndex < 0)
+            throw new IllegalArgumentException("Graph must contain starting vertex");
+        if (endIndex < 0) throw new IllegalArgumentException("Graph must contain ending vertex");
+
+        return astar(startIndex, endIndex, mode);
+    }
+
+    /**
+     * @param start Index of the starting Vertex.
+     * @param end Index of the ending, goal Vertex.
+     * @return The list of Verticies, start to end, which represents the most cost effecient way of
+     *     traversing the graph.
+     */
+    public List<Vertex<T>> astar(int start, int end) {
+        return astar(start, end, SearchMode.UNIDIRECTIONAL);
+    }
+
+    /**
+     * @param start Index of the starting Vertex.
+     * @param end Index of the ending, goal Vertex.
+     * @param mode Which direction(s) to search in.
+     * @return The list of Verticies, start to end, which represents the most cost effecient way of
+     *     traversing the graph.
+     */
+    public List<Vertex<T>> astar(int start, int end, SearchMode mode) {
+        if (mode == SearchMode.BIDIRECTIONAL) {
+            if (mReverseState == null) mReverseState = new SearchState(mGraph.size());
+
+            int meet = bidirectionalSearch(start, end, mState, mReverseState);
+            if (meet == -1)
+                throw new IllegalArgumentException(
+                        "Graph does not contain a valid path between start and end.");
+
+            // start -> meet from the forward search, then meet -> end from the backward search.
+            List<Vertex<T>> path = genPath(mGraph, mState, meet);
+            for (int v = mReverseState.getCameFrom(meet); v != -1; ) {
+                path.add(mGraph.getVertex(v));
+                v = mReverseState.getCameFrom(v);
+            }
+            return path;
+        }
+
+        mExpanded = search(mGraph, mHeuristic, start, end, mState);
+
+        if (!mState.isClosed(end))
+            throw new IllegalArgumentException(
+                    "Graph does not contain a valid path between start and end.");
+
+        return genPath(mGraph, mState, end);
+    }
+
+    /**
+     * Runs A* from start until end is expanded, or every reachable vertex is. Only touches the
+     * given state, so searches with separate states may run at the same time.
+     *
+     * @param graph The graph to search.
+     * @param heuristic The heuristic between any two vertex indicies.
+     * @param start Index of the starting Vertex.
+     * @param end Index of the ending, goal Vertex.
+     * @param state The state to search with, it is reset first.
+     * @return The number of verticies expanded, end was reached if it is closed in the state.
+     */
+    static int search(
+            CompiledGraph<?> graph, Heuristic heuristic, int start, int end, SearchState state) {
+        // Start a new search, every vertex now reads as +inf cost without visiting it.
+        state.reset(graph.size());
+        IndexedMinHeap openQueue = state.getOpenQueue();
+        int expanded = 0;
+
+        state.set(start, 0.0, heuristic.estimate(start, end), -1);
+        openQueue.offer(start, state.getF(start));
+
+        while (!openQueue.isEmpty()) {
+            int current = openQueue.poll();
+            state.close(current);
+            expanded++;
+
+            if (current == end) break;
+
+            double currentG = state.getG(current);
+            for (int e = graph.getEdgeStart(current); e < graph.getEdgeEnd(current); e++) {
+                int child = graph.getEdgeTarget(e);
+                if (state.isClosed(child)) continue;
+
+                double tentativeG = currentG + graph.getEdgeWeight(e);
+
+                if (tentativeG < state.getG(child)) {
+                    double fCost = tentativeG + heuristic.estimate(child, end);
+                    state.set(child, tentativeG, fCost, current);
+                    openQueue.offer(child, fCost);
+                }
+            }
+        }
+        return expanded;
+    }
+
+    /**
+     * Runs A* from both ends at once. Each direction uses the average of the forward and backward
+     * heuristics as its potential, so both see the same (non negative, given a consistent
+     * heuristic) reduced edge costs, and the search may stop as soon as the smallest keys of both
+     * directions add up to the best path found, as no path through an unexpanded vertex can be
+     * cheaper.
+     *
+     * @return The index of the vertex the two searches met at on the best path, -1 if none.
+     */
+    private int bidirectionalSearch(
+            int start, int end, SearchState forward, SearchState backward) {
+        CompiledGraph<T> reverse = mGraph.getReverse();
+        forward.reset(mGraph.size());
+        backward.reset(mGraph.size());
+        IndexedMinHeap forwardQueue = forward.getOpenQueue();
+        IndexedMinHeap backwardQueue = backward.getOpenQueue();
+        mExpanded = 0;
+
+        // Cost of the best path found so far, and where its two halves meet.
+        double best = Double.POSITIVE_INFINITY;
+        int meet = -1;
+
+        forward.set(start, 0.0, 0.0, -1);
+        forwardQueue.offer(start, potential(start, start, end));
+        backward.set(end, 0.0, 0.0, -1);
+        backwardQueue.offer(end, -potential(end, start, end));
+        if (start == end) return start;
+
+        while (!forwardQueue.isEmpty() && !backwardQueue.isEmpty()) {
+            if (forwardQueue.peekKey() + backwardQueue.peekKey() >= best) break;
+
+            // Expand whichever direction has the smaller key.
+            boolean isForward = forwardQueue.peekKey() <= backwardQueue.peekKey();
+            CompiledGraph<T> graph = isForward ? mGraph : reverse;
+            SearchState state = isForward ? forward : backward;
+            SearchState other = isForward ? backward : forward;
+            double sign = isForward ? 1.0 : -1.0;
+
+            int current = state.getOpenQueue().poll();
+            state.close(current);
+            mExpanded++;
+
+            double currentG = state.getG(current);
+            for (int e = graph.getEdgeStart(current); e < graph.getEdgeEnd(current); e++) {
+                int child = graph.getEdgeTarget(e);
+
+                if (!state.isClosed(child)) {
+                    double tentativeG = currentG + graph.getEdgeWeight(e);
+                    if (tentativeG < state.getG(child)) {
+                        state.set(child, tentativeG, tentativeG, current);
+                        state.getOpenQueue()
+                                .offer(child, tentativeG + sign * potential(child, start, end));
+                    }
+                }
+
+                // If the other direction reached the child, there is a path through it.
+                double through = state.getG(child) + other.getG(child);
+                if (through < best) {
+                    best = through;
+                    meet = child;
+                }
+            }
+        }
+        return meet;
+    }
+
+    /** @return The forward potential of the vertex, the backward potential is its negative. */
+    private double potential(int v, int start, int end) {
+        return (mHeuristic.estimate(v, end) - mHeuristic.estimate(start, v)) / 2.0;
+    }
+
+    /**
+     * @param graph The graph which was searched.
+     * @param state The state of the search.
+     * @param end Index of the last vertex in the path.
+     * @return The ordered list of verticies which lead to the given vertex.
+     */
+    static <T> List<Vertex<T>> genPath(CompiledGraph<T> graph, SearchState state, int end) {
+        LinkedList<Vertex<T>> path = new LinkedList<>();
+        for (int v = end; v != -1; v = state.getCameFrom(v)) path.addFirst(graph.getVertex(v));
+        return path;
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An immutable, index based form of a {@link Graph}.
+ *
+ * <p>Every Vertex is given a dense index in {@code [0, size())}, and edges are stored in
+ * compressed sparse row form: the outgoing edges of vertex {@code i} are the edge indicies {@code
+ * [getEdgeStart(i), getEdgeEnd(i))}, each of which has a target vertex index and a weight. Nothing
+ * in here is boxed, so searches over a CompiledGraph do not allocate per edge.
+ *
+ * <p>A CompiledGraph is never modified, so it may be shared between threads.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class CompiledGraph<T> {
+
+    // Vertex for each index.
+    private final Vertex<T>[] mVerticies;
+
+    // Index for each Vertex, created when first needed as searches by index never need it.
+    private volatile Map<Vertex<T>, Integer> mIndexMap;
+
+    // mOffsets[i] is the first edge of vertex i, mOffsets[size()] is the edge count.
+    private final int[] mOffsets;
+
+    // Target vertex index of each edge.
+    private final int[] mTargets;
+
+    // Travel cost of each edge.
+    private final double[] mWeights;
+
+    // The same graph with every edge reversed, created when first needed.
+    private volatile CompiledGraph<T> mReverse;
+
+    /**
+     * Creates a new CompiledGraph, the arrays are used as is and must not be modified afterwards.
+     *
+     * @param verticies The Vertex for each index.
+     * @param offsets The first edge of each vertex, with one extra trailing entry holding the edge
+     *     count.
+     * @param targets The target vertex index of each edge.
+     * @param weights The travel cost of each edge.
+     */
+    CompiledGraph(Vertex<T>[] verticies, int[] offsets, int[] targets, double[] weights) {
+        this(verticies, offsets, targets, weights, null);
+    }
+
+    private CompiledGraph(
+            Vertex<T>[] verticies,
+            int[] offsets,
+            int[] targets,
+            double[] weights,
+            Map<Vertex<T>, Integer> indexMap) {
+        if (offsets.length != verticies.length + 1)
+            throw new IllegalArgumentException("There must be one more offset than verticies.");
+        if (targets.length != weights.length || offsets[verticies.length] != targets.length)
+            throw new IllegalArgumentException("Edge arrays do not match the offsets.");
+
+        mVerticies = verticies;
+        mOffsets = offsets;
+        mTargets = targets;
+        mWeights = weights;
+        mIndexMap = indexMap;
+    }
+
+    /**
+     * The reverse graph has the same verticies (with the same indicies), and an edge from b to a
+     * for every edge from a to b. It is used to search backwards from a goal.
+     *
+     * @return This graph with every edge reversed.
+     */
+    public CompiledGraph<T> getReverse() {
+        CompiledGraph<T> reverse = mReverse;
+        if (reverse == null) {
+            synchronized (this) {
+                reverse = mReverse;
+                if (reverse == null) {
+                    reverse = createReverse();
+                    mReverse = reverse;
+                }
+            }
+        }
+        return reverse;
+    }
+
+    private CompiledGraph<T> createReverse() {
+        int size = size();
+        int[] offsets = new int[size + 1];
+        for (int target : mTargets) offsets[target + 1]++;
+        for (int i = 0; i < size; i++) offsets[i + 1] += offsets[i];
+
+        int[] next = Arrays.copyOf(offsets, size);
+        int[] targets = new int[mTargets.length];
+        double[] weights = new double[mWeights.length];
+        for (int v = 0; v < size; v++) {
+            for (int e = mOffsets[v]; e < mOffsets[v + 1]; e++) {
+                int r = next[mTargets[e]]++;
+                targets[r] = v;
+                weights[r] = mWeights[e];
+            }
+        }
+
+        CompiledGraph<T> reverse =
+                new CompiledGraph<>(mVerticies, offsets, targets, weights, mIndexMap);
+        reverse.mReverse = this;
+        return reverse;
+    }
+
+    /** @return The number of verticies in this graph. */
+    public int size() {
+        return mVerticies.length;
+    }
+
+    /** @return The number of edges in this graph. */
+    public int edgeCount() {
+        return mTargets.length;
+    }
+
+    /**
+     * @param vertex Vertex to search for.
+     * @return The index of the Vertex, or -1 if this graph does not contain it.
+     */
+    public int indexOf(Vertex<T> vertex) {
+        Integer index = getIndexMap().get(vertex);
+        return index == null ? -1 : index;
+    }
+
+    private Map<Vertex<T>, Integer> getIndexMap() {
+        Map<Vertex<T>, Integer> indexMap = mIndexMap;
+        if (indexMap == null) {
+            synchronized (this) {
+                indexMap = mIndexMap;
+                if (indexMap == null) {
+                    indexMap = new HashMap<>(mVerticies.length * 2);
+                    for (int i = 0; i < mVerticies.length; i++) indexMap.put(mVerticies[i], i);
+                    mIndexMap = indexMap;
+                }
+            }
+        }
+        return indexMap;
+    }
+
+    /**
+     * @param index Index of the Vertex.
+     * @return The Vertex at the given index.
+     */
+    public Vertex<T> getVertex(int index) {
+        return mVerticies[index];
+    }
+
+    /**
+     * @param index Index of the Vertex.
+     * @return The first outgoing edge of the Vertex.
+     */
+    public int getEdgeStart(int index) {
+        return mOffsets[index];
+    }
+
+    /**
+     * @param index Index of the Vertex.
+     * @return One past the last outgoing edge of the Vertex.
+     */
+    public int getEdgeEnd(int index) {
+        return mOffsets[index + 1];
+    }
+
+    /**
+     * @param edge Index of the edge.
+     * @return The index of the Vertex the edge leads to.
+     */
+    public int getEdgeTarget(int edge) {
+        return mTargets[edge];
+    }
+
+    /**
+     * @param edge Index of the edge.
+     * @return The travel cost of the edge.
+     */
+    public double getEdgeWeight(int edge) {
+        return mWeights[edge];
+    }
+}
@@ -0,0 +1,515 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * A contraction hierarchy over a {@link CompiledGraph} which never changes, such as the field of a
+ * whole season, for answering many shortest path queries quickly.
+ *
+ * <p>{@link #build(CompiledGraph)} ranks the verticies by importance and contracts them one by one,
+ * least important first. Contracting a vertex adds a shortcut edge between each pair of its
+ * remaining neighbors whose shortest path leads through it. A query is then a bidirectional
+ * Dijkstra search which only ever follows edges to more important verticies, so it settles only a
+ * small part of the graph, even where no good heuristic is available. Shortcuts remember the
+ * vertex they skip, so paths are unpacked back into the original verticies.
+ *
+ * <p>Building is slow and should be done once, ahead of time. Queries reuse the same workspace,
+ * so an instance should only be queried by one thread at a time.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class ContractionHierarchy<T> {
+
+    // Most verticies a witness search may settle before giving up, adding the shortcut anyway. The
+    // search is kept short when only estimating a vertex's priority.
+    private static final int kWitnessSettleLimit = 500;
+    private static final int kSimulatedSettleLimit = 50;
+
+    // Graph of which this hierarchy was built from.
+    private final CompiledGraph<T> mGraph;
+
+    // Position of each vertex in the contraction order, higher is more important.
+    private final int[] mRank;
+
+    // Edges from each vertex to more important verticies, in compressed sparse row form. The
+    // middle vertex is the one a shortcut skips, -1 for an edge of the original graph.
+    private final int[] mUpOffsets;
+    private final int[] mUpTargets;
+    private final double[] mUpWeights;
+    private final int[] mUpMiddles;
+
+    // Edges into each vertex from more important verticies, stored at the target and pointing at
+    // the source, so the backward search also only goes up.
+    private final int[] mDownOffsets;
+    private final int[] mDownSources;
+    private final double[] mDownWeights;
+    private final int[] mDownMiddles;
+
+    // Number of shortcuts added by contraction.
+    private final int mShortcutCount;
+
+    // Workspaces of the forward and backward searches.
+    private final SearchState mForward;
+    private final SearchState mBackward;
+
+    // Scratch space for unpacking paths.
+    private int[] mStack = new int[64];
+    private int[] mChain = new int[64];
+
+    // Number of verticies settled by the last query.
+    private int mSettled;
+
+    /**
+     * @param graph The graph the hierarchy was built from.
+     * @param rank Position of each vertex in the contraction order.
+     * @param up Edges from each vertex to more important verticies.
+     * @param down Edges into each vertex from more important verticies, by source.
+     * @param shortcutCount Number of shortcuts added by contraction.
+     */
+    private ContractionHierarchy(
+            CompiledGraph<T> graph, int[] rank, EdgeList[] up, EdgeList[] down, int shortcutCount) {
+        mGraph = graph;
+        mRank = rank;
+        mShortcutCount = shortcutCount;
+
+        int size = graph.size();
+        mUpOffsets = new int[size + 1];
+        mDownOffsets = new int[size + 1];
+        for (int v = 0; v < size; v++) {
+            mUpOffsets[v + 1] = mUpOffsets[v] + up[v].mSize;
+            mDownOffsets[v + 1] = mDownOffsets[v] + down[v].mSize;
+        }
+
+        mUpTargets = new int[mUpOffsets[size]];
+        mUpWeights = new double[mUpOffsets[size]];
+        mUpMiddles = new int[mUpOffsets[size]];
+        mDownSources = new int[mDownOffsets[size]];
+        mDownWeights = new double[mDownOffsets[size]];
+        mDownMiddles = new int[mDownOffsets[size]];
+
+        for (int v = 0; v < size; v++) {
+            up[v].copyTo(mUpTargets, mUpWeights, mUpMiddles, mUpOffsets[v]);
+            down[v].copyTo(mDownSources, mDownWeights, mDownMiddles, mDownOffsets[v]);
+        }
+
+        mForward = new SearchState(size);
+        mBackward = new SearchState(size);
+    }
+
+    /**
+     * Contracts every vertex of the graph. Verticies are ordered lazily by edge difference (the
+     * shortcuts contracting them would add, less the edges it would remove) plus how many of their
+     * neighbors have already been contracted, which keeps the hierarchy shallow and sparse.
+     *
+     * @param graph The graph to build a hierarchy over.
+     * @return The contraction hierarchy of the graph.
+     */
+    public static <T> ContractionHierarchy<T> build(CompiledGraph<T> graph) {
+        return new Builder<>(graph).build();
+    }
+
+    /** @return The graph this hierarchy was built from. */
+    public CompiledGraph<T> getGraph() {
+        return mGraph;
+    }
+
+    /** @return The number of shortcut edges added while building. */
+    public int getShortcutCount() {
+        return mShortcutCount;
+    }
+
+    /** @return The number of verticies settled by the last query. */
+    public int getSettled() {
+        return mSettled;
+    }
+
+    /**
+     * @param start Index of the starting Vertex.
+     * @param end Index of the ending, goal Vertex.
+     * @return The cost of the shortest path between start and end, +inf if there is none.
+     */
+    public double distance(int start, int end) {
+        int meet = search(start, end);
+        return meet == -1 ? Double.POSITIVE_INFINITY : mForward.getG(meet) + mBackward.getG(meet);
+    }
+
+    /**
+     * @param start The starting Vertex.
+     * @param end The ending, goal Vertex.
+     * @return The list of Verticies, start to end, which represents the most cost effecient way of
+     *     traversing the graph.
+     */
+    public List<Vertex<T>> shortestPath(Vertex<T> start, Vertex<T> end) {
+        int startIndex = mGraph.indexOf(start);
+        int endIndex = mGraph.indexOf(end);
+
+        if (startIndex < 0)
+            throw new IllegalArgumentException("Graph must contain starting vertex");
+        if (endIndex < 0) throw new IllegalArgumentException("Graph must contain ending vertex");
+
+        return shortestPath(startIndex, endIndex);
+    }
+
+    /**
+     * @param start Index of the starting Vertex.
+     * @param end Index of the ending, goal Vertex.
+     * @return The list of Verticies, start to end, which represents the most cost effecient way of
+     *     traversing the graph.
+     */
+    public List<Vertex<T>> shortestPath(int start, int end) {
+        int meet = search(start, end);
+        if (meet == -1)
+            throw new IllegalArgumentException(
+                    "Graph does not contain a valid path between start and end.");
+
+        LinkedList<Vertex<T>> path = new LinkedList<>();
+        path.add(mGraph.getVertex(start));
+
+        // The forward search tree leads from start up to the meeting vertex.
+        int length = 0;
+        for (int v = meet; v != -1; v = mForward.getCameFrom(v)) {
+            if (length == mChain.length) mChain = Arrays.copyOf(mChain, length * 2);
+            mChain[length++] = v;
+        }
+        for (int i = length - 1; i > 0; i--) unpack(mChain[i], mChain[i - 1], path);
+
+        // The backward search tree leads from the meeting vertex down to end.
+        for (int v = meet, next; (next = mBackward.getCameFrom(v)) != -1; v = next)
+            unpack(v, next, path);
+
+        return path;
+    }
+
+    /**
+     * Runs the bidirectional upward search.
+     *
+     * @return The most important vertex of the shortest path, or -1 if there is no path.
+     */
+    private int search(int start, int end) {
+        int size = mGraph.size();
+        mForward.reset(size);
+        mBackward.reset(size);
+        IndexedMinHeap forwardQueue = mForward.getOpenQueue();
+        IndexedMinHeap backwardQueue = mBackward.getOpenQueue();
+
+        mForward.set(start, 0.0, 0.0, -1);
+        forwardQueue.offer(start, 0.0);
+        mBackward.set(end, 0.0, 0.0, -1);
+        backwardQueue.offer(end, 0.0);
+
+        double best = Double.POSITIVE_INFINITY;
+        int meet = -1;
+        mSettled = 0;
+
+        // Neither search can improve on the best path once both queues are at or above it.
+        while (Math.min(forwardQueue.peekKey(), backwardQueue.peekKey()) < best) {
+            boolean forward = forwardQueue.peekKey() <= backwardQueue.peekKey();
+            SearchState state = forward ? mForward : mBackward;
+            SearchState other = forward ? mBackward : mForward;
+
+            int current = state.getOpenQueue().poll();
+            state.close(current);
+            mSettled++;
+
+            double currentG = state.getG(current);
+            if (other.isTouched(current) && currentG + other.getG(current) < best) {
+                best = currentG + other.getG(current);
+                meet = current;
+            }
+
+            if (forward) {
+                // Stall on demand: a cheaper path in from above means current is not on a
+                // shortest up-down path, so there is no need to search on from it.
+                if (isStalled(
+                        current, currentG, mForward, mDownOffsets, mDownSources, mDownWeights))
+                    continue;
+                relax(current, currentG, mForward, mUpOffsets, mUpTargets, mUpWeights);
+            } else {
+                if (isStalled(current, currentG, mBackward, mUpOffsets, mUpTargets, mUpWeights))
+                    continue;
+                relax(current, currentG, mBackward, mDownOffsets, mDownSources, mDownWeights);
+            }
+        }
+        return meet;
+    }
+
+    private static boolean isStalled(
+            int v, double g, SearchState state, int[] offsets, int[] others, double[] weights) {
+        for (int e = offsets[v]; e < offsets[v + 1]; e++)
+            if (state.getG(others[e]) + weights[e] < g) return true;
+        return false;
+    }
+
+    private static void relax(
+            int v, double g, SearchState state, int[] offsets, int[] others, double[] weights) {
+        for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+            int child = others[e];
+            if (state.isClosed(child)) continue;
+
+            double tentativeG = g + weights[e];
+            if (tentativeG < state.getG(child)) {
+                state.set(child, tentativeG, tentativeG, v);
+                state.getOpenQueue().offer(child, tentativeG);
+            }
+        }
+    }
+
+    /** Appends every original vertex after from, up to and including to, along their edge. */
+    private void unpack(int from, int to, List<Vertex<T>> path) {
+        int size = 0;
+        mStack[size++] = from;
+        mStack[size++] = to;
+
+        while (size > 0) {
+            int w = mStack[--size];
+            int u = mStack[--size];
+
+            int middle = middleOf(u, w);
+            if (middle == -1) {
+                path.add(mGraph.getVertex(w));
+                continue;
+            }
+
+            // Unpack u -> middle first, so push it last.
+            if (size + 4 > mStack.length) mStack = Arrays.copyOf(mStack, mStack.length * 2);
+            mStack[size++] = middle;
+            mStack[size++] = w;
+            mStack[size++] = u;
+            mStack[size++] = middle;
+        }
+    }
+
+    /** @return The vertex skipped by the edge from u to w, -1 if it is an original edge. */
+    private int middleOf(int u, int w) {
+        if (mRank[u] < mRank[w]) {
+            for (int e = mUpOffsets[u]; e < mUpOffsets[u + 1]; e++)
+                if (mUpTargets[e] == w) return mUpMiddles[e];
+        } else {
+            for (int e = mDownOffsets[w]; e < mDownOffsets[w + 1]; e++)
+                if (mDownSources[e] == u) return mDownMiddles[e];
+        }
+        throw new IllegalStateException("Hierarchy does not contain the edge being unpacked.");
+    }
+
+    /** Growable list of edges to (or from) other verticies, at most one per vertex. */
+    private static final class EdgeList {
+        private int[] mTargets = new int[4];
+        private double[] mWeights = new double[4];
+        private int[] mMiddles = new int[4];
+        private int mSize;
+
+        /**
+         * Adds the edge, or lowers the weight of the existing edge to the same vertex.
+         *
+         * @return Whether a new edge was added.
+         */
+        boolean set(int target, double weight, int middle) {
+            for (int i = 0; i < mSize; i++) {
+                if (mTargets[i] != target) continue;
+                if (weight < mWeights[i]) {
+                    mWeights[i] = weight;
+                    mMiddles[i] = middle;
+                }
+                return false;
+            }
+
+            if (mSize == mTargets.length) {
+                mTargets = Arrays.copyOf(mTargets, mSize * 2);
+                mWeights = Arrays.copyOf(mWeights, mSize * 2);
+                mMiddles = Arrays.copyOf(mMiddles, mSize * 2);
+            }
+            mTargets[mSize] = target;
+            mWeights[mSize] = weight;
+            mMiddles[mSize] = middle;
+            mSize++;
+            return true;
+        }
+
+        /** Removes the edge to the vertex, if there is one. */
+        void remove(int target) {
+            for (int i = 0; i < mSize; i++) {
+                if (mTargets[i] != target) continue;
+                mSize--;
+                mTargets[i] = mTargets[mSize];
+                mWeights[i] = mWeights[mSize];
+                mMiddles[i] = mMiddles[mSize];
+                return;
+            }
+        }
+
+        void copyTo(int[] targets, double[] weights, int[] middles, int offset) {
+            System.arraycopy(mTargets, 0, targets, offset, mSize);
+            System.arraycopy(mWeights, 0, weights, offset, mSize);
+            System.arraycopy(mMiddles, 0, middles, offset, mSize);
+        }
+    }
+
+    /** The working state of contracting a graph. */
+    private static final class Builder<T> {
+        private final CompiledGraph<T> mGraph;
+        private final int mSize;
+
+        // Edges (original and shortcuts) out of, and into, each vertex. Once a vertex is
+        // contracted it is removed from its neighbors' lists, and its own lists are final: they
+        // hold exactly its edges to and from more important verticies.
+        private final EdgeList[] mOut;
+        private final EdgeList[] mIn;
+
+        // Number of contracted neighbors, and depth in the hierarchy, of each vertex.
+        private final int[] mContractedNeighbors;
+        private final int[] mLevel;
+        private final SearchState mWitness;
+        private int mShortcutCount;
+
+        Builder(CompiledGraph<T> graph) {
+            mGraph = graph;
+            mSize = graph.size();
+            mOut = new EdgeList[mSize];
+            mIn = new EdgeList[mSize];
+            for (int v = 0; v < mSize; v++) {
+                mOut[v] = new EdgeList();
+                mIn[v] = new EdgeList();
+            }
+            mContractedNeighbors = new int[mSize];
+            mLevel = new int[mSize];
+            mWitness = new SearchState(mSize);
+
+            for (int u = 0; u < mSize; u++) {
+                for (int e = graph.getEdgeStart(u); e < graph.getEdgeEnd(u); e++) {
+                    int w = graph.getEdgeTarget(e);
+                    if (w == u) continue;
+                    mOut[u].set(w, graph.getEdgeWeight(e), -1);
+                    mIn[w].set(u, graph.getEdgeWeight(e), -1);
+                }
+            }
+        }
+
+        ContractionHierarchy<T> build() {
+            IndexedMinHeap order = new IndexedMinHeap(mSize);
+            for (int v = 0; v < mSize; v++) order.offer(v, priority(v));
+
+            int[] rank = new int[mSize];
+            int next = 0;
+            while (!order.isEmpty()) {
+                int v = order.poll();
+
+                // Priorities go stale as neighbors are contracted, so recheck before contracting.
+                double priority = priority(v);
+                if (!order.isEmpty() && priority > order.peekKey()) {
+                    order.offer(v, priority);
+                    continue;
+                }
+
+                contract(v, false);
+                rank[v] = next++;
+
+                EdgeList out = mOut[v], in = mIn[v];
+                for (int i = 0; i < out.mSize; i++) {
+                    mIn[out.mTargets[i]].remove(v);
+                    neighborContracted(out.mTargets[i], v);
+                }
+                for (int i = 0; i < in.mSize; i++) {
+                    mOut[in.mTargets[i]].remove(v);
+                    neighborContracted(in.mTargets[i], v);
+                }
+
+                // The neighbors' priorities changed the most, so update them now.
+                for (int i = 0; i < out.mSize; i++)
+                    order.offer(out.mTargets[i], priority(out.mTargets[i]));
+                for (int i = 0; i < in.mSize; i++)
+                    order.offer(in.mTargets[i], priority(in.mTargets[i]));
+            }
+            return new ContractionHierarchy<>(mGraph, rank, mOut, mIn, mShortcutCount);
+        }
+
+        /** Records that a neighbor of the vertex was contracted. */
+        private void neighborContracted(int v, int neighbor) {
+            mContractedNeighbors[v]++;
+            mLevel[v] = Math.max(mLevel[v], mLevel[neighbor] + 1);
+        }
+
+        private double priority(int v) {
+            int removed = mOut[v].mSize + mIn[v].mSize;
+            return contract(v, true) - removed + mContractedNeighbors[v] + mLevel[v];
+        }
+
+        /**
+         * Adds a shortcut for every pair of remaining neighbors whose shortest path leads through
+         * the vertex, unless a witness search finds another path at least as short.
+         *
+         * @param simulate Whether to only count the shortcuts, without adding them.
+         * @return The number of shortcuts needed.
+         */
+        private int contract(int v, boolean simulate) {
+            EdgeList in = mIn[v], out = mOut[v];
+            int count = 0;
+
+            for (int i = 0; i < in.mSize; i++) {
+                int u = in.mTargets[i];
+                double toV = in.mWeights[i];
+
+                double maxCost = 0.0;
+                for (int j = 0; j < out.mSize; j++) {
+                    int w = out.mTargets[j];
+                    if (w != u) maxCost = Math.max(maxCost, toV + out.mWeights[j]);
+                }
+                if (maxCost == 0.0) continue;
+
+                int settleLimit = simulate ? kSimulatedSettleLimit : kWitnessSettleLimit;
+                witnessSearch(u, v, maxCost, settleLimit);
+
+                for (int j = 0; j < out.mSize; j++) {
+                    int w = out.mTargets[j];
+                    if (w == u) continue;
+
+                    double via = toV + out.mWeights[j];
+                    if (mWitness.getG(w) <= via) continue;
+
+                    count++;
+                    if (!simulate) {
+                        if (mOut[u].set(w, via, v)) mShortcutCount++;
+                        mIn[w].set(u, via, v);
+                    }
+                }
+            }
+            return count;
+        }
+
+        /** Dijkstra search from the source which avoids the vertex being contracted. */
+        private void witnessSearch(int source, int avoid, double maxCost, int settleLimit) {
+            mWitness.reset(mSize);
+            IndexedMinHeap openQueue = mWitness.getOpenQueue();
+            mWitness.set(source, 0.0, 0.0, -1);
+            openQueue.offer(source, 0.0);
+
+            int settled = 0;
+            while (!openQueue.isEmpty() && openQueue.peekKey() <= maxCost) {
+                if (++settled > settleLimit) break;
+
+                int current = openQueue.poll();
+                mWitness.close(current);
+
+                double currentG = mWitness.getG(current);
+                EdgeList out = mOut[current];
+                for (int i = 0; i < out.mSize; i++) {
+                    int child = out.mTargets[i];
+                    if (child == avoid || mWitness.isClosed(child)) continue;
+
+                    double tentativeG = currentG + out.mWeights[i];
+                    if (tentativeG < mWitness.getG(child)) {
+                        mWitness.set(child, tentativeG, tentativeG, current);
+                        openQueue.offer(child, tentativeG);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import io.github.tigerbotics7125.tigerlib.math.Tuple;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * An incremental planner (D* Lite) over a {@link Graph}. It searches backwards from the goal and
+ * keeps its search between calls, listening to the Graph for changes. When edges are reweighted or
+ * verticies are blocked through the Graph, only the part of the previous search affected by them
+ * is repaired on the next call, and the start may move without starting over.
+ *
+ * <p>This instance is registered as a listener of its Graph, remove it with {@link
+ * Graph#removeListener(GraphListener)} once it is no longer used.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class DStarLite<T> implements GraphListener {
+
+    // Graph of which this instance will operate over.
+    private final Graph<T> mGraph;
+
+    // Function which takes in two verticies and returns their calculated heuristic.
+    private final Function<Tuple<Vertex<T>, Vertex<T>>, Double> mHeuristicFunction;
+
+    // Cost from each vertex to the goal, as of its last expansion.
+    private double[] mG;
+
+    // One step lookahead of mG, from each vertex's successors.
+    private double[] mRhs;
+
+    // Inconsistent verticies (g != rhs), ordered by (key, min(g, rhs)).
+    private final IndexedMinHeap mOpenQueue;
+
+    // Verticies whose outgoing edges changed since the last plan.
+    private final BitSet mChanged;
+
+    // Accumulated heuristic offset from the start moving, so queued keys stay valid.
+    private double mKeyModifier;
+
+    private int mStart = -1;
+    private int mLastStart = -1;
+    private int mGoal = -1;
+
+    /**
+     * @param graph The Graph of which this instance will operate over.
+     * @param hFunc The function which calculates the heuristic from any two Verticies, it should
+     *     be consistent.
+     */
+    public DStarLite(Graph<T> graph, Function<Tuple<Vertex<T>, Vertex<T>>, Double> hFunc) {
+        mGraph = graph;
+        mHeuristicFunction = hFunc;
+        mG = new double[0];
+        mRhs = new double[0];
+        mOpenQueue = new IndexedMinHeap(graph.size());
+        mChanged = new BitSet(graph.size());
+        ensureCapacity(graph.size());
+
+        graph.addListener(this);
+    }
+
+    @Override
+    public void onVertexAdded(int index) {
+        ensureCapacity(index + 1);
+    }
+
+    @Override
+    public void onEdgeChanged(int from, int to) {
+        mChanged.set(from);
+    }
+
+    @Override
+    public void onVertexBlocked(int index, boolean blocked) {
+        // Both the edges leaving the vertex, and the edges entering it changed.
+        mChanged.set(index);
+        for (int i = 0; i < mGraph.getInDegree(index); i++)
+            mChanged.set(mGraph.getEdgeSource(mGraph.getInEdge(index, i)));
+    }
+
+    /**
+     * Plans a path, reusing the previous search if the goal is the same.
+     *
+     * @param start The starting Vertex.
+     * @param end The ending, goal Vertex.
+     * @return The list of Verticies, start to end, which represents the most cost effecient way of
+     *     traversing the graph.
+     */
+    public List<Vertex<T>> plan(Vertex<T> start, Vertex<T> end) {
+        int startIndex = mGraph.indexOf(start);
+        int goalIndex = mGraph.indexOf(end);
+
+        if (startIndex == -1)
+            throw new IllegalArgumentException("Graph must contain starting vertex");
+        if (goalIndex == -1)
+            throw new IllegalArgumentException("Graph must contain ending vertex");
+
+        ensureCapacity(mGraph.size());
+
+        if (goalIndex != mGoal) {
+            initialize(startIndex, goalIndex);
+        } else if (startIndex != mStart) {
+            // The start moved, raise every future key by how much the heuristic could have
+            // dropped, rather than re-keying the whole queue.
+            mKeyModifier += h(mLastStart, startIndex);
+            mLastStart = startIndex;
+        }
+        mStart = startIndex;
+
+        for (int v = mChanged.nextSetBit(0); v >= 0; v = mChanged.nextSetBit(v + 1))
+            updateVertex(v);
+        mChanged.clear();
+
+        computeShortestPath();
+
+        if (mG[mStart] == Double.POSITIVE_INFINITY)
+            throw new IllegalArgumentException(
+                    "Graph does not contain a valid path between start and end.");
+
+        return genPath();
+    }
+
+    private void initialize(int start, int goal) {
+        Arrays.fill(mG, Double.POSITIVE_INFINITY);
+        Arrays.fill(mRhs, Double.POSITIVE_INFINITY);
+        mOpenQueue.clear();
+        mChanged.clear();
+        mKeyModifier = 0.0;
+        mGoal = goal;
+        mLastStart = start;
+        mStart = start;
+
+        mRhs[goal] = 0.0;
+        mOpenQueue.offer(goal, h(start, goal), 0.0);
+    }
+
+    private void ensureCapacity(int size) {
+        if (size <= mG.length) return;
+
+        int oldSize = mG.length;
+        int newSize = Math.max(size, oldSize * 2);
+        mG = Arrays.copyOf(mG, newSize);
+        mRhs = Arrays.copyOf(mRhs, newSize);
+        Arrays.fill(mG, oldSize, newSize, Double.POSITIVE_INFINITY);
+        Arrays.fill(mRhs, oldSize, newSize, Double.POSITIVE_INFINITY);
+        mOpenQueue.ensureCapacity(newSize);
+    }
+
+    private double h(int from, int to) {
+        return mHeuristicFunction.apply(Tuple.of(mGraph.getVertex(from), mGraph.getVertex(to)));
+    }
+
+    /** @return The travel cost of an edge, +inf if either end is blocked. */
+    private double cost(int edge) {
+        int from = mGraph.getEdgeSource(edge), to = mGraph.getEdgeTarget(edge);
+        if (mGraph.isBlocked(from) || mGraph.isBlocked(to)) return Double.POSITIVE_INFINITY;
+        return mGraph.getEdgeCost(edge);
+    }
+
+    private void updateVertex(int v) {
+        if (v != mGoal) {
+            double rhs = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < mGraph.getOutDegree(v); i++) {
+                int edge = mGraph.getOutEdge(v, i);
+                rhs = Math.min(rhs, cost(edge) + mG[mGraph.getEdgeTarget(edge)]);
+            }
+            mRhs[v] = rhs;
+        }
+
+        if (mG[v] != mRhs[v]) {
+            double k2 = Math.min(mG[v], mRhs[v]);
+            mOpenQueue.offer(v, k2 + h(mStart, v) + mKeyModifier, k2);
+        } else {
+            mOpenQueue.remove(v);
+        }
+    }
+
+    private void computeShortestPath() {
+        while (!mOpenQueue.isEmpty()) {
+            int u = mOpenQueue.peek();
+            double oldK1 = mOpenQueue.getKey(u);
+            double oldK2 = mOpenQueue.getTieBreak(u);
+
+            double startK2 = Math.min(mG[mStart], mRhs[mStart]);
+            double startK1 = startK2 + h(mStart, mStart) + mKeyModifier;
+            boolean topBeforeStart = oldK1 < startK1 || (oldK1 == startK1 && oldK2 < startK2);
+            if (!topBeforeStart && mRhs[mStart] == mG[mStart]) break;
+
+            double k2 = Math.min(mG[u], mRhs[u]);
+            double k1 = k2 + h(mStart, u) + mKeyModifier;
+
+            if (oldK1 < k1 || (oldK1 == k1 && oldK2 < k2)) {
+                // Key is out of date from the start moving, re-queue it.
+                mOpenQueue.offer(u, k1, k2);
+            } else if (mG[u] > mRhs[u]) {
+                // Overconsistent, its cost dropped.
+                mOpenQueue.poll();
+                mG[u] = mRhs[u];
+                updatePredecessors(u);
+            } else {
+                // Underconsistent, its cost rose.
+                mOpenQueue.poll();
+                mG[u] = Double.POSITIVE_INFINITY;
+                updatePredecessors(u);
+                updateVertex(u);
+            }
+        }
+    }
+
+    private void updatePredecessors(int v) {
+        for (int i = 0; i < mGraph.getInDegree(v); i++)
+            updateVertex(mGraph.getEdgeSource(mGraph.getInEdge(v, i)));
+    }
+
+    /** @return The path from the start to the goal, following the cheapest successors. */
+    private List<Vertex<T>> genPath() {
+        List<Vertex<T>> path = new ArrayList<>();
+        path.add(mGraph.getVertex(mStart));
+
+        int current = mStart;
+        while (current != mGoal) {
+            int next = -1;
+            double best = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < mGraph.getOutDegree(current); i++) {
+                int edge = mGraph.getOutEdge(current, i);
+                int s = mGraph.getEdgeTarget(edge);
+                double c = cost(edge) + mG[s];
+                if (c < best) {
+                    best = c;
+                    next = s;
+                }
+            }
+
+            if (next == -1 || path.size() > mGraph.size())
+                throw new IllegalArgumentException(
+                        "Graph does not contain a valid path between start and end.");
+
+            path.add(mGraph.getVertex(next));
+            current = next;
+        }
+        return path;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import java.util.Arrays;
+
+/**
+ * Dijkstra's algorithm over a {@link CompiledGraph}, finding the cost from one Vertex to every
+ * other Vertex.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class Dijkstra {
+
+    /**
+     * @param graph The graph to search.
+     * @param source Index of the Vertex to search from.
+     * @return The cost from the source to every vertex by index, +inf if unreachable.
+     */
+    public static double[] distances(CompiledGraph<?> graph, int source) {
+        SearchState state = new SearchState(graph.size());
+        search(graph, source, state);
+
+        double[] distances = new double[graph.size()];
+        for (int v = 0; v < distances.length; v++) distances[v] = state.getG(v);
+        return distances;
+    }
+
+    /**
+     * Expands every Vertex reachable from the source, leaving their costs and "cameFrom" verticies
+     * in the state.
+     *
+     * @param graph The graph to search.
+     * @param source Index of the Vertex to search from.
+     * @param state The state to search with, it is reset first.
+     */
+    static void search(CompiledGraph<?> graph, int source, SearchState state) {
+        search(graph, source, state, null);
+    }
+
+    /**
+     * Expands verticies reachable from the source until every target has been expanded, leaving
+     * their costs and "cameFrom" verticies in the state.
+     *
+     * @param graph The graph to search.
+     * @param source Index of the Vertex to search from.
+     * @param state The state to search with, it is reset first.
+     * @param targets Sorted indicies of the verticies to reach, null to expand every vertex.
+     */
+    static void search(CompiledGraph<?> graph, int source, SearchState state, int[] targets) {
+        int remaining = targets == null ? -1 : targets.length;
+        state.reset(graph.size());
+        IndexedMinHeap openQueue = state.getOpenQueue();
+
+        state.set(source, 0.0, 0.0, -1);
+        openQueue.offer(source, 0.0);
+
+        while (!openQueue.isEmpty()) {
+            int current = openQueue.poll();
+            state.close(current);
+
+            if (remaining > 0 && Arrays.binarySearch(targets, current) >= 0 && --remaining == 0)
+                break;
+
+            double currentG = state.getG(current);
+            for (int e = graph.getEdgeStart(current); e < graph.getEdgeEnd(current); e++) {
+                int child = graph.getEdgeTarget(e);
+                if (state.isClosed(child)) continue;
+
+                double tentativeG = currentG + graph.getEdgeWeight(e);
+                if (tentativeG < state.getG(child)) {
+                    state.set(child, tentativeG, tentativeG, current);
+                    openQueue.offer(child, tentativeG);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Translation2d;
+
+/**
+ * A graph of positions on the field, such as one built by {@link VisibilityGraph}, along with a
+ * spatial index of its verticies and the obstacles it was built around.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class FieldGraph {
+
+    private final CompiledGraph<Translation2d> mGraph;
+
+    // Verticies by position, point indicies are vertex indicies.
+    private final KdTree mIndex;
+
+    private final Obstacles mObstacles;
+
+    /**
+     * @param graph The graph of field positions.
+     * @param obstacles The inflated obstacles the graph avoids.
+     */
+    FieldGraph(CompiledGraph<Translation2d> graph, Obstacles obstacles) {
+        mGraph = graph;
+        mObstacles = obstacles;
+
+        double[] xs = new double[graph.size()], ys = new double[graph.size()];
+        for (int v = 0; v < xs.length; v++) {
+            xs[v] = graph.getVertex(v).getData().getX();
+            ys[v] = graph.getVertex(v).getData().getY();
+        }
+        mIndex = new KdTree(xs, ys);
+    }
+
+    /** @return The graph of field positions. */
+    public CompiledGraph<Translation2d> getGraph() {
+        return mGraph;
+    }
+
+    /** @return The straight line distance between two verticies, for planning over the graph. */
+    public Heuristic getHeuristic() {
+        return (from, to) ->
+                Math.hypot(
+                        mIndex.getX(from) - mIndex.getX(to), mIndex.getY(from) - mIndex.getY(to));
+    }
+
+    /**
+     * @param position A position on the field.
+     * @return The index of the vertex nearest the position, -1 if the graph is empty.
+     */
+    public int nearestIndex(Translation2d position) {
+        return mIndex.nearest(position.getX(), position.getY());
+    }
+
+    /**
+     * @param pose A pose on the field.
+     * @return The vertex nearest the pose's position.
+     */
+    public Vertex<Translation2d> getNearest(Pose2d pose) {
+        int index = nearestIndex(pose.getTranslation());
+        if (index == -1) throw new IllegalStateException("Graph has no verticies.");
+        return mGraph.getVertex(index);
+    }
+
+    /**
+     * @param position A position on the field.
+     * @return Whether the robot can be at the position without touching an obstacle.
+     */
+    public boolean isFree(Translation2d position) {
+        return mObstacles.isFree(position.getX(), position.getY());
+    }
+
+    /**
+     * @param from A free position on the field.
+     * @param to Another free position on the field.
+     * @return Whether the robot can drive straight between the positions.
+     */
+    public boolean isVisible(Translation2d from, Translation2d to) {
+        return mObstacles.isVisible(from.getX(), from.getY(), to.getX(), to.getY());
+    }
+}
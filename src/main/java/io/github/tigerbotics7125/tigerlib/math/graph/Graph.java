@@ -7,37 +7,496 @@ package io.github.tigerbotics7125.tigerlib.math.graph;
 
 import io.github.tigerbotics7125.tigerlib.math.Tuple;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Stream;
 
 /**
  * This class represents a collection of vertecies and edges defining traditional weighted graph.
  *
+ * <p>Each directed edge has an id, which stays the same until the edge is removed and is never
+ * reused. Through its id an edge may be reweighted, have its cost multiplied, or be removed in
+ * constant time. There is at most one edge from one Vertex to another, adding it again replaces
+ * its weight.
+ *
  * @since 2023
  * @author Jeffrey Morris | Tigerbotics 7125
  */
 public class Graph<T> {
-    // maps a Vertex to a list of other verticies with the respective weight.
-    private Map<Vertex<T>, List<Tuple<Vertex<T>, Double>>> mVertexEdgeMap;
+    // interns values: an open addressing table of vertex indicies by the hash of their value,
+    // -1 where empty. Indicies are dense and given in order of addition.
+    private int[] mInternTable;
+
+    // hash of each vertex's value, by index.
+    private int[] mHashes;
+
+    // the canonical Vertex at each index.
+    private List<Vertex<T>> mVerticies;
+
+    // ids of the edges leaving and entering each vertex, by vertex index.
+    private List<EdgeList> mOutEdges;
+    private List<EdgeList> mInEdges;
+
+    // maps a pair of vertex indicies to the id of the edge between them.
+    private LongIntHashMap mEdgeIds;
+
+    // ends of each edge by id, the source is -1 once the edge is removed.
+    private int[] mEdgeSource;
+    private int[] mEdgeTarget;
+
+    // weight and cost multiplier of each edge by id, its travel cost is their product.
+    private double[] mEdgeWeight;
+    private double[] mEdgeMultiplier;
+
+    // position of each edge in its source's out list, and its target's in list.
+    private int[] mOutPosition;
+    private int[] mInPosition;
+
+    // number of edge ids given out, and number of edges not removed.
+    private int mEdgeIdCount;
+    private int mEdgeCount;
+
+    // ids of removed edges, given to the next edges added so the edge arrays stay compact.
+    private EdgeList mFreeEdgeIds;
+
+    // cost multiplier of every edge entering each vertex by index, on top of the edge's own.
+    private double[] mVertexMultiplier;
+
+    // indicies of verticies which are blocked, no edge may enter or leave them.
+    private BitSet mBlocked;
+
+    // listeners notified of every change to this Graph.
+    private List<GraphListener> mListeners;
+
+    // counts changes to this Graph, so results computed over it can tell when they are stale.
+    private int mVersion;
 
     /** Creates a new Graph. */
     public Graph() {
-        mVertexEdgeMap = new HashMap<>();
+        mInternTable = new int[16];
+        Arrays.fill(mInternTable, -1);
+        mHashes = new int[16];
+        mVerticies = new ArrayList<>();
+        mOutEdges = new ArrayList<>();
+        mInEdges = new ArrayList<>();
+        mEdgeIds = new LongIntHashMap();
+        mEdgeSource = new int[16];
+        mEdgeTarget = new int[16];
+        mEdgeWeight = new double[16];
+        mEdgeMultiplier = new double[16];
+        mOutPosition = new int[16];
+        mInPosition = new int[16];
+        mFreeEdgeIds = new EdgeList();
+        mVertexMultiplier = new double[16];
+        mBlocked = new BitSet();
+        mListeners = new ArrayList<>();
+    }
+
+    /**
+     * Adds a listener to be notified whenever this Graph changes.
+     *
+     * @param listener The listener to add.
+     */
+    public void addListener(GraphListener listener) {
+        mListeners.add(listener);
+    }
+
+    /**
+     * Stops notifying the listener of changes to this Graph.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeListener(GraphListener listener) {
+        mListeners.remove(listener);
+    }
+
+    /**
+     * @return A number which changes whenever a vertex or edge is added or removed, an edge's cost
+     *     is changed, or a vertex is blocked or unblocked.
+     */
+    public int getVersion() {
+        return mVersion;
+    }
+
+    /** @return The number of verticies in this Graph. */
+    public int size() {
+        return mVerticies.size();
+    }
+
+    /** @return The number of edges in this Graph. */
+    public int getEdgeCount() {
+        return mEdgeCount;
+    }
+
+    /**
+     * @param vertex Vertex to search for.
+     * @return The index of the Vertex, in [0, size()), or -1 if this Graph does not contain it.
+     */
+    public int indexOf(Vertex<T> vertex) {
+        return find(vertex.getData(), vertex.hashCode());
+    }
+
+    /**
+     * @param vertexVal Value to search for.
+     * @return The index of the value's Vertex, in [0, size()), or -1 if this Graph does not
+     *     contain it.
+     */
+    public int indexOfValue(T vertexVal) {
+        return find(vertexVal, Objects.hashCode(vertexVal));
+    }
+
+    private int find(Object value, int hash) {
+        int mask = mInternTable.length - 1;
+        for (int i = slot(hash, mask); ; i = (i + 1) & mask) {
+            int index = mInternTable[i];
+            if (index == -1) return -1;
+            if (mHashes[index] == hash && Objects.equals(mVerticies.get(index).getData(), value))
+                return index;
+        }
+    }
+
+    /** @return The slot a hash starts probing at, from the high bits of a multiplicative hash. */
+    private static int slot(int hash, int mask) {
+        return (hash * 0x9E3779B9) >>> Integer.numberOfLeadingZeros(mask);
+    }
+
+    private void intern(int index, int hash) {
+        if (index == mHashes.length) mHashes = Arrays.copyOf(mHashes, index * 2);
+        mHashes[index] = hash;
+
+        if (2 * (index + 1) > mInternTable.length) {
+            mInternTable = new int[mInternTable.length * 2];
+            Arrays.fill(mInternTable, -1);
+            for (int v = 0; v < index; v++) insert(v, mHashes[v]);
+        }
+        insert(index, hash);
+    }
+
+    private void insert(int index, int hash) {
+        int mask = mInternTable.length - 1;
+        int i = slot(hash, mask);
+        while (mInternTable[i] != -1) i = (i + 1) & mask;
+        mInternTable[i] = index;
+    }
+
+    /**
+     * @param vertexVal Value to search for.
+     * @return This Graph's Vertex holding the value, null if this Graph does not contain it.
+     */
+    public Vertex<T> intern(T vertexVal) {
+        int index = indexOfValue(vertexVal);
+        return index == -1 ? null : mVerticies.get(index);
+    }
+
+    /**
+     * @param index Index of the Vertex.
+     * @return The Vertex at the given index.
+     */
+    public Vertex<T> getVertex(int index) {
+        return mVerticies.get(index);
     }
 
     /** @return A Stream object of all the verticies in this Graph Object. */
     public Stream<Vertex<T>> getVerticies() {
-        return mVertexEdgeMap.keySet().stream();
+        return mVerticies.stream();
     }
 
     /**
      * @param vertex Vertex to get successors from.
-     * @return The successors or neighbors of the given Vertex.
+     * @return A copy of the successors or neighbors of the given Vertex, with the travel cost of
+     *     each edge, null if this Graph does not contain the Vertex.
      */
     public List<Tuple<Vertex<T>, Double>> getSuccessors(Vertex<T> vertex) {
-        return mVertexEdgeMap.get(vertex);
+        int index = indexOf(vertex);
+        if (index == -1) return null;
+
+        EdgeList edges = mOutEdges.get(index);
+        List<Tuple<Vertex<T>, Double>> successors = new ArrayList<>(edges.mSize);
+        for (int i = 0; i < edges.mSize; i++) {
+            int edge = edges.mIds[i];
+            successors.add(Tuple.of(getVertex(mEdgeTarget[edge]), getEdgeCost(edge)));
+        }
+        return successors;
+    }
+
+    /**
+     * @param vertex Vertex to get predecessors from.
+     * @return A copy of the verticies which have an edge to the given Vertex, with the travel cost
+     *     of that edge, null if this Graph does not contain the Vertex.
+     */
+    public List<Tuple<Vertex<T>, Double>> getPredecessors(Vertex<T> vertex) {
+        int index = indexOf(vertex);
+        if (index == -1) return null;
+
+        EdgeList edges = mInEdges.get(index);
+        List<Tuple<Vertex<T>, Double>> predecessors = new ArrayList<>(edges.mSize);
+        for (int i = 0; i < edges.mSize; i++) {
+            int edge = edges.mIds[i];
+            predecessors.add(Tuple.of(getVertex(mEdgeSource[edge]), getEdgeCost(edge)));
+        }
+        return predecessors;
+    }
+
+    /**
+     * @param index Index of the Vertex.
+     * @return The number of edges leaving the Vertex.
+     */
+    public int getOutDegree(int index) {
+        return mOutEdges.get(index).mSize;
+    }
+
+    /**
+     * @param index Index of the Vertex.
+     * @param i Which of the edges leaving the Vertex, in [0, getOutDegree(index)).
+     * @return The id of the edge.
+     */
+    public int getOutEdge(int index, int i) {
+        return mOutEdges.get(index).mIds[i];
+    }
+
+    /**
+     * @param index Index of the Vertex.
+     * @return The number of edges entering the Vertex.
+     */
+    public int getInDegree(int index) {
+        return mInEdges.get(index).mSize;
+    }
+
+    /**
+     * @param index Index of the Vertex.
+     * @param i Which of the edges entering the Vertex, in [0, getInDegree(index)).
+     * @return The id of the edge.
+     */
+    public int getInEdge(int index, int i) {
+        return mInEdges.get(index).mIds[i];
+    }
+
+    /**
+     * @param from Vertex the edge leaves.
+     * @param to Vertex the edge enters.
+     * @return The id of the edge from one Vertex to the other, -1 if there is none.
+     */
+    public int getEdgeId(Vertex<T> from, Vertex<T> to) {
+        int fromIndex = indexOf(from), toIndex = indexOf(to);
+        if (fromIndex == -1 || toIndex == -1) return -1;
+
+        return mEdgeIds.get(key(fromIndex, toIndex));
+    }
+
+    private static long key(int from, int to) {
+        return ((long) from << 32) | (to & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @param edge Id of the edge.
+     * @return Whether this Graph has the edge, it may have been removed.
+     */
+    public boolean containsEdge(int edge) {
+        return edge >= 0 && edge < mEdgeIdCount && mEdgeSource[edge] != -1;
+    }
+
+    /**
+     * @param edge Id of the edge.
+     * @return Index of the Vertex the edge leaves.
+     */
+    public int getEdgeSource(int edge) {
+        return mEdgeSource[checkEdge(edge)];
+    }
+
+    /**
+     * @param edge Id of the edge.
+     * @return Index of the Vertex the edge enters.
+     */
+    public int getEdgeTarget(int edge) {
+        return mEdgeTarget[checkEdge(edge)];
+    }
+
+    /**
+     * @param edge Id of the edge.
+     * @return The weight of the edge, before its cost multiplier.
+     */
+    public double getEdgeWeight(int edge) {
+        return mEdgeWeight[checkEdge(edge)];
+    }
+
+    /**
+     * @param edge Id of the edge.
+     * @return The multiplier of the edge's weight.
+     */
+    public double getEdgeMultiplier(int edge) {
+        return mEdgeMultiplier[checkEdge(edge)];
+    }
+
+    /**
+     * @param edge Id of the edge.
+     * @return The travel cost of the edge, its weight times its multiplier and the cost multiplier
+     *     of the Vertex it enters.
+     */
+    public double getEdgeCost(int edge) {
+        checkEdge(edge);
+        return mEdgeWeight[edge] * mEdgeMultiplier[edge] * mVertexMultiplier[mEdgeTarget[edge]];
+    }
+
+    private int checkEdge(int edge) {
+        if (!containsEdge(edge)) throw new IllegalArgumentException("Graph must contain the edge");
+        return edge;
+    }
+
+    /**
+     * @param index Index of the Vertex.
+     * @return Whether the Vertex is blocked.
+     */
+    public boolean isBlocked(int index) {
+        return mBlocked.get(index);
+    }
+
+    /**
+     * @param vertex Vertex to check.
+     * @return Whether the Vertex is blocked.
+     * @throws IllegalArgumentException if the graph does not contain the vertex.
+     */
+    public boolean isBlocked(Vertex<T> vertex) {
+        int index = indexOf(vertex);
+        if (index == -1) throw new IllegalArgumentException("Graph must contain the vertex");
+        return mBlocked.get(index);
+    }
+
+    /**
+     * Blocks or unblocks a Vertex, while blocked no edge may enter or leave it, though its edges
+     * are kept for when it is unblocked.
+     *
+     * @param vertex Vertex to change.
+     * @param blocked Whether the Vertex is blocked.
+     */
+    public void setBlocked(Vertex<T> vertex, boolean blocked) {
+        int index = indexOf(vertex);
+        if (index == -1) throw new IllegalArgumentException("Graph must contain the vertex");
+        if (mBlocked.get(index) == blocked) return;
+
+        mBlocked.set(index, blocked);
+        mVersion++;
+        for (GraphListener listener : mListeners) listener.onVertexBlocked(index, blocked);
+    }
+
+    /**
+     * Changes the weight of the edge from left to right, adding the edge if there is none.
+     *
+     * @param left Left Vertex.
+     * @param right Right Vertex.
+     * @param weight New travel cost from left to right, +inf makes the edge impassable.
+     */
+    public void setEdgeWeight(Vertex<T> left, Vertex<T> right, double weight) {
+        addDirectedEdge(left, right, weight);
+    }
+
+    /**
+     * Changes the weight of an edge, keeping its cost multiplier.
+     *
+     * @param edge Id of the edge.
+     * @param weight New weight of the edge, +inf makes the edge impassable.
+     */
+    public void setEdgeWeight(int edge, double weight) {
+        checkEdge(edge);
+        if (!(weight > 0.0)) throw new IllegalArgumentException("Weight must be positive.");
+
+        mEdgeWeight[edge] = weight;
+        notifyEdgeChanged(edge);
+    }
+
+    /**
+     * Multiplies the travel cost of an edge, such as to make driving through a region costlier
+     * without losing the edge's weight.
+     *
+     * @param edge Id of the edge.
+     * @param multiplier New multiplier of the edge's weight, +inf makes the edge impassable.
+     */
+    public void setEdgeMultiplier(int edge, double multiplier) {
+        checkEdge(edge);
+        if (!(multiplier > 0.0)) throw new IllegalArgumentException("Multiplier must be positive.");
+
+        mEdgeMultiplier[edge] = multiplier;
+        notifyEdgeChanged(edge);
+    }
+
+    /**
+     * Sets the cost multiplier of a Vertex, so reaching it costs more (or less) than its edges'
+     * weights. It applies to every edge entering the Vertex, including edges added later, on top
+     * of each edge's own multiplier.
+     *
+     * @param vertex Vertex to change.
+     * @param multiplier New multiplier of the cost of each edge entering the Vertex, +inf makes
+     *     the Vertex unreachable.
+     */
+    public void setCostMultiplier(Vertex<T> vertex, double multiplier) {
+        int index = indexOf(vertex);
+        if (index == -1) throw new IllegalArgumentException("Graph must contain the vertex");
+        if (!(multiplier > 0.0)) throw new IllegalArgumentException("Multiplier must be positive.");
+
+        mVertexMultiplier[index] = multiplier;
+        mVersion++;
+        EdgeList edges = mInEdges.get(index);
+        for (int i = 0; i < edges.mSize; i++) notifyEdgeChanged(edges.mIds[i]);
+    }
+
+    /**
+     * @param vertex Vertex to check.
+     * @return The cost multiplier of the Vertex, 1.0 unless set.
+     * @throws IllegalArgumentException if the graph does not contain the vertex.
+     */
+    public double getCostMultiplier(Vertex<T> vertex) {
+        int index = indexOf(vertex);
+        if (index == -1) throw new IllegalArgumentException("Graph must contain the vertex");
+        return mVertexMultiplier[index];
+    }
+
+    /**
+     * Removes an edge, its id may be given to an edge added later.
+     *
+     * @param edge Id of the edge.
+     */
+    public void removeEdge(int edge) {
+        int from = getEdgeSource(edge), to = mEdgeTarget[edge];
+
+        removeAt(mOutEdges.get(from), mOutPosition, mOutPosition[edge]);
+        removeAt(mInEdges.get(to), mInPosition, mInPosition[edge]);
+        mEdgeIds.remove(key(from, to));
+        mEdgeSource[edge] = -1;
+        mEdgeCount--;
+        mFreeEdgeIds.add(edge);
+
+        mVersion++;
+        for (GraphListener listener : mListeners) listener.onEdgeRemoved(from, to);
+    }
+
+    /**
+     * Removes the edge from one Vertex to another, if there is one.
+     *
+     * @param from Vertex the edge leaves.
+     * @param to Vertex the edge enters.
+     * @return Whether there was an edge to remove.
+     */
+    public boolean removeEdge(Vertex<T> from, Vertex<T> to) {
+        int edge = getEdgeId(from, to);
+        if (edge == -1) return false;
+
+        removeEdge(edge);
+        return true;
+    }
+
+    /** Removes the id at a position of the list, moving the last id into its place. */
+    private static void removeAt(EdgeList edges, int[] positions, int position) {
+        int last = edges.mIds[--edges.mSize];
+        edges.mIds[position] = last;
+        positions[last] = position;
+    }
+
+    private void notifyEdgeChanged(int edge) {
+        mVersion++;
+        if (mListeners.isEmpty()) return;
+        int from = mEdgeSource[edge], to = mEdgeTarget[edge];
+        for (GraphListener listener : mListeners) listener.onEdgeChanged(from, to);
     }
 
     /**
@@ -45,7 +504,7 @@ public class Graph<T> {
      * @return Whether this Graph contains a Vertex with the given value.
      */
     public boolean contains(T vertexVal) {
-        return contains(Vertex.of(vertexVal));
+        return indexOfValue(vertexVal) != -1;
     }
 
     /**
@@ -53,7 +512,7 @@ public class Graph<T> {
      * @return Whether this Graph contains the provided Vertex.
      */
     public boolean contains(Vertex<T> vertex) {
-        return mVertexEdgeMap.containsKey(vertex);
+        return indexOf(vertex) != -1;
     }
 
     /**
@@ -62,7 +521,7 @@ public class Graph<T> {
      * @param vertexVal Value to add.
      */
     public void addVertex(T vertexVal) {
-        addVertex(Vertex.of(vertexVal));
+        if (!contains(vertexVal)) addVertex(Vertex.of(vertexVal));
     }
 
     /**
@@ -71,7 +530,18 @@ public class Graph<T> {
      * @param vertex Vertex to add.
      */
     public void addVertex(Vertex<T> vertex) {
-        mVertexEdgeMap.putIfAbsent(vertex, new ArrayList<>());
+        if (!contains(vertex)) {
+            int index = mVerticies.size();
+            mVerticies.add(vertex);
+            intern(index, vertex.hashCode());
+            mOutEdges.add(new EdgeList());
+            mInEdges.add(new EdgeList());
+            if (index == mVertexMultiplier.length)
+                mVertexMultiplier = Arrays.copyOf(mVertexMultiplier, index * 2);
+            mVertexMultiplier[index] = 1.0;
+            mVersion++;
+            for (GraphListener listener : mListeners) listener.onVertexAdded(index);
+        }
     }
 
     /**
@@ -94,10 +564,12 @@ public class Graph<T> {
      * @param weightRL Travel cost from right to left.
      */
     public void addEdge(T leftVal, T rightVal, double weightLR, double weightRL) {
-        Vertex<T> left = Vertex.of(leftVal);
-        Vertex<T> right = Vertex.of(rightVal);
+        int left = indexOfValue(leftVal), right = indexOfValue(rightVal);
+        if (left == -1) throw new IllegalArgumentException("Graph must contain left vertex");
+        if (right == -1) throw new IllegalArgumentException("Graph must contain right vertex");
 
-        addEdge(left, right, weightLR, weightRL);
+        if (weightLR > 0.0) addDirectedEdge(left, right, weightLR);
+        if (weightRL > 0.0) addDirectedEdge(right, left, weightRL);
     }
 
     /**
@@ -112,7 +584,8 @@ public class Graph<T> {
     }
 
     /**
-     * Add an edge to the Graph between two verticies.
+     * Add an edge to the Graph between two verticies, a direction with a weight that is not
+     * positive is left out. Edges which already exist are reweighted rather than duplicated.
      *
      * @param left Left Vertex.
      * @param right Right Vertex.
@@ -120,7 +593,119 @@ public class Graph<T> {
      * @param weightRL Travel cost from right to left.
      */
     public void addEdge(Vertex<T> left, Vertex<T> right, double weightLR, double weightRL) {
-        if (weightLR > 0.0) mVertexEdgeMap.get(left).add(Tuple.of(right, weightLR));
-        if (weightRL > 0.0) mVertexEdgeMap.get(right).add(Tuple.of(left, weightRL));
+        addEdge(left.getData(), right.getData(), weightLR, weightRL);
+    }
+
+    /**
+     * Adds an edge from one Vertex to another, or changes its weight if there already is one.
+     *
+     * @param from Vertex the edge leaves.
+     * @param to Vertex the edge enters.
+     * @param weight Travel cost from one Vertex to the other, +inf makes the edge impassable.
+     * @return The id of the edge.
+     */
+    public int addDirectedEdge(Vertex<T> from, Vertex<T> to, double weight) {
+        int fromIndex = indexOf(from), toIndex = indexOf(to);
+        if (fromIndex == -1) throw new IllegalArgumentException("Graph must contain left vertex");
+        if (toIndex == -1) throw new IllegalArgumentException("Graph must contain right vertex");
+
+        return addDirectedEdge(fromIndex, toIndex, weight);
+    }
+
+    private int addDirectedEdge(int fromIndex, int toIndex, double weight) {
+        if (!(weight > 0.0)) throw new IllegalArgumentException("Weight must be positive.");
+
+        int existing = mEdgeIds.get(key(fromIndex, toIndex));
+        if (existing != -1) {
+            setEdgeWeight(existing, weight);
+            return existing;
+        }
+
+        // Reuse a removed edge's id before growing the edge arrays.
+        if (mFreeEdgeIds.mSize > 0) {
+            int edge = mFreeEdgeIds.mIds[--mFreeEdgeIds.mSize];
+            putEdge(edge, fromIndex, toIndex, weight);
+            return edge;
+        }
+
+        int edge = mEdgeIdCount++;
+        if (edge == mEdgeSource.length) {
+            int capacity = edge * 2;
+            mEdgeSource = Arrays.copyOf(mEdgeSource, capacity);
+            mEdgeTarget = Arrays.copyOf(mEdgeTarget, capacity);
+            mEdgeWeight = Arrays.copyOf(mEdgeWeight, capacity);
+            mEdgeMultiplier = Arrays.copyOf(mEdgeMultiplier, capacity);
+            mOutPosition = Arrays.copyOf(mOutPosition, capacity);
+            mInPosition = Arrays.copyOf(mInPosition, capacity);
+        }
+        putEdge(edge, fromIndex, toIndex, weight);
+        return edge;
+    }
+
+    private void putEdge(int edge, int fromIndex, int toIndex, double weight) {
+        mEdgeSource[edge] = fromIndex;
+        mEdgeTarget[edge] = toIndex;
+        mEdgeWeight[edge] = weight;
+        mEdgeMultiplier[edge] = 1.0;
+        mOutPosition[edge] = mOutEdges.get(fromIndex).add(edge);
+        mInPosition[edge] = mInEdges.get(toIndex).add(edge);
+        mEdgeIds.put(key(fromIndex, toIndex), edge);
+        mEdgeCount++;
+
+        notifyEdgeChanged(edge);
+    }
+
+    /**
+     * Compiles this Graph into its index based form, later changes to this Graph are not
+     * reflected in the returned CompiledGraph. Verticies keep the same index they have in this
+     * Graph, edges which are impassable (infinite cost or touching a blocked Vertex) are left out.
+     *
+     * @return A CompiledGraph holding the same verticies and edges as this Graph.
+     */
+    @SuppressWarnings("unchecked")
+    public CompiledGraph<T> compile() {
+        Vertex<T>[] verticies = (Vertex<T>[]) mVerticies.toArray(new Vertex<?>[0]);
+
+        int[] offsets = new int[verticies.length + 1];
+        for (int i = 0; i < verticies.length; i++) {
+            offsets[i + 1] = offsets[i];
+            EdgeList edges = mOutEdges.get(i);
+            for (int j = 0; j < edges.mSize; j++) if (isPassable(edges.mIds[j])) offsets[i + 1]++;
+        }
+
+        int[] targets = new int[offsets[verticies.length]];
+        double[] weights = new double[targets.length];
+        for (int i = 0; i < verticies.length; i++) {
+            int e = offsets[i];
+            EdgeList edges = mOutEdges.get(i);
+            for (int j = 0; j < edges.mSize; j++) {
+                int edge = edges.mIds[j];
+                if (!isPassable(edge)) continue;
+                targets[e] = mEdgeTarget[edge];
+                weights[e] = getEdgeCost(edge);
+                e++;
+            }
+        }
+
+        return new CompiledGraph<>(verticies, offsets, targets, weights);
+    }
+
+    private boolean isPassable(int edge) {
+        return getEdgeCost(edge) < Double.POSITIVE_INFINITY
+                && !isBlocked(mEdgeSource[edge])
+                && !isBlocked(mEdgeTarget[edge]);
+    }
+
+    /** A growable list of edge ids. */
+    private static class EdgeList {
+        private int[] mIds = new int[4];
+        private int mSize;
+
+        /** @return The position the id was added at. */
+        private int add(int id) {
+            if (mSize == mIds.length) mIds = Arrays.copyOf(mIds, mSize * 2);
+            mIds[mSize] = id;
+            return mSize++;
+        }
     }
 }
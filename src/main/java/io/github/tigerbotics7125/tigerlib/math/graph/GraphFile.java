@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Stores a {@link CompiledGraph} in a compact binary file, so a graph can be built offline (for
+ * example while deploying) and loaded at startup without rebuilding it vertex by vertex.
+ *
+ * <p>The file holds a header, then the edge arrays exactly as the CompiledGraph holds them, then
+ * one fixed size record per vertex. Loading memory maps the file and bulk copies the edge arrays
+ * straight out of it, so there is no per edge parsing or allocation. Every value is little endian.
+ *
+ * <pre>
+ * int    magic, version, vertex count, edge count, vertex record size, padding
+ * int    offsets[vertex count + 1]
+ * int    targets[edge count]
+ * (padding to a multiple of 8 bytes)
+ * double weights[edge count]
+ * byte   records[vertex count][vertex record size]
+ * </pre>
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class GraphFile {
+
+    // "TGRF", marks the start of every graph file.
+    private static final int kMagic = 0x46524754;
+
+    // Bumped whenever the layout changes.
+    private static final int kVersion = 1;
+
+    private static final int kHeaderBytes = 6 * Integer.BYTES;
+
+    /**
+     * @param vertexCount The number of verticies.
+     * @param edgeCount The number of edges.
+     * @param recordSize The number of bytes of each vertex record.
+     * @return The number of bytes the graph takes in a file.
+     */
+    public static long fileSize(int vertexCount, int edgeCount, int recordSize) {
+        return recordsStart(vertexCount, edgeCount) + (long) vertexCount * recordSize;
+    }
+
+    /**
+     * Writes the graph to a file, replacing it if it exists.
+     *
+     * @param graph The graph to write.
+     * @param codec Codec of the data held by each Vertex.
+     * @param path The file to write to.
+     * @throws IOException If the file can not be written.
+     */
+    public static <T> void write(CompiledGraph<T> graph, VertexCodec<T> codec, Path path)
+            throws IOException {
+        long size = fileSize(graph.size(), graph.edgeCount(), codec.recordSize());
+        if (size > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Graph is too large to write to a file.");
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        write(graph, codec, buffer);
+        buffer.flip();
+
+        try (FileChannel channel =
+                FileChannel.open(
+                        path,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) channel.write(buffer);
+        }
+    }
+
+    /**
+     * Writes the graph into a buffer, starting at its position.
+     *
+     * @param graph The graph to write.
+     * @param codec Codec of the data held by each Vertex.
+     * @param buffer The buffer to write to, it must have {@link #fileSize(int, int, int)} bytes
+     *     remaining. Its position is advanced past the graph.
+     */
+    public static <T> void write(CompiledGraph<T> graph, VertexCodec<T> codec, ByteBuffer buffer) {
+        int vertexCount = graph.size();
+        int edgeCount = graph.edgeCount();
+        int recordSize = codec.recordSize();
+
+        ByteBuffer out = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(kMagic).putInt(kVersion);
+        out.putInt(vertexCount).putInt(edgeCount).putInt(recordSize).putInt(0);
+
+        for (int v = 0; v < vertexCount; v++) out.putInt(graph.getEdgeStart(v));
+        out.putInt(edgeCount);
+        for (int e = 0; e < edgeCount; e++) out.putInt(graph.getEdgeTarget(e));
+
+        out.position(Math.toIntExact(weightsStart(vertexCount, edgeCount)));
+        for (int e = 0; e < edgeCount; e++) out.putDouble(graph.getEdgeWeight(e));
+
+        for (int v = 0; v < vertexCount; v++) {
+            int start = out.position();
+            codec.write(graph.getVertex(v).getData(), out);
+            if (out.position() - start != recordSize)
+                throw new IllegalArgumentException("Codec must write exactly recordSize() bytes.");
+        }
+        buffer.position(buffer.position() + out.position());
+    }
+
+    /**
+     * Memory maps a graph file and loads the graph from it.
+     *
+     * @param path The file to read.
+     * @param codec Codec of the data held by each Vertex.
+     * @return The graph held by the file.
+     * @throws IOException If the file can not be read.
+     * @throws IllegalArgumentException If the file does not hold a graph.
+     */
+    public static <T> CompiledGraph<T> read(Path path, VertexCodec<T> codec) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(buffer, codec);
+        }
+    }
+
+    /**
+     * Loads a graph from a buffer, starting at its position.
+     *
+     * @param buffer The buffer to read, such as a memory mapped file. Its position is advanced
+     *     past the graph.
+     * @param codec Codec of the data held by each Vertex.
+     * @return The graph held by the buffer.
+     * @throws IllegalArgumentException If the buffer does not hold a graph.
+     */
+    public static <T> CompiledGraph<T> read(ByteBuffer buffer, VertexCodec<T> codec) {
+        ByteBuffer in = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        if (in.remaining() < kHeaderBytes || in.getInt() != kMagic)
+            throw new IllegalArgumentException("Buffer does not hold a graph.");
+        if (in.getInt() != kVersion)
+            throw new IllegalArgumentException("Graph was written by an unsupported version.");
+
+        int vertexCount = in.getInt();
+        int edgeCount = in.getInt();
+        int recordSize = in.getInt();
+        if (recordSize != codec.recordSize())
+            throw new IllegalArgumentException("Codec does not match the vertex records.");
+        if (vertexCount < 0
+                || edgeCount < 0
+                || in.capacity() < fileSize(vertexCount, edgeCount, recordSize))
+            throw new IllegalArgumentException("Buffer is too small for the graph it holds.");
+
+        int[] offsets = new int[vertexCount + 1];
+        int[] targets = new int[edgeCount];
+        double[] weights = new double[edgeCount];
+
+        in.position(kHeaderBytes);
+        in.asIntBuffer().get(offsets).get(targets);
+        // Both fit in an int, as the buffer holds the whole graph.
+        in.position((int) weightsStart(vertexCount, edgeCount));
+        in.asDoubleBuffer().get(weights);
+
+        // A corrupt graph would otherwise only fail partway through a search.
+        if (offsets[0] != 0 || offsets[vertexCount] != edgeCount)
+            throw new IllegalArgumentException("Graph's edge offsets are corrupt.");
+        for (int v = 0; v < vertexCount; v++)
+            if (offsets[v + 1] < offsets[v])
+                throw new IllegalArgumentException("Graph's edge offsets are corrupt.");
+        for (int target : targets)
+            if (target < 0 || target >= vertexCount)
+                throw new IllegalArgumentException("Graph's edge targets are corrupt.");
+
+        @SuppressWarnings("unchecked")
+        Vertex<T>[] verticies = (Vertex<T>[]) new Vertex<?>[vertexCount];
+        in.position((int) recordsStart(vertexCount, edgeCount));
+        for (int v = 0; v < vertexCount; v++) verticies[v] = Vertex.of(codec.read(in));
+
+        buffer.position(buffer.position() + in.position());
+        return new CompiledGraph<>(verticies, offsets, targets, weights);
+    }
+
+    private static long weightsStart(int vertexCount, int edgeCount) {
+        long end = kHeaderBytes + Integer.BYTES * ((long) vertexCount + 1 + edgeCount);
+        return (end + Double.BYTES - 1) / Double.BYTES * Double.BYTES;
+    }
+
+    private static long recordsStart(int vertexCount, int edgeCount) {
+        return weightsStart(vertexCount, edgeCount) + (long) Double.BYTES * edgeCount;
+    }
+}
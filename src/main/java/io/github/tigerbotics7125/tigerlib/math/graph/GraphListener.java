@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+/**
+ * Listens for changes to a {@link Graph}, verticies are given by their index in the Graph.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public interface GraphListener {
+
+    /**
+     * Called after a Vertex is added.
+     *
+     * @param index Index of the new Vertex.
+     */
+    public default void onVertexAdded(int index) {}
+
+    /**
+     * Called after an edge is added, or its weight or cost multiplier changed.
+     *
+     * @param from Index of the Vertex the edge leaves.
+     * @param to Index of the Vertex the edge enters.
+     */
+    public default void onEdgeChanged(int from, int to) {}
+
+    /**
+     * Called after an edge is removed, by default treated as a change of the edge.
+     *
+     * @param from Index of the Vertex the edge left.
+     * @param to Index of the Vertex the edge entered.
+     */
+    public default void onEdgeRemoved(int from, int to) {
+        onEdgeChanged(from, to);
+    }
+
+    /**
+     * Called after a Vertex is blocked or unblocked.
+     *
+     * @param index Index of the Vertex.
+     * @param blocked Whether the Vertex is now blocked.
+     */
+    public default void onVertexBlocked(int index, boolean blocked) {}
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+/**
+ * A cell of a {@link GridGraph}, addressed by its column and row.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class GridCell {
+
+    private final int mX;
+    private final int mY;
+
+    /**
+     * @param x Column of the cell.
+     * @param y Row of the cell.
+     */
+    public GridCell(int x, int y) {
+        mX = x;
+        mY = y;
+    }
+
+    /**
+     * A shortcut for the constructor.
+     *
+     * @param x Column of the cell.
+     * @param y Row of the cell.
+     * @return A new GridCell.
+     */
+    public static GridCell of(int x, int y) {
+        return new GridCell(x, y);
+    }
+
+    /** @return The column of this cell. */
+    public int getX() {
+        return mX;
+    }
+
+    /** @return The row of this cell. */
+    public int getY() {
+        return mY;
+    }
+
+    public String toString() {
+        return "(" + mX + ", " + mY + ")";
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof GridCell c && c.mX == mX && c.mY == mY;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * mX + mY;
+    }
+}
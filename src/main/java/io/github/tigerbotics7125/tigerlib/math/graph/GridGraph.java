@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import io.github.tigerbotics7125.tigerlib.util.MathUtil;
+import java.util.Arrays;
+
+/**
+ * An 8-connected grid of cells, each of which is either free or blocked. Occupancy is stored as a
+ * packed bitset (one bit per cell), so marking a region blocked does not touch any edges.
+ *
+ * <p>Orthogonal moves cost 1 and diagonal moves cost sqrt(2). A diagonal move is only allowed when
+ * both orthogonal cells it passes are free, so paths never cut the corner of a blocked cell.
+ *
+ * <p>Cell (x, y) has the index {@code x + y * getWidth()}, both here and in {@link #compile()}. It
+ * covers the square from (x, y) to (x + 1, y + 1), so its center is (x + 0.5, y + 0.5).
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class GridGraph {
+
+    private static final double kDiagonalCost = Math.sqrt(2.0);
+
+    private final int mWidth;
+    private final int mHeight;
+
+    // One bit per cell, set if the cell is blocked.
+    private final long[] mOccupancy;
+
+    /**
+     * Creates a new GridGraph with every cell free.
+     *
+     * @param width Number of columns.
+     * @param height Number of rows.
+     */
+    public GridGraph(int width, int height) {
+        if (width <= 0 || height <= 0)
+            throw new IllegalArgumentException("Grid must have a positive width and height.");
+
+        mWidth = width;
+        mHeight = height;
+        mOccupancy = new long[(width * height + 63) >>> 6];
+    }
+
+    /** @return The number of columns. */
+    public int getWidth() {
+        return mWidth;
+    }
+
+    /** @return The number of rows. */
+    public int getHeight() {
+        return mHeight;
+    }
+
+    /** @return The number of cells. */
+    public int size() {
+        return mWidth * mHeight;
+    }
+
+    /**
+     * @param x Column of the cell.
+     * @param y Row of the cell.
+     * @return Whether the cell is within this grid.
+     */
+    public boolean inBounds(int x, int y) {
+        return x >= 0 && y >= 0 && x < mWidth && y < mHeight;
+    }
+
+    /**
+     * @param x Column of the cell.
+     * @param y Row of the cell.
+     * @return The index of the cell.
+     */
+    public int indexOf(int x, int y) {
+        return x + y * mWidth;
+    }
+
+    /**
+     * @param index Index of the cell.
+     * @return The column of the cell.
+     */
+    public int getX(int index) {
+        return index % mWidth;
+    }
+
+    /**
+     * @param index Index of the cell.
+     * @return The row of the cell.
+     */
+    public int getY(int index) {
+        return index / mWidth;
+    }
+
+    /**
+     * @param x Column of the cell.
+     * @param y Row of the cell.
+     * @return Whether the cell is blocked, cells outside the grid are always blocked.
+     */
+    public boolean isBlocked(int x, int y) {
+        if (!inBounds(x, y)) return true;
+        int i = indexOf(x, y);
+        return (mOccupancy[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * @param x Column of the cell.
+     * @param y Row of the cell.
+     * @return Whether the cell is within the grid and not blocked.
+     */
+    public boolean isFree(int x, int y) {
+        return !isBlocked(x, y);
+    }
+
+    /**
+     * @param x Column of the cell.
+     * @param y Row of the cell.
+     * @param blocked Whether the cell is blocked.
+     */
+    public void setBlocked(int x, int y, boolean blocked) {
+        if (!inBounds(x, y)) throw new IndexOutOfBoundsException("Cell is not within the grid.");
+        int i = indexOf(x, y);
+        if (blocked) mOccupancy[i >>> 6] |= 1L << i;
+        else mOccupancy[i >>> 6] &= ~(1L << i);
+    }
+
+    /**
+     * Sets every cell within the rectangle, clamped to the grid.
+     *
+     * @param x0 First column of the rectangle.
+     * @param y0 First row of the rectangle.
+     * @param x1 Last column of the rectangle, inclusive.
+     * @param y1 Last row of the rectangle, inclusive.
+     * @param blocked Whether the cells are blocked.
+     */
+    public void setBlocked(int x0, int y0, int x1, int y1, boolean blocked) {
+        for (int y = Math.max(y0, 0); y <= Math.min(y1, mHeight - 1); y++)
+            for (int x = Math.max(x0, 0); x <= Math.min(x1, mWidth - 1); x++)
+                setBlocked(x, y, blocked);
+    }
+
+    /**
+     * Sets every cell whose center lies within the polygon, using {@link MathUtil#pnpoly(int,
+     * double[], double[], double, double)}.
+     *
+     * @param xs X coordinates of the polygon's verticies, in cells.
+     * @param ys Y coordinates of the polygon's verticies, in cells.
+     * @param blocked Whether the cells are blocked.
+     */
+    public void setBlocked(double[] xs, double[] ys, boolean blocked) {
+        if (xs.length != ys.length)
+            throw new IllegalArgumentException("Polygon must have as many x as y coordinates.");
+        if (xs.length < 3) return;
+
+        double minX = Arrays.stream(xs).min().getAsDouble();
+        double maxX = Arrays.stream(xs).max().getAsDouble();
+        double minY = Arrays.stream(ys).min().getAsDouble();
+        double maxY = Arrays.stream(ys).max().getAsDouble();
+
+        int x0 = Math.max((int) Math.floor(minX - 0.5), 0);
+        int x1 = Math.min((int) Math.ceil(maxX - 0.5), mWidth - 1);
+        int y0 = Math.max((int) Math.floor(minY - 0.5), 0);
+        int y1 = Math.min((int) Math.ceil(maxY - 0.5), mHeight - 1);
+
+        for (int y = y0; y <= y1; y++)
+            for (int x = x0; x <= x1; x++)
+                if (MathUtil.pnpoly(xs.length, xs, ys, x + 0.5, y + 0.5))
+                    setBlocked(x, y, blocked);
+    }
+
+    /**
+     * @param x Column of the cell.
+     * @param y Row of the cell.
+     * @return The Vertex representing the cell.
+     */
+    public Vertex<GridCell> getVertex(int x, int y) {
+        return Vertex.of(GridCell.of(x, y));
+    }
+
+    /**
+     * The octile distance between two cells, which is the exact cost between them on an empty
+     * grid.
+     *
+     * @param from Index of the first cell.
+     * @param to Index of the second cell.
+     * @return The octile distance between the cells.
+     */
+    public double octile(int from, int to) {
+        int dx = Math.abs(getX(from) - getX(to));
+        int dy = Math.abs(getY(from) - getY(to));
+        return Math.max(dx, dy) + (kDiagonalCost - 1.0) * Math.min(dx, dy);
+    }
+
+    /**
+     * The straight line distance between two cell centers.
+     *
+     * @param from Index of the first cell.
+     * @param to Index of the second cell.
+     * @return The Euclidean distance between the cells.
+     */
+    public double euclidean(int from, int to) {
+        return Math.hypot(getX(from) - getX(to), getY(from) - getY(to));
+    }
+
+    /**
+     * Whether the straight line between two cell centers only passes through free cells. Where
+     * the line passes exactly through the corner of a cell, both cells beside the corner must be
+     * free, the same as {@link #canMove(int, int, int, int)}.
+     *
+     * <p>Every cell the line touches is stepped through in order using only integer math, so the
+     * test costs one occupancy lookup per cell.
+     *
+     * @param x0 Column of the first cell.
+     * @param y0 Row of the first cell.
+     * @param x1 Column of the second cell.
+     * @param y1 Row of the second cell.
+     * @return Whether the line of sight between the cells is clear.
+     */
+    public boolean hasLineOfSight(int x0, int y0, int x1, int y1) {
+        if (isBlocked(x0, y0)) return false;
+
+        int nx = Math.abs(x1 - x0), ny = Math.abs(y1 - y0);
+        int sx = Integer.signum(x1 - x0), sy = Integer.signum(y1 - y0);
+
+        int x = x0, y = y0;
+        for (int ix = 0, iy = 0; ix < nx || iy < ny; ) {
+            // Compare where the line next crosses a column (at (0.5 + ix) / nx of the way) and a
+            // row (at (0.5 + iy) / ny of the way) boundary, without dividing.
+            long next = (long) (1 + 2 * ix) * ny - (long) (1 + 2 * iy) * nx;
+            if (next == 0) {
+                // Through a corner.
+                if (isBlocked(x + sx, y) || isBlocked(x, y + sy)) return false;
+                x += sx;
+                y += sy;
+                ix++;
+                iy++;
+            } else if (next < 0) {
+                x += sx;
+                ix++;
+            } else {
+                y += sy;
+                iy++;
+            }
+            if (isBlocked(x, y)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param x Column of the cell.
+     * @param y Row of the cell.
+     * @param dx Column step, -1, 0 or 1.
+     * @param dy Row step, -1, 0 or 1.
+     * @return Whether a single move from the cell in the given direction is allowed.
+     */
+    public boolean canMove(int x, int y, int dx, int dy) {
+        if (isBlocked(x + dx, y + dy)) return false;
+        // diagonals may not cut corners.
+        return dx == 0 || dy == 0 || (isFree(x + dx, y) && isFree(x, y + dy));
+    }
+
+    /**
+     * Compiles the current occupancy into a CompiledGraph, so any of the general planners can
+     * operate over it. Later changes to this grid are not reflected in the returned graph.
+     *
+     * @return A CompiledGraph with a Vertex for every cell, and an edge for every allowed move.
+     */
+    @SuppressWarnings("unchecked")
+    public CompiledGraph<GridCell> compile() {
+        int size = size();
+        Vertex<GridCell>[] verticies = (Vertex<GridCell>[]) new Vertex<?>[size];
+        int[] offsets = new int[size + 1];
+        int[] targets = new int[size * 8];
+        double[] weights = new double[size * 8];
+
+        int e = 0;
+        for (int i = 0; i < size; i++) {
+            int x = getX(i), y = getY(i);
+            verticies[i] = getVertex(x, y);
+            offsets[i] = e;
+            if (isBlocked(x, y)) continue;
+
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    if ((dx == 0 && dy == 0) || !canMove(x, y, dx, dy)) continue;
+                    targets[e] = indexOf(x + dx, y + dy);
+                    weights[e] = dx == 0 || dy == 0 ? 1.0 : kDiagonalCost;
+                    e++;
+                }
+            }
+        }
+        offsets[size] = e;
+
+        return new CompiledGraph<>(
+                verticies, offsets, Arrays.copyOf(targets, e), Arrays.copyOf(weights, e));
+    }
+}
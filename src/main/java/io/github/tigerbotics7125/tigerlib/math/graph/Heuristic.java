@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+/**
+ * A heuristic over the vertex indicies of a {@link CompiledGraph}, it takes two primitive indicies
+ * so calling it does not allocate.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+@FunctionalInterface
+public interface Heuristic {
+
+    /**
+     * @param from Index of the Vertex to estimate from.
+     * @param to Index of the Vertex to estimate to.
+     * @return The estimated travel cost between the two verticies, it must not overestimate.
+     */
+    public double estimate(int from, int to);
+
+    /**
+     * Combines two admissible heuristics, the larger of which is still admissible.
+     *
+     * @param other The heuristic to combine with.
+     * @return A heuristic estimating the larger of this and the other estimate.
+     */
+    public default Heuristic max(Heuristic other) {
+        return (from, to) -> Math.max(estimate(from, to), other.estimate(from, to));
+    }
+}
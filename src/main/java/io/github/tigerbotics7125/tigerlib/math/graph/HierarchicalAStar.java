@@ -0,0 +1,457 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Hierarchical path planning (HPA*) over a {@link CompiledGraph}.
+ *
+ * <p>The graph is partitioned into clusters, such as square regions of the field. Where two
+ * clusters touch, a few transition edges are picked from each entrance (a connected run of
+ * verticies bordering the other cluster), and their endpoints become the nodes of a small abstract
+ * graph. Within each cluster the cost between every pair of its abstract nodes is found once, when
+ * the planner is created.
+ *
+ * <p>A query connects the start and end to the abstract nodes of their clusters, then searches the
+ * abstract graph, so its cost depends on the number of clusters rather than the resolution of the
+ * graph. The result is a {@link HierarchicalPath} of waypoints, whose segments are only refined
+ * into full paths when asked for. Paths are usually within a few percent of optimal.
+ *
+ * <p>Queries reuse the same workspace, so an instance should only be used by one thread at a time.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class HierarchicalAStar<T> {
+
+    // Entrances at least this long get a transition at each end, as well as in the middle.
+    private static final int kLongEntrance = 6;
+
+    // Graph of which this planner will operate over.
+    private final CompiledGraph<T> mGraph;
+
+    // Heuristic between any two vertex indicies.
+    private final Heuristic mHeuristic;
+
+    // Dense cluster of each vertex.
+    private final int[] mCluster;
+
+    // Abstract node of each vertex (-1 if none), and vertex of each abstract node.
+    private final int[] mAbstractOf;
+    private final int[] mVertexOf;
+
+    // Abstract nodes of each cluster, in compressed sparse row form.
+    private final int[] mClusterOffsets;
+    private final int[] mClusterNodes;
+
+    // Edges between abstract nodes, in compressed sparse row form.
+    private final int[] mOffsets;
+    private final int[] mTargets;
+    private final double[] mWeights;
+
+    // Workspaces of the searches within a cluster and the fallback search, and over the abstract
+    // graph.
+    private final SearchState mState;
+    private final SearchState mAbstractState;
+
+    // Edges from the start, and costs to the end, of the current query.
+    private final EdgeBuffer mStartEdges = new EdgeBuffer();
+    private final double[] mEndCosts;
+
+    /**
+     * Creates a planner over a grid, with square clusters.
+     *
+     * @param grid The grid to plan over, later changes to it are not reflected.
+     * @param clusterSize The width and height of each cluster, in cells.
+     * @return A planner over the compiled grid.
+     */
+    public static HierarchicalAStar<GridCell> forGrid(GridGraph grid, int clusterSize) {
+        if (clusterSize <= 0) throw new IllegalArgumentException("Cluster size must be positive.");
+
+        int clustersPerRow = (grid.getWidth() + clusterSize - 1) / clusterSize;
+        return new HierarchicalAStar<>(
+                grid.compile(),
+                grid::octile,
+                v -> grid.getX(v) / clusterSize + grid.getY(v) / clusterSize * clustersPerRow);
+    }
+
+    /**
+     * Creates a planner, finding the costs within every cluster.
+     *
+     * @param graph The CompiledGraph of which this planner will operate over.
+     * @param heuristic The heuristic between any two vertex indicies, it should be consistent.
+     * @param clusterOf The cluster of each vertex index. Clusters should be connected regions of
+     *     similar size.
+     */
+    public HierarchicalAStar(
+            CompiledGraph<T> graph, Heuristic heuristic, IntUnaryOperator clusterOf) {
+        mGraph = graph;
+        mHeuristic = heuristic;
+        int size = graph.size();
+
+        // Number the clusters densely.
+        mCluster = new int[size];
+        Map<Integer, Integer> clusterIds = new HashMap<>();
+        for (int v = 0; v < size; v++) {
+            Integer id = clusterIds.putIfAbsent(clusterOf.applyAsInt(v), clusterIds.size());
+            mCluster[v] = id == null ? clusterIds.size() - 1 : id;
+        }
+        int clusterCount = clusterIds.size();
+
+        mState = new SearchState(size);
+
+        // Transitions between clusters become the abstract nodes and the edges between them.
+        mAbstractOf = new int[size];
+        Arrays.fill(mAbstractOf, -1);
+        EdgeBuffer transitions = findTransitions();
+
+        int nodeCount = 0;
+        for (int v = 0; v < size; v++) if (mAbstractOf[v] != -1) mAbstractOf[v] = nodeCount++;
+        mVertexOf = new int[nodeCount];
+        for (int v = 0; v < size; v++) if (mAbstractOf[v] != -1) mVertexOf[mAbstractOf[v]] = v;
+
+        mClusterOffsets = new int[clusterCount + 1];
+        for (int node = 0; node < nodeCount; node++) mClusterOffsets[clusterOfNode(node) + 1]++;
+        for (int c = 0; c < clusterCount; c++) mClusterOffsets[c + 1] += mClusterOffsets[c];
+        mClusterNodes = new int[nodeCount];
+        int[] next = Arrays.copyOf(mClusterOffsets, clusterCount);
+        for (int node = 0; node < nodeCount; node++)
+            mClusterNodes[next[clusterOfNode(node)]++] = node;
+
+        // Abstract edges: the transitions, and the cost between the nodes of each cluster.
+        EdgeBuffer edges = new EdgeBuffer();
+        for (int i = 0; i < transitions.mSize; i++)
+            edges.add(
+                    mAbstractOf[transitions.mFrom[i]],
+                    mAbstractOf[transitions.mTo[i]],
+                    transitions.mWeights[i]);
+        for (int node = 0; node < nodeCount; node++) {
+            clusterSearch(mGraph, mVertexOf[node], -1, mState);
+            int cluster = clusterOfNode(node);
+            for (int i = mClusterOffsets[cluster]; i < mClusterOffsets[cluster + 1]; i++) {
+                int other = mClusterNodes[i];
+                double cost = mState.getG(mVertexOf[other]);
+                if (other != node && cost < Double.POSITIVE_INFINITY) edges.add(node, other, cost);
+            }
+        }
+
+        mOffsets = new int[nodeCount + 1];
+        for (int i = 0; i < edges.mSize; i++) mOffsets[edges.mFrom[i] + 1]++;
+        for (int node = 0; node < nodeCount; node++) mOffsets[node + 1] += mOffsets[node];
+        mTargets = new int[edges.mSize];
+        mWeights = new double[edges.mSize];
+        next = Arrays.copyOf(mOffsets, nodeCount);
+        for (int i = 0; i < edges.mSize; i++) {
+            int e = next[edges.mFrom[i]]++;
+            mTargets[e] = edges.mTo[i];
+            mWeights[e] = edges.mWeights[i];
+        }
+
+        // The start and end of a query are two extra nodes.
+        mAbstractState = new SearchState(nodeCount + 2);
+        mEndCosts = new double[nodeCount];
+        Arrays.fill(mEndCosts, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Groups the verticies bordering each neighboring cluster into entrances, and picks the
+     * transition edges of each entrance, marking their endpoints in mAbstractOf.
+     *
+     * @return The transition edges, by vertex index.
+     */
+    private EdgeBuffer findTransitions() {
+        int size = mGraph.size();
+
+        // Every (vertex, neighboring cluster) pair where the vertex borders the cluster.
+        Map<Long, Integer> borderIds = new HashMap<>();
+        List<long[]> borders = new ArrayList<>();
+        for (int v = 0; v < size; v++) {
+            for (int e = mGraph.getEdgeStart(v); e < mGraph.getEdgeEnd(v); e++) {
+                int other = mCluster[mGraph.getEdgeTarget(e)];
+                if (other == mCluster[v]) continue;
+                if (borderIds.putIfAbsent(key(v, other), borders.size()) == null)
+                    borders.add(new long[] {v, other});
+            }
+        }
+
+        // Neighboring verticies of a cluster which border the same cluster form one entrance.
+        int[] parent = new int[borders.size()];
+        for (int i = 0; i < parent.length; i++) parent[i] = i;
+        for (int i = 0; i < borders.size(); i++) {
+            int v = (int) borders.get(i)[0], other = (int) borders.get(i)[1];
+            for (int e = mGraph.getEdgeStart(v); e < mGraph.getEdgeEnd(v); e++) {
+                int neighbor = mGraph.getEdgeTarget(e);
+                if (mCluster[neighbor] != mCluster[v]) continue;
+                Integer j = borderIds.get(key(neighbor, other));
+                if (j != null) parent[find(parent, i)] = find(parent, j);
+            }
+        }
+
+        // Members of each entrance, in order of vertex index.
+        Map<Integer, List<Integer>> entrances = new HashMap<>();
+        for (int i = 0; i < borders.size(); i++)
+            entrances.computeIfAbsent(find(parent, i), k -> new ArrayList<>()).add(i);
+
+        EdgeBuffer transitions = new EdgeBuffer();
+        for (List<Integer> members : entrances.values()) {
+            int count = members.size();
+            addTransition(borders.get(members.get(count / 2)), transitions);
+            if (count >= kLongEntrance) {
+                addTransition(borders.get(members.get(0)), transitions);
+                addTransition(borders.get(members.get(count - 1)), transitions);
+            }
+        }
+        return transitions;
+    }
+
+    /** Adds the cheapest edge from the bordering vertex into the neighboring cluster. */
+    private void addTransition(long[] border, EdgeBuffer transitions) {
+        int v = (int) border[0], other = (int) border[1];
+
+        int best = -1;
+        for (int e = mGraph.getEdgeStart(v); e < mGraph.getEdgeEnd(v); e++)
+            if (mCluster[mGraph.getEdgeTarget(e)] == other
+                    && (best == -1 || mGraph.getEdgeWeight(e) < mGraph.getEdgeWeight(best)))
+                best = e;
+
+        int target = mGraph.getEdgeTarget(best);
+        mAbstractOf[v] = 0;
+        mAbstractOf[target] = 0;
+        transitions.add(v, target, mGraph.getEdgeWeight(best));
+    }
+
+    private static long key(int v, int cluster) {
+        return ((long) v << 32) | (cluster & 0xffffffffL);
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) i = parent[i] = parent[parent[i]];
+        return i;
+    }
+
+    private int clusterOfNode(int node) {
+        return mCluster[mVertexOf[node]];
+    }
+
+    /** @return The CompiledGraph this planner operates over. */
+    public CompiledGraph<T> getGraph() {
+        return mGraph;
+    }
+
+    /** @return The number of nodes of the abstract graph. */
+    public int getAbstractSize() {
+        return mVertexOf.length;
+    }
+
+    /**
+     * @param start The starting Vertex.
+     * @param end The ending, goal Vertex.
+     * @return The path between start and end, refined as it is used.
+     */
+    public HierarchicalPath<T> plan(Vertex<T> start, Vertex<T> end) {
+        int startIndex = mGraph.indexOf(start);
+        int endIndex = mGraph.indexOf(end);
+
+        if (startIndex < 0)
+            throw new IllegalArgumentException("Graph must contain starting vertex");
+        if (endIndex < 0) throw new IllegalArgumentException("Graph must contain ending vertex");
+
+        return plan(startIndex, endIndex);
+    }
+
+    /**
+     * @param start Index of the starting Vertex.
+     * @param end Index of the ending, goal Vertex.
+     * @return The path between start and end, refined as it is used.
+     */
+    public HierarchicalPath<T> plan(int start, int end) {
+        int nodeCount = mVertexOf.length;
+        int startNode = nodeCount, endNode = nodeCount + 1;
+        int startCluster = mCluster[start], endCluster = mCluster[end];
+
+        // Connect the start to the abstract nodes of its cluster, and to the end if it is near.
+        clusterSearch(mGraph, start, -1, mState);
+        mStartEdges.clear();
+        for (int i = mClusterOffsets[startCluster]; i < mClusterOffsets[startCluster + 1]; i++) {
+            int node = mClusterNodes[i];
+            double cost = mState.getG(mVertexOf[node]);
+            if (cost < Double.POSITIVE_INFINITY) mStartEdges.add(startNode, node, cost);
+        }
+        if (mState.getG(end) < Double.POSITIVE_INFINITY)
+            mStartEdges.add(startNode, endNode, mState.getG(end));
+
+        // Connect the abstract nodes of the end's cluster to the end.
+        clusterSearch(mGraph.getReverse(), end, -1, mState);
+        for (int i = mClusterOffsets[endCluster]; i < mClusterOffsets[endCluster + 1]; i++) {
+            int node = mClusterNodes[i];
+            mEndCosts[node] = mState.getG(mVertexOf[node]);
+        }
+
+        abstractSearch(startNode, endNode, end);
+
+        for (int i = mClusterOffsets[endCluster]; i < mClusterOffsets[endCluster + 1]; i++)
+            mEndCosts[mClusterNodes[i]] = Double.POSITIVE_INFINITY;
+
+        if (mAbstractState.isClosed(endNode)) {
+            // Walk back from the end, turning abstract nodes back into verticies.
+            int length = 0;
+            for (int n = endNode; n != -1; n = mAbstractState.getCameFrom(n)) length++;
+            int[] waypoints = new int[length];
+            for (int n = endNode; n != -1; n = mAbstractState.getCameFrom(n))
+                waypoints[--length] = n == startNode ? start : n == endNode ? end : mVertexOf[n];
+
+            return new HierarchicalPath<>(
+                    this, dropRepeats(waypoints), mAbstractState.getG(endNode));
+        }
+
+        // Entrances are only a sample of the border, so in rare layouts they miss a path which
+        // exists. Fall back to a full search, every vertex of which is then a waypoint. The
+        // cluster searches are done with mState by now, so it is reused.
+        SearchState state = mState;
+        CompiledAStar.search(mGraph, mHeuristic, start, end, state);
+        if (!state.isClosed(end))
+            throw new IllegalArgumentException(
+                    "Graph does not contain a valid path between start and end.");
+
+        int length = 0;
+        for (int v = end; v != -1; v = state.getCameFrom(v)) length++;
+        int[] waypoints = new int[length];
+        for (int v = end; v != -1; v = state.getCameFrom(v)) waypoints[--length] = v;
+        return new HierarchicalPath<>(this, waypoints, state.getG(end));
+    }
+
+    /** A* over the abstract graph, with the query's start and end nodes added. */
+    private void abstractSearch(int startNode, int endNode, int end) {
+        mAbstractState.reset(mVertexOf.length + 2);
+        IndexedMinHeap openQueue = mAbstractState.getOpenQueue();
+
+        mAbstractState.set(startNode, 0.0, 0.0, -1);
+        openQueue.offer(startNode, 0.0);
+
+        while (!openQueue.isEmpty()) {
+            int current = openQueue.poll();
+            mAbstractState.close(current);
+            if (current == endNode) return;
+
+            double currentG = mAbstractState.getG(current);
+            if (current == startNode) {
+                for (int i = 0; i < mStartEdges.mSize; i++)
+                    relax(current, currentG, mStartEdges.mTo[i], mStartEdges.mWeights[i], end);
+                continue;
+            }
+
+            for (int e = mOffsets[current]; e < mOffsets[current + 1]; e++)
+                relax(current, currentG, mTargets[e], mWeights[e], end);
+            if (mEndCosts[current] < Double.POSITIVE_INFINITY)
+                relax(current, currentG, endNode, mEndCosts[current], end);
+        }
+    }
+
+    private void relax(int current, double currentG, int child, double weight, int end) {
+        if (mAbstractState.isClosed(child)) return;
+
+        double tentativeG = currentG + weight;
+        if (tentativeG < mAbstractState.getG(child)) {
+            double fCost =
+                    tentativeG
+                            + (child < mVertexOf.length
+                                    ? mHeuristic.estimate(mVertexOf[child], end)
+                                    : 0.0);
+            mAbstractState.set(child, tentativeG, fCost, current);
+            mAbstractState.getOpenQueue().offer(child, fCost);
+        }
+    }
+
+    private static int[] dropRepeats(int[] waypoints) {
+        int n = 0;
+        for (int i = 0; i < waypoints.length; i++)
+            if (n == 0 || waypoints[n - 1] != waypoints[i]) waypoints[n++] = waypoints[i];
+        return Arrays.copyOf(waypoints, n);
+    }
+
+    /**
+     * Refines a segment of a path into every vertex along it.
+     *
+     * @param from Index of the first waypoint.
+     * @param to Index of the second waypoint, an edge away or in the same cluster.
+     * @return The verticies from the first waypoint to the second, inclusive.
+     */
+    List<Vertex<T>> refine(int from, int to) {
+        if (mCluster[from] != mCluster[to])
+            return List.of(mGraph.getVertex(from), mGraph.getVertex(to));
+
+        clusterSearch(mGraph, from, to, mState);
+        return CompiledAStar.genPath(mGraph, mState, to);
+    }
+
+    /**
+     * Searches from the source without leaving its cluster. Searches to a target are guided by
+     * the heuristic, and stop at the target.
+     *
+     * @param graph The graph to search, this planner's graph or its reverse.
+     * @param source Index of the Vertex to search from.
+     * @param target Index of the Vertex to search to, -1 to reach the whole cluster.
+     * @param state The state to search with, it is reset first.
+     */
+    private void clusterSearch(CompiledGraph<T> graph, int source, int target, SearchState state) {
+        int cluster = mCluster[source];
+        state.reset(graph.size());
+        IndexedMinHeap openQueue = state.getOpenQueue();
+
+        state.set(source, 0.0, 0.0, -1);
+        openQueue.offer(source, 0.0);
+
+        while (!openQueue.isEmpty()) {
+            int current = openQueue.poll();
+            state.close(current);
+            if (current == target) return;
+
+            double currentG = state.getG(current);
+            for (int e = graph.getEdgeStart(current); e < graph.getEdgeEnd(current); e++) {
+                int child = graph.getEdgeTarget(e);
+                if (mCluster[child] != cluster || state.isClosed(child)) continue;
+
+                double tentativeG = currentG + graph.getEdgeWeight(e);
+                if (tentativeG < state.getG(child)) {
+                    double fCost =
+                            tentativeG + (target == -1 ? 0.0 : mHeuristic.estimate(child, target));
+                    state.set(child, tentativeG, fCost, current);
+                    openQueue.offer(child, fCost);
+                }
+            }
+        }
+    }
+
+    /** Growable list of weighted edges. */
+    private static final class EdgeBuffer {
+        private int[] mFrom = new int[16];
+        private int[] mTo = new int[16];
+        private double[] mWeights = new double[16];
+        private int mSize;
+
+        void add(int from, int to, double weight) {
+            if (mSize == mFrom.length) {
+                mFrom = Arrays.copyOf(mFrom, mSize * 2);
+                mTo = Arrays.copyOf(mTo, mSize * 2);
+                mWeights = Arrays.copyOf(mWeights, mSize * 2);
+            }
+            mFrom[mSize] = from;
+            mTo[mSize] = to;
+            mWeights[mSize] = weight;
+            mSize++;
+        }
+
+        void clear() {
+            mSize = 0;
+        }
+    }
+}
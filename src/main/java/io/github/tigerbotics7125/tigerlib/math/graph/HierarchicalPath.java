@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A path found by {@link HierarchicalAStar}, as a list of waypoints. Each segment between two
+ * waypoints is only refined into every vertex along it when it is first asked for, so segments
+ * which are never driven (because the path is replanned first) cost nothing.
+ *
+ * <p>Refining uses the planner's workspace, so it should happen on the planner's thread.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class HierarchicalPath<T> {
+
+    private final HierarchicalAStar<T> mPlanner;
+
+    // Vertex index of each waypoint, start to end.
+    private final int[] mWaypoints;
+
+    private final double mCost;
+
+    // Segments refined so far, null until asked for.
+    private final List<List<Vertex<T>>> mSegments;
+
+    /**
+     * @param planner The planner which found the path.
+     * @param waypoints Vertex index of each waypoint, start to end.
+     * @param cost The travel cost of the path.
+     */
+    HierarchicalPath(HierarchicalAStar<T> planner, int[] waypoints, double cost) {
+        mPlanner = planner;
+        mWaypoints = waypoints;
+        mCost = cost;
+        mSegments = new ArrayList<>(waypoints.length);
+        for (int i = 1; i < waypoints.length; i++) mSegments.add(null);
+    }
+
+    /** @return The travel cost of the whole path. */
+    public double getCost() {
+        return mCost;
+    }
+
+    /** @return The waypoints of the path, start to end. */
+    public List<Vertex<T>> getWaypoints() {
+        List<Vertex<T>> waypoints = new ArrayList<>(mWaypoints.length);
+        for (int v : mWaypoints) waypoints.add(mPlanner.getGraph().getVertex(v));
+        return waypoints;
+    }
+
+    /** @return The number of segments between waypoints. */
+    public int getSegmentCount() {
+        return mSegments.size();
+    }
+
+    /**
+     * @param segment Index of the segment, the first is from the start to the second waypoint.
+     * @return Every vertex along the segment, from its first waypoint to its second, inclusive.
+     */
+    public List<Vertex<T>> getSegment(int segment) {
+        List<Vertex<T>> path = mSegments.get(segment);
+        if (path == null) {
+            path = List.copyOf(mPlanner.refine(mWaypoints[segment], mWaypoints[segment + 1]));
+            mSegments.set(segment, path);
+        }
+        return path;
+    }
+
+    /**
+     * Refines every segment which has not been yet.
+     *
+     * @return Every vertex along the path, start to end.
+     */
+    public List<Vertex<T>> toList() {
+        List<Vertex<T>> path = new ArrayList<>();
+        path.add(mPlanner.getGraph().getVertex(mWaypoints[0]));
+        for (int i = 0; i < getSegmentCount(); i++) {
+            List<Vertex<T>> segment = getSegment(i);
+            path.addAll(segment.subList(1, segment.size()));
+        }
+        return path;
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import java.util.Arrays;
+
+/**
+ * A binary min heap of int indicies ordered by double keys (and then by an optional second key to
+ * break ties), where each index can be in the heap at most once. Because the heap tracks where
+ * each index is, keys can be changed in place (decrease key) rather than offering the index again,
+ * and the heap owns the keys so they can never change underneath it.
+ *
+ * <p>Everything is stored in primitive arrays so no operation allocates, besides growing.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class IndexedMinHeap {
+
+    // Index held at each heap position.
+    private int[] mHeap;
+
+    // Key of each index.
+    private double[] mKeys;
+
+    // Second key of each index, only compared when keys are equal.
+    private double[] mTieBreaks;
+
+    // Heap position of each index, -1 if not in the heap.
+    private int[] mPositions;
+
+    private int mSize;
+
+    /** @param capacity The number of indicies, [0, capacity), the heap can initially hold. */
+    public IndexedMinHeap(int capacity) {
+        capacity = Math.max(capacity, 1);
+        mHeap = new int[capacity];
+        mKeys = new double[capacity];
+        mTieBreaks = new double[capacity];
+        mPositions = new int[capacity];
+        Arrays.fill(mPositions, -1);
+    }
+
+    /**
+     * Grows the heap so it can hold the indicies [0, capacity).
+     *
+     * @param capacity The number of indicies the heap must be able to hold.
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity <= mPositions.length) return;
+
+        int newCapacity = Math.max(capacity, mPositions.length * 2);
+        int oldCapacity = mPositions.length;
+        mHeap = Arrays.copyOf(mHeap, newCapacity);
+        mKeys = Arrays.copyOf(mKeys, newCapacity);
+        mTieBreaks = Arrays.copyOf(mTieBreaks, newCapacity);
+        mPositions = Arrays.copyOf(mPositions, newCapacity);
+        Arrays.fill(mPositions, oldCapacity, newCapacity, -1);
+    }
+
+    /** @return The number of indicies in the heap. */
+    public int size() {
+        return mSize;
+    }
+
+    /** @return Whether the heap is empty. */
+    public boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    /**
+     * Gives access to every index in the heap, in no particular order.
+     *
+     * @param position Position in the heap, in [0, size()).
+     * @return The index at the position.
+     */
+    public int indexAt(int position) {
+        if (position >= mSize) throw new IndexOutOfBoundsException("Position is past the heap.");
+        return mHeap[position];
+    }
+
+    /**
+     * @param index Index to search for.
+     * @return Whether the index is in the heap.
+     */
+    public boolean contains(int index) {
+        return index < mPositions.length && mPositions[index] != -1;
+    }
+
+    /**
+     * @param index Index in the heap.
+     * @return The key of the index.
+     */
+    public double getKey(int index) {
+        return mKeys[index];
+    }
+
+    /**
+     * @param index Index in the heap.
+     * @return The second key of the index.
+     */
+    public double getTieBreak(int index) {
+        return mTieBreaks[index];
+    }
+
+    /** Removes all indicies from the heap, in time proportional to its size. */
+    public void clear() {
+        for (int i = 0; i < mSize; i++) mPositions[mHeap[i]] = -1;
+        mSize = 0;
+    }
+
+    /** @return The index with the smallest key, without removing it. */
+    public int peek() {
+        if (mSize == 0) throw new IllegalStateException("Heap is empty.");
+        return mHeap[0];
+    }
+
+    /** @return The smallest key in the heap, +inf if the heap is empty. */
+    public double peekKey() {
+        return mSize == 0 ? Double.POSITIVE_INFINITY : mKeys[mHeap[0]];
+    }
+
+    /**
+     * Adds the index to the heap, or changes its key if it is already in the heap.
+     *
+     * @param index The index to add.
+     * @param key The key to order the index by.
+     */
+    public void offer(int index, double key) {
+        offer(index, key, 0.0);
+    }
+
+    /**
+     * Adds the index to the heap, or changes its keys if it is already in the heap.
+     *
+     * @param index The index to add.
+     * @param key The key to order the index by.
+     * @param tieBreak The second key to order the index by, when keys are equal.
+     */
+    public void offer(int index, double key, double tieBreak) {
+        ensureCapacity(index + 1);
+
+        int pos = mPositions[index];
+        if (pos == -1) {
+            pos = mSize++;
+            mHeap[pos] = index;
+            mPositions[index] = pos;
+            mKeys[index] = key;
+            mTieBreaks[index] = tieBreak;
+            siftUp(pos);
+        } else {
+            boolean decreased =
+                    key < mKeys[index] || (key == mKeys[index] && tieBreak < mTieBreaks[index]);
+            mKeys[index] = key;
+            mTieBreaks[index] = tieBreak;
+            if (decreased) siftUp(pos);
+            else siftDown(pos);
+        }
+    }
+
+    /**
+     * Lowers the key of an index already in the heap.
+     *
+     * @param index The index to change.
+     * @param key The new key, it must not be larger than the current key.
+     */
+    public void decreaseKey(int index, double key) {
+        if (!contains(index)) throw new IllegalArgumentException("Index is not in the heap.");
+        if (key > mKeys[index]) throw new IllegalArgumentException("Key may only decrease.");
+
+        mKeys[index] = key;
+        siftUp(mPositions[index]);
+    }
+
+    /** @return The index with the smallest key, which is removed from the heap. */
+    public int poll() {
+        int result = peek();
+        removeAt(0);
+        return result;
+    }
+
+    /**
+     * Removes the index from the heap if present.
+     *
+     * @param index The index to remove.
+     */
+    public void remove(int index) {
+        if (contains(index)) removeAt(mPositions[index]);
+    }
+
+    private void removeAt(int pos) {
+        int removed = mHeap[pos];
+        mPositions[removed] = -1;
+
+        int last = mHeap[--mSize];
+        if (pos == mSize) return;
+
+        mHeap[pos] = last;
+        mPositions[last] = pos;
+        if (less(last, removed)) siftUp(pos);
+        else siftDown(pos);
+    }
+
+    /** @return Whether index a is ordered strictly before index b. */
+    private boolean less(int a, int b) {
+        return mKeys[a] < mKeys[b] || (mKeys[a] == mKeys[b] && mTieBreaks[a] < mTieBreaks[b]);
+    }
+
+    private void siftUp(int pos) {
+        int index = mHeap[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            int parentIndex = mHeap[parent];
+            if (!less(index, parentIndex)) break;
+            mHeap[pos] = parentIndex;
+            mPositions[parentIndex] = pos;
+            pos = parent;
+        }
+        mHeap[pos] = index;
+        mPositions[index] = pos;
+    }
+
+    private void siftDown(int pos) {
+        int index = mHeap[pos];
+        int half = mSize >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            if (child + 1 < mSize && less(mHeap[child + 1], mHeap[child])) child++;
+            int childIndex = mHeap[child];
+            if (!less(childIndex, index)) break;
+            mHeap[pos] = childIndex;
+            mPositions[childIndex] = pos;
+            pos = child;
+        }
+        mHeap[pos] = index;
+        mPositions[index] = pos;
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Jump Point Search over a {@link GridGraph}. Rather than expanding every cell, it jumps in
+ * straight lines until it reaches a cell with a forced neighbor (a neighbor which can only be
+ * reached optimally through that cell), so the many symmetric paths of a uniform grid are never
+ * explored. Results are the same as {@link AStar} over {@link GridGraph#compile()}: a list of
+ * every cell, start to end, along an optimal path.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class JumpPointSearch {
+
+    // Grid of which this instance will operate over.
+    private final GridGraph mGrid;
+
+    // Costs and "cameFrom" jump points, by cell index.
+    private final SearchState mState;
+
+    // Index of the goal cell of the current search.
+    private int mEnd;
+
+    /** @param grid The GridGraph of which this instance will operate over. */
+    public JumpPointSearch(GridGraph grid) {
+        mGrid = grid;
+        mState = new SearchState(grid.size());
+    }
+
+    /**
+     * @param start The starting cell.
+     * @param end The ending, goal cell.
+     * @return The list of cells, start to end, which represents the most cost effecient way of
+     *     traversing the grid.
+     */
+    public List<Vertex<GridCell>> astar(Vertex<GridCell> start, Vertex<GridCell> end) {
+        GridCell s = start.getData(), e = end.getData();
+
+        if (mGrid.isBlocked(s.getX(), s.getY()))
+            throw new IllegalArgumentException("Starting cell must be a free cell of the grid");
+        if (mGrid.isBlocked(e.getX(), e.getY()))
+            throw new IllegalArgumentException("Ending cell must be a free cell of the grid");
+
+        int startIndex = mGrid.indexOf(s.getX(), s.getY());
+        mEnd = mGrid.indexOf(e.getX(), e.getY());
+
+        mState.reset(mGrid.size());
+        IndexedMinHeap openQueue = mState.getOpenQueue();
+
+        mState.set(startIndex, 0.0, mGrid.octile(startIndex, mEnd), -1);
+        openQueue.offer(startIndex, mState.getF(startIndex));
+
+        while (!openQueue.isEmpty()) {
+            int current = openQueue.poll();
+            mState.close(current);
+
+            if (current == mEnd) return genPath(current);
+
+            int x = mGrid.getX(current), y = mGrid.getY(current);
+            int parent = mState.getCameFrom(current);
+
+            if (parent == -1) {
+                // The start has no direction of travel, so try every direction.
+                for (int dy = -1; dy <= 1; dy++)
+                    for (int dx = -1; dx <= 1; dx++)
+                        if ((dx != 0 || dy != 0) && mGrid.canMove(x, y, dx, dy))
+                            jumpFrom(current, x, y, dx, dy);
+                continue;
+            }
+
+            int dx = Integer.signum(x - mGrid.getX(parent));
+            int dy = Integer.signum(y - mGrid.getY(parent));
+
+            if (dx != 0 && dy != 0) {
+                // Diagonal: continue diagonally, and along both of its components.
+                boolean vertical = mGrid.isFree(x, y + dy);
+                boolean horizontal = mGrid.isFree(x + dx, y);
+                if (vertical) jumpFrom(current, x, y, 0, dy);
+                if (horizontal) jumpFrom(current, x, y, dx, 0);
+                if (vertical && horizontal) jumpFrom(current, x, y, dx, dy);
+            } else if (dx != 0) {
+                // Horizontal: continue straight, and consider both sides as they may be forced.
+                boolean next = mGrid.isFree(x + dx, y);
+                boolean up = mGrid.isFree(x, y + 1);
+                boolean down = mGrid.isFree(x, y - 1);
+                if (next) {
+                    jumpFrom(current, x, y, dx, 0);
+                    if (up) jumpFrom(current, x, y, dx, 1);
+                    if (down) jumpFrom(current, x, y, dx, -1);
+                }
+                if (up) jumpFrom(current, x, y, 0, 1);
+                if (down) jumpFrom(current, x, y, 0, -1);
+            } else {
+                // Vertical: same as horizontal, rotated.
+                boolean next = mGrid.isFree(x, y + dy);
+                boolean right = mGrid.isFree(x + 1, y);
+                boolean left = mGrid.isFree(x - 1, y);
+                if (next) {
+                    jumpFrom(current, x, y, 0, dy);
+                    if (right) jumpFrom(current, x, y, 1, dy);
+                    if (left) jumpFrom(current, x, y, -1, dy);
+                }
+                if (right) jumpFrom(current, x, y, 1, 0);
+                if (left) jumpFrom(current, x, y, -1, 0);
+            }
+        }
+        throw new IllegalArgumentException(
+                "Grid does not contain a valid path between start and end.");
+    }
+
+    /**
+     * Jumps from the cell in the given direction, and adds the jump point found (if any) to the
+     * open queue.
+     */
+    private void jumpFrom(int current, int x, int y, int dx, int dy) {
+        int jumpPoint = jump(x + dx, y + dy, dx, dy);
+        if (jumpPoint == -1 || mState.isClosed(jumpPoint)) return;
+
+        double tentativeG = mState.getG(current) + mGrid.octile(current, jumpPoint);
+        if (tentativeG < mState.getG(jumpPoint)) {
+            double fCost = tentativeG + mGrid.octile(jumpPoint, mEnd);
+            mState.set(jumpPoint, tentativeG, fCost, current);
+            mState.getOpenQueue().offer(jumpPoint, fCost);
+        }
+    }
+
+    /**
+     * Steps from (x, y) in the given direction until a jump point is found.
+     *
+     * @return The index of the jump point, or -1 if the direction is a dead end.
+     */
+    private int jump(int x, int y, int dx, int dy) {
+        while (true) {
+            if (mGrid.isBlocked(x, y)) return -1;
+
+            int index = mGrid.indexOf(x, y);
+            if (index == mEnd) return index;
+
+            if (dx != 0 && dy != 0) {
+                // A diagonal stops wherever one of its components would find a jump point.
+                if (jump(x + dx, y, dx, 0) != -1 || jump(x, y + dy, 0, dy) != -1) return index;
+            } else if (dx != 0) {
+                // Forced neighbor: a side cell is free, but the cell behind it is blocked.
+                if ((mGrid.isFree(x, y + 1) && mGrid.isBlocked(x - dx, y + 1))
+                        || (mGrid.isFree(x, y - 1) && mGrid.isBlocked(x - dx, y - 1)))
+                    return index;
+            } else {
+                if ((mGrid.isFree(x + 1, y) && mGrid.isBlocked(x + 1, y - dy))
+                        || (mGrid.isFree(x - 1, y) && mGrid.isBlocked(x - 1, y - dy)))
+                    return index;
+            }
+
+            if (!mGrid.canMove(x, y, dx, dy)) return -1;
+            x += dx;
+            y += dy;
+        }
+    }
+
+    /**
+     * @param end Index of the last jump point in the path.
+     * @return Every cell along the path which leads to the given jump point.
+     */
+    private List<Vertex<GridCell>> genPath(int end) {
+        LinkedList<Vertex<GridCell>> path = new LinkedList<>();
+        int x = mGrid.getX(end), y = mGrid.getY(end);
+        path.add(mGrid.getVertex(x, y));
+
+        for (int parent = mState.getCameFrom(end); parent != -1; ) {
+            int px = mGrid.getX(parent), py = mGrid.getY(parent);
+            int dx = Integer.signum(px - x), dy = Integer.signum(py - y);
+
+            // Jump points are connected by straight or diagonal lines, so walk back along it.
+            while (x != px || y != py) {
+                x += dx;
+                y += dy;
+                path.addFirst(mGrid.getVertex(x, y));
+            }
+            parent = mState.getCameFrom(parent);
+        }
+        return path;
+    }
+}
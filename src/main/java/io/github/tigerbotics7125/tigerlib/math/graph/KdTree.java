@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import java.util.Arrays;
+
+/**
+ * A 2d tree over a fixed set of points, for finding the point nearest a position in logarithmic
+ * time rather than by scanning every point.
+ *
+ * <p>The tree is stored implicitly in one array of point indicies: the node of the range {@code
+ * [lo, hi)} is at its middle, splitting the points before and after it by x or y, alternating with
+ * depth. Queries do not allocate, results are written to arrays given by the caller, and may run
+ * on any number of threads at once.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class KdTree {
+
+    // Coordinates of each point, by point index.
+    private final double[] mXs;
+    private final double[] mYs;
+
+    // Point indicies, in tree order.
+    private final int[] mTree;
+
+    /**
+     * Creates a tree over the points, which are copied.
+     *
+     * @param xs X coordinate of each point.
+     * @param ys Y coordinate of each point.
+     */
+    public KdTree(double[] xs, double[] ys) {
+        this(Arrays.copyOf(xs, xs.length), Arrays.copyOf(ys, xs.length), xs.length);
+        if (xs.length != ys.length)
+            throw new IllegalArgumentException("There must be as many x as y coordinates.");
+    }
+
+    /**
+     * Creates a tree over the first points, without copying them. The caller must not change
+     * those points while the tree is in use, though it may append to the arrays.
+     *
+     * @param xs X coordinate of each point.
+     * @param ys Y coordinate of each point.
+     * @param size How many of the points to include.
+     */
+    KdTree(double[] xs, double[] ys, int size) {
+        mXs = xs;
+        mYs = ys;
+        mTree = new int[size];
+        for (int i = 0; i < mTree.length; i++) mTree[i] = i;
+
+        build(0, mTree.length, true);
+    }
+
+    private void build(int lo, int hi, boolean xAxis) {
+        if (hi - lo <= 1) return;
+        int mid = (lo + hi) >>> 1;
+        select(lo, hi, mid, xAxis);
+        build(lo, mid, !xAxis);
+        build(mid + 1, hi, !xAxis);
+    }
+
+    /** Partially sorts the range, so position k holds the point it would if fully sorted. */
+    private void select(int lo, int hi, int k, boolean xAxis) {
+        double[] coords = xAxis ? mXs : mYs;
+        hi--;
+        while (lo < hi) {
+            double pivot = coords[mTree[(lo + hi) >>> 1]];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (coords[mTree[i]] < pivot) i++;
+                while (coords[mTree[j]] > pivot) j--;
+                if (i <= j) {
+                    int swap = mTree[i];
+                    mTree[i++] = mTree[j];
+                    mTree[j--] = swap;
+                }
+            }
+            if (k <= j) hi = j;
+            else if (k >= i) lo = i;
+            else return;
+        }
+    }
+
+    /** @return The number of points. */
+    public int size() {
+        return mTree.length;
+    }
+
+    /**
+     * @param point Index of the point.
+     * @return The x coordinate of the point.
+     */
+    public double getX(int point) {
+        return mXs[point];
+    }
+
+    /**
+     * @param point Index of the point.
+     * @return The y coordinate of the point.
+     */
+    public double getY(int point) {
+        return mYs[point];
+    }
+
+    /**
+     * @param x X coordinate of the position.
+     * @param y Y coordinate of the position.
+     * @return The index of the point nearest the position, -1 if there are no points.
+     */
+    public int nearest(double x, double y) {
+        return nearest(0, mTree.length, true, x, y, -1);
+    }
+
+    private int nearest(int lo, int hi, boolean xAxis, double x, double y, int best) {
+        if (lo >= hi) return best;
+
+        int mid = (lo + hi) >>> 1;
+        int point = mTree[mid];
+        if (best == -1 || distanceSquared(point, x, y) < distanceSquared(best, x, y)) best = point;
+
+        // Search the side of the split holding the position first, then the other side only if
+        // the split is nearer than the best point so far.
+        double delta = xAxis ? x - mXs[point] : y - mYs[point];
+        if (delta < 0.0) {
+            best = nearest(lo, mid, !xAxis, x, y, best);
+            if (delta * delta < distanceSquared(best, x, y))
+                best = nearest(mid + 1, hi, !xAxis, x, y, best);
+        } else {
+            best = nearest(mid + 1, hi, !xAxis, x, y, best);
+            if (delta * delta < distanceSquared(best, x, y))
+                best = nearest(lo, mid, !xAxis, x, y, best);
+        }
+        return best;
+    }
+
+    /**
+     * Finds the points nearest a position, as many as fit in the given array.
+     *
+     * @param x X coordinate of the position.
+     * @param y Y coordinate of the position.
+     * @param out Filled with point indicies, nearest first.
+     * @return The number of points found, the smaller of the array's length and size().
+     */
+    public int nearest(double x, double y, int[] out) {
+        if (out.length == 0) return 0;
+        return nearest(0, mTree.length, true, x, y, out, 0);
+    }
+
+    private int nearest(
+            int lo, int hi, boolean xAxis, double x, double y, int[] out, int count) {
+        if (lo >= hi) return count;
+
+        int mid = (lo + hi) >>> 1;
+        int point = mTree[mid];
+        count = insert(mXs, mYs, out, count, point, x, y);
+
+        // As for a single point, but the other side is searched while the array is not full.
+        double delta = xAxis ? x - mXs[point] : y - mYs[point];
+        int near = delta < 0.0 ? lo : mid + 1, nearHi = delta < 0.0 ? mid : hi;
+        int far = delta < 0.0 ? mid + 1 : lo, farHi = delta < 0.0 ? hi : mid;
+
+        count = nearest(near, nearHi, !xAxis, x, y, out, count);
+        if (count < out.length || delta * delta < distanceSquared(out[count - 1], x, y))
+            count = nearest(far, farHi, !xAxis, x, y, out, count);
+        return count;
+    }
+
+    /**
+     * Inserts a point into an array of points sorted nearest first, dropping the farthest point
+     * if the array is full.
+     *
+     * @return The new number of points in the array.
+     */
+    static int insert(
+            double[] xs, double[] ys, int[] out, int count, int point, double x, double y) {
+        double distance = distanceSquared(xs, ys, point, x, y);
+        if (count == out.length) {
+            if (distance >= distanceSquared(xs, ys, out[count - 1], x, y)) return count;
+            count--;
+        }
+
+        int i = count;
+        for (; i > 0 && distanceSquared(xs, ys, out[i - 1], x, y) > distance; i--)
+            out[i] = out[i - 1];
+        out[i] = point;
+        return count + 1;
+    }
+
+    /**
+     * Finds every point within a distance of a position, in no particular order.
+     *
+     * @param x X coordinate of the position.
+     * @param y Y coordinate of the position.
+     * @param radius Largest distance from the position, inclusive.
+     * @param out Filled with point indicies, points past its length are counted but not written.
+     * @return The number of points within the radius, which may be more than the array's length.
+     */
+    public int withinRadius(double x, double y, double radius, int[] out) {
+        return withinRadius(0, mTree.length, true, x, y, radius * radius, out, 0);
+    }
+
+    private int withinRadius(
+            int lo,
+            int hi,
+            boolean xAxis,
+            double x,
+            double y,
+            double radiusSquared,
+            int[] out,
+            int count) {
+        if (lo >= hi) return count;
+
+        int mid = (lo + hi) >>> 1;
+        int point = mTree[mid];
+        if (distanceSquared(point, x, y) <= radiusSquared) {
+            if (count < out.length) out[count] = point;
+            count++;
+        }
+
+        double delta = xAxis ? x - mXs[point] : y - mYs[point];
+        if (delta < 0.0 || delta * delta <= radiusSquared)
+            count = withinRadius(lo, mid, !xAxis, x, y, radiusSquared, out, count);
+        if (delta >= 0.0 || delta * delta <= radiusSquared)
+            count = withinRadius(mid + 1, hi, !xAxis, x, y, radiusSquared, out, count);
+        return count;
+    }
+
+    private double distanceSquared(int point, double x, double y) {
+        return distanceSquared(mXs, mYs, point, x, y);
+    }
+
+    /** @return The squared distance from the point to the position. */
+    static double distanceSquared(double[] xs, double[] ys, int point, double x, double y) {
+        double dx = xs[point] - x, dy = ys[point] - y;
+        return dx * dx + dy * dy;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import java.util.Arrays;
+
+/**
+ * An ALT (A*, Landmarks, Triangle inequality) heuristic. A few landmark verticies are picked, and
+ * the exact cost to and from each of them is precomputed for every vertex. By the triangle
+ * inequality, for any landmark L the cost from u to t is at least {@code d(L, t) - d(L, u)} and
+ * {@code d(u, L) - d(t, L)}, the largest of which is used as the estimate.
+ *
+ * <p>Unlike a straight line distance, this accounts for walls, so it is much tighter on fields with
+ * obstacles and A* expands far fewer verticies. Estimating reads only primitive arrays.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class Landmarks implements Heuristic {
+
+    // Number of landmarks.
+    private final int mCount;
+
+    // Indicies of the landmark verticies.
+    private final int[] mLandmarks;
+
+    // Cost from landmark i to vertex v, at [v * mCount + i].
+    private final double[] mFrom;
+
+    // Cost from vertex v to landmark i, at [v * mCount + i].
+    private final double[] mTo;
+
+    private Landmarks(int[] landmarks, double[] from, double[] to) {
+        mCount = landmarks.length;
+        mLandmarks = landmarks;
+        mFrom = from;
+        mTo = to;
+    }
+
+    /**
+     * Picks landmarks spread out across the graph (each one is the vertex farthest from the ones
+     * already picked) and precomputes the costs to and from them. This runs two Dijkstra searches
+     * per landmark, so it is meant to be done once, ahead of time.
+     *
+     * @param graph The graph to build the heuristic for.
+     * @param count The number of landmarks, more give tighter estimates but cost more to evaluate.
+     * @return The heuristic for the graph.
+     */
+    public static Landmarks build(CompiledGraph<?> graph, int count) {
+        int size = graph.size();
+        count = Math.min(count, size);
+        if (count <= 0) throw new IllegalArgumentException("Must have at least one landmark.");
+
+        int[] landmarks = new int[count];
+        double[] from = new double[size * count];
+        double[] to = new double[size * count];
+
+        // Smallest cost between each vertex and any landmark picked so far.
+        double[] nearest = new double[size];
+        Arrays.fill(nearest, Double.POSITIVE_INFINITY);
+
+        SearchState state = new SearchState(size);
+        CompiledGraph<?> reverse = graph.getReverse();
+
+        // Start from whichever vertex is farthest from vertex 0.
+        Dijkstra.search(graph, 0, state);
+        int next = 0;
+        for (int v = 0; v < size; v++)
+            if (state.getG(v) < Double.POSITIVE_INFINITY && state.getG(v) > state.getG(next))
+                next = v;
+
+        int picked = 0;
+        while (picked < count) {
+            landmarks[picked] = next;
+
+            Dijkstra.search(graph, next, state);
+            for (int v = 0; v < size; v++) from[v * count + picked] = state.getG(v);
+            Dijkstra.search(reverse, next, state);
+            for (int v = 0; v < size; v++) to[v * count + picked] = state.getG(v);
+
+            for (int v = 0; v < size; v++) {
+                double d = Math.min(from[v * count + picked], to[v * count + picked]);
+                nearest[v] = Math.min(nearest[v], d);
+            }
+            picked++;
+
+            // The next landmark is the vertex farthest from every current landmark, verticies
+            // unreachable from all of them are the farthest, as they need a landmark the most.
+            next = -1;
+            double best = 0.0;
+            for (int v = 0; v < size; v++) {
+                if (nearest[v] > best) {
+                    best = nearest[v];
+                    next = v;
+                }
+            }
+            // Every vertex is a landmark already.
+            if (next == -1) break;
+        }
+
+        if (picked == count) return new Landmarks(landmarks, from, to);
+
+        // Fewer landmarks were needed than requested, so shrink the tables.
+        double[] newFrom = new double[size * picked];
+        double[] newTo = new double[size * picked];
+        for (int v = 0; v < size; v++) {
+            System.arraycopy(from, v * count, newFrom, v * picked, picked);
+            System.arraycopy(to, v * count, newTo, v * picked, picked);
+        }
+        return new Landmarks(Arrays.copyOf(landmarks, picked), newFrom, newTo);
+    }
+
+    /** @return The number of landmarks. */
+    public int getCount() {
+        return mCount;
+    }
+
+    /**
+     * @param i Which landmark.
+     * @return The vertex index of the landmark.
+     */
+    public int getLandmark(int i) {
+        return mLandmarks[i];
+    }
+
+    @Override
+    public double estimate(int from, int to) {
+        double best = 0.0;
+        int u = from * mCount, t = to * mCount;
+        for (int i = 0; i < mCount; i++) {
+            // d(u, t) >= d(L, t) - d(L, u)
+            double forward = mFrom[t + i] - mFrom[u + i];
+            // d(u, t) >= d(u, L) - d(t, L)
+            double backward = mTo[u + i] - mTo[t + i];
+
+            // Differences of infinities are NaN, and tell us nothing, so they never win.
+            if (forward > best && forward < Double.POSITIVE_INFINITY) best = forward;
+            if (backward > best && backward < Double.POSITIVE_INFINITY) best = backward;
+        }
+        return best;
+    }
+}
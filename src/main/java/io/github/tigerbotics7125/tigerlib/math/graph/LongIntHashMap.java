@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import java.util.Arrays;
+
+/**
+ * A map from longs to non negative ints, with open addressing and linear probing, so neither
+ * lookups nor insertions box their keys.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+class LongIntHashMap {
+
+    // Keys and values by slot, a slot is empty while its value is -1.
+    private long[] mKeys;
+    private int[] mValues;
+    private int mSize;
+
+    /** Creates an empty map. */
+    LongIntHashMap() {
+        mKeys = new long[16];
+        mValues = new int[16];
+        Arrays.fill(mValues, -1);
+    }
+
+    /** @return The number of keys in the map. */
+    int size() {
+        return mSize;
+    }
+
+    /**
+     * @param key The key to look up.
+     * @return The key's value, -1 if the map does not contain the key.
+     */
+    int get(long key) {
+        int mask = mKeys.length - 1;
+        for (int i = slot(key); mValues[i] != -1; i = (i + 1) & mask)
+            if (mKeys[i] == key) return mValues[i];
+        return -1;
+    }
+
+    /**
+     * Maps the key to the value, replacing any value it had.
+     *
+     * @param key The key.
+     * @param value The value, not negative.
+     */
+    void put(long key, int value) {
+        if (value < 0) throw new IllegalArgumentException("Value must not be negative.");
+        if (2 * (mSize + 1) > mKeys.length) grow();
+
+        int mask = mKeys.length - 1;
+        int i = slot(key);
+        for (; mValues[i] != -1; i = (i + 1) & mask) {
+            if (mKeys[i] == key) {
+                mValues[i] = value;
+                return;
+            }
+        }
+        mKeys[i] = key;
+        mValues[i] = value;
+        mSize++;
+    }
+
+    /**
+     * Removes the key, if the map contains it.
+     *
+     * @param key The key.
+     */
+    void remove(long key) {
+        int mask = mKeys.length - 1;
+        int i = slot(key);
+        for (; mValues[i] != -1; i = (i + 1) & mask) if (mKeys[i] == key) break;
+        if (mValues[i] == -1) return;
+
+        // Shift later keys of the same run back, so no lookup passes over an empty slot.
+        for (int j = (i + 1) & mask; mValues[j] != -1; j = (j + 1) & mask) {
+            int home = slot(mKeys[j]);
+            // The key at j may fill the hole at i unless its home slot lies between them.
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                mKeys[i] = mKeys[j];
+                mValues[i] = mValues[j];
+                i = j;
+            }
+        }
+        mValues[i] = -1;
+        mSize--;
+    }
+
+    /** @return The slot a key hashes to, from the high bits of a multiplicative hash. */
+    private int slot(long key) {
+        int bits = Integer.numberOfTrailingZeros(mKeys.length);
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> (64 - bits));
+    }
+
+    private void grow() {
+        long[] oldKeys = mKeys;
+        int[] oldValues = mValues;
+        mKeys = new long[oldKeys.length * 2];
+        mValues = new int[oldValues.length * 2];
+        Arrays.fill(mValues, -1);
+
+        int mask = mKeys.length - 1;
+        for (int k = 0; k < oldKeys.length; k++) {
+            if (oldValues[k] == -1) continue;
+            int i = slot(oldKeys[k]);
+            while (mValues[i] != -1) i = (i + 1) & mask;
+            mKeys[i] = oldKeys[k];
+            mValues[i] = oldValues[k];
+        }
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import io.github.tigerbotics7125.tigerlib.util.MathUtil;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Polygonal obstacles inflated by the robot's radius, within rectangular field bounds. Once
+ * inflated, the robot may be treated as a point: its center may be anywhere outside every
+ * polygon, and within the bounds shrunk by its radius.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+class Obstacles {
+
+    // Largest angle an inflated corner turns through per added vertex.
+    private static final double kMaxArcStep = Math.PI / 4.0;
+
+    // Points closer than this to a polygon's edge are on its boundary, which is free space.
+    private static final double kEpsilon = 1e-9;
+
+    private final double mRadius;
+
+    // Allowed region of the robot's center.
+    private final double mMinX;
+    private final double mMinY;
+    private final double mMaxX;
+    private final double mMaxY;
+
+    // Counter clockwise verticies of each inflated polygon, and whether each vertex is convex.
+    private final List<double[]> mXs = new ArrayList<>();
+    private final List<double[]> mYs = new ArrayList<>();
+    private final List<boolean[]> mConvex = new ArrayList<>();
+
+    /**
+     * @param radius The robot's radius.
+     * @param minX Smallest x of the field.
+     * @param minY Smallest y of the field.
+     * @param maxX Largest x of the field.
+     * @param maxY Largest y of the field.
+     */
+    Obstacles(double radius, double minX, double minY, double maxX, double maxY) {
+        if (radius < 0.0) throw new IllegalArgumentException("Radius must not be negative.");
+        mRadius = radius;
+        mMinX = minX + radius;
+        mMinY = minY + radius;
+        mMaxX = maxX - radius;
+        mMaxY = maxY - radius;
+    }
+
+    /** @return The number of obstacles. */
+    int size() {
+        return mXs.size();
+    }
+
+    /** @return The x coordinates of the inflated obstacle's verticies, counter clockwise. */
+    double[] getXs(int obstacle) {
+        return mXs.get(obstacle);
+    }
+
+    /** @return The y coordinates of the inflated obstacle's verticies, counter clockwise. */
+    double[] getYs(int obstacle) {
+        return mYs.get(obstacle);
+    }
+
+    /** @return Whether each vertex of the inflated obstacle is convex. */
+    boolean[] getConvex(int obstacle) {
+        return mConvex.get(obstacle);
+    }
+
+    /**
+     * Inflates and adds a simple polygon. Each edge is moved out by the radius, and each convex
+     * corner is replaced by a few verticies which surround the arc the robot would sweep around
+     * it, so the inflated polygon always contains every point within the radius of the obstacle.
+     *
+     * @param xs X coordinates of the polygon's verticies, in either winding order.
+     * @param ys Y coordinates of the polygon's verticies, in either winding order.
+     */
+    void add(double[] xs, double[] ys) {
+        int n = xs.length;
+        if (n != ys.length)
+            throw new IllegalArgumentException("Polygon must have as many x as y coordinates.");
+        if (n < 3) throw new IllegalArgumentException("Polygon must have at least 3 verticies.");
+
+        // Walk counter clockwise, so outward normals are on the right of each edge.
+        double area = 0.0;
+        for (int i = 0, j = n - 1; i < n; j = i++) area += xs[j] * ys[i] - xs[i] * ys[j];
+        int step = area >= 0.0 ? 1 : -1;
+
+        List<Double> outXs = new ArrayList<>(), outYs = new ArrayList<>();
+        List<Boolean> convex = new ArrayList<>();
+        for (int k = 0; k < n; k++) {
+            int i = step == 1 ? k : n - 1 - k;
+            int prev = (i - step + n) % n, next = (i + step + n) % n;
+
+            double angle1 = normalAngle(xs[prev], ys[prev], xs[i], ys[i]);
+            double angle2 = normalAngle(xs[i], ys[i], xs[next], ys[next]);
+            double turn = Math.IEEEremainder(angle2 - angle1, 2.0 * Math.PI);
+
+            if (turn >= 0.0) {
+                // Convex: surround the arc from one edge's normal to the next.
+                int count = Math.max(1, (int) Math.ceil(turn / kMaxArcStep));
+                double arcStep = turn / count;
+                double distance = mRadius / Math.cos(arcStep / 2.0);
+                for (int j = 0; j < count; j++) {
+                    double angle = angle1 + (j + 0.5) * arcStep;
+                    outXs.add(xs[i] + distance * Math.cos(angle));
+                    outYs.add(ys[i] + distance * Math.sin(angle));
+                    convex.add(true);
+                }
+            } else {
+                // Reflex: the two moved edges meet on the bisector of their normals.
+                double distance = mRadius / Math.cos(turn / 2.0);
+                double angle = angle1 + turn / 2.0;
+                outXs.add(xs[i] + distance * Math.cos(angle));
+                outYs.add(ys[i] + distance * Math.sin(angle));
+                convex.add(false);
+            }
+        }
+
+        double[] inflatedXs = new double[outXs.size()], inflatedYs = new double[outYs.size()];
+        boolean[] inflatedConvex = new boolean[convex.size()];
+        for (int i = 0; i < inflatedXs.length; i++) {
+            inflatedXs[i] = outXs.get(i);
+            inflatedYs[i] = outYs.get(i);
+            inflatedConvex[i] = convex.get(i);
+        }
+        mXs.add(inflatedXs);
+        mYs.add(inflatedYs);
+        mConvex.add(inflatedConvex);
+    }
+
+    /** @return The angle of the outward normal of a counter clockwise edge. */
+    private static double normalAngle(double x0, double y0, double x1, double y1) {
+        return Math.atan2(-(x1 - x0), y1 - y0);
+    }
+
+    /**
+     * @param x X coordinate of the robot's center.
+     * @param y Y coordinate of the robot's center.
+     * @return Whether the robot may be there, points on an obstacle's boundary are free.
+     */
+    boolean isFree(double x, double y) {
+        if (x < mMinX - kEpsilon || x > mMaxX + kEpsilon) return false;
+        if (y < mMinY - kEpsilon || y > mMaxY + kEpsilon) return false;
+
+        for (int o = 0; o < mXs.size(); o++) if (isInside(o, x, y)) return false;
+        return true;
+    }
+
+    /**
+     * @return Whether the robot can drive straight between the points, which are both free.
+     */
+    boolean isVisible(double ax, double ay, double bx, double by) {
+        for (int o = 0; o < mXs.size(); o++) {
+            double[] xs = mXs.get(o), ys = mYs.get(o);
+
+            // Split the segment wherever it touches the obstacle's boundary, including at its
+            // verticies and along its edges. Each piece is then wholly inside or outside, so
+            // testing its midpoint tests the whole piece.
+            double[] params = new double[2 * xs.length + 2];
+            int count = 0;
+            params[count++] = 0.0;
+            params[count++] = 1.0;
+            for (int i = 0, j = xs.length - 1; i < xs.length; j = i++)
+                count = touches(ax, ay, bx, by, xs[j], ys[j], xs[i], ys[i], params, count);
+            Arrays.sort(params, 0, count);
+
+            for (int k = 1; k < count; k++) {
+                if (params[k] - params[k - 1] < kEpsilon) continue;
+                double t = (params[k - 1] + params[k]) / 2.0;
+                if (isInside(o, ax + t * (bx - ax), ay + t * (by - ay))) return false;
+            }
+        }
+        // The free region of the field is a rectangle, so it holds any line between free points.
+        return true;
+    }
+
+    /** @return Whether the point is strictly inside the obstacle, not on its boundary. */
+    private boolean isInside(int obstacle, double x, double y) {
+        double[] xs = mXs.get(obstacle), ys = mYs.get(obstacle);
+        if (!MathUtil.pnpoly(xs.length, xs, ys, x, y)) return false;
+
+        for (int i = 0, j = xs.length - 1; i < xs.length; j = i++)
+            if (segmentDistance(x, y, xs[j], ys[j], xs[i], ys[i]) < kEpsilon) return false;
+        return true;
+    }
+
+    /**
+     * Adds the parameters along segment a-b where it touches segment c-d, the ends of their
+     * overlap if they are collinear.
+     *
+     * @return The new number of parameters.
+     */
+    private static int touches(
+            double ax,
+            double ay,
+            double bx,
+            double by,
+            double cx,
+            double cy,
+            double dx,
+            double dy,
+            double[] params,
+            int count) {
+        double rx = bx - ax, ry = by - ay, sx = dx - cx, sy = dy - cy;
+        double lengthSquared = rx * rx + ry * ry;
+        if (lengthSquared == 0.0) return count;
+
+        double denominator = rx * sy - ry * sx;
+        double qx = cx - ax, qy = cy - ay;
+        if (Math.abs(denominator) > kEpsilon) {
+            double t = (qx * sy - qy * sx) / denominator;
+            double u = (qx * ry - qy * rx) / denominator;
+            if (t >= -kEpsilon && t <= 1.0 + kEpsilon && u >= -kEpsilon && u <= 1.0 + kEpsilon)
+                params[count++] = clamp(t);
+        } else if (orientation(ax, ay, bx, by, cx, cy) == 0.0) {
+            // Collinear, the overlap's ends are wherever c and d lie within a-b.
+            double tc = (qx * rx + qy * ry) / lengthSquared;
+            double td = ((dx - ax) * rx + (dy - ay) * ry) / lengthSquared;
+            if (Math.max(tc, td) >= 0.0 && Math.min(tc, td) <= 1.0) {
+                params[count++] = clamp(tc);
+                params[count++] = clamp(td);
+            }
+        }
+        return count;
+    }
+
+    private static double clamp(double t) {
+        return Math.max(0.0, Math.min(1.0, t));
+    }
+
+    /** @return Which side of line a-b the point c is on, 0 if it is on the line. */
+    private static double orientation(
+            double ax, double ay, double bx, double by, double cx, double cy) {
+        double cross = (bx - ax) * (cy - ay) - (by - ay) * (cx - ax);
+        return Math.abs(cross) < kEpsilon ? 0.0 : cross;
+    }
+
+    private static double segmentDistance(
+            double x, double y, double ax, double ay, double bx, double by) {
+        double dx = bx - ax, dy = by - ay;
+        double lengthSquared = dx * dx + dy * dy;
+        double t = lengthSquared == 0.0 ? 0.0 : ((x - ax) * dx + (y - ay) * dy) / lengthSquared;
+        t = Math.max(0.0, Math.min(1.0, t));
+        return Math.hypot(x - (ax + t * dx), y - (ay + t * dy));
+    }
+}
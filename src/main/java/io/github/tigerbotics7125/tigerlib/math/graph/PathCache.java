@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A least recently used cache of paths by their start and end vertex indicies, for planners asked
+ * for the same path several times while the graph is unchanged.
+ *
+ * <p>Every lookup gives the graph's current version (such as {@link Graph#getVersion()}), and once
+ * it differs from the version the cached paths were planned at, they are all dropped.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class PathCache<T> {
+
+    // Most paths held at once.
+    private final int mCapacity;
+
+    // Paths by start and end index, least recently used first.
+    private final LinkedHashMap<Long, List<Vertex<T>>> mPaths;
+
+    // Graph version the cached paths were planned at.
+    private int mVersion;
+
+    private long mHits;
+    private long mMisses;
+
+    /** @param capacity The most paths held at once, positive. */
+    public PathCache(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive.");
+
+        mCapacity = capacity;
+        mPaths =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Long, List<Vertex<T>>> eldest) {
+                        return size() > mCapacity;
+                    }
+                };
+    }
+
+    private static long key(int start, int end) {
+        return ((long) start << 32) | (end & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @param start Index of the starting Vertex.
+     * @param end Index of the ending Vertex.
+     * @param version The graph's current version.
+     * @return The cached path, null if there is none.
+     */
+    public List<Vertex<T>> get(int start, int end, int version) {
+        if (version != mVersion) {
+            mPaths.clear();
+            mVersion = version;
+        }
+
+        List<Vertex<T>> path = mPaths.get(key(start, end));
+        if (path == null) mMisses++;
+        else mHits++;
+        return path;
+    }
+
+    /**
+     * Caches a path, evicting the least recently used path if the cache is full.
+     *
+     * @param start Index of the starting Vertex.
+     * @param end Index of the ending Vertex.
+     * @param version The graph's version the path was planned at.
+     * @param path The path from start to end.
+     * @return An unmodifiable copy of the path, which is what later lookups return.
+     */
+    public List<Vertex<T>> put(int start, int end, int version, List<Vertex<T>> path) {
+        if (version != mVersion) {
+            mPaths.clear();
+            mVersion = version;
+        }
+
+        List<Vertex<T>> copy = List.copyOf(path);
+        mPaths.put(key(start, end), copy);
+        return copy;
+    }
+
+    /** Drops every cached path. */
+    public void clear() {
+        mPaths.clear();
+    }
+
+    /** @return The number of cached paths. */
+    public int size() {
+        return mPaths.size();
+    }
+
+    /** @return The most paths held at once. */
+    public int getCapacity() {
+        return mCapacity;
+    }
+
+    /** @return The number of lookups which found a path. */
+    public long getHits() {
+        return mHits;
+    }
+
+    /** @return The number of lookups which found no path. */
+    public long getMisses() {
+        return mMisses;
+    }
+
+    /** Sets the hit and miss counts back to zero. */
+    public void resetCounters() {
+        mHits = 0;
+        mMisses = 0;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * A thread safe A* planner over a {@link CompiledGraph}. The graph is never modified, and each
+ * thread searches with its own workspace, so any number of threads may plan at once, and many
+ * goals can be planned to in parallel with {@link #planAll(Vertex, List)}.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class PathPlanner<T> {
+
+    // Above this many goals per thread of the pool, one Dijkstra search is cheaper than many A*.
+    private static final int kGoalsPerThread = 4;
+
+    // Graph of which this planner will operate over.
+    private final CompiledGraph<T> mGraph;
+
+    // Heuristic between any two vertex indicies, shared by every thread.
+    private final Heuristic mHeuristic;
+
+    // Pool which goals of planAll are planned on.
+    private final ForkJoinPool mPool;
+
+    // Search workspace of each thread.
+    private final ThreadLocal<SearchState> mStates;
+
+    /**
+     * Creates a planner which plans multiple goals on the common ForkJoinPool.
+     *
+     * @param graph The CompiledGraph of which this planner will operate over.
+     * @param heuristic The heuristic between any two vertex indicies, it must be thread safe.
+     */
+    public PathPlanner(CompiledGraph<T> graph, Heuristic heuristic) {
+        this(graph, heuristic, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param graph The CompiledGraph of which this planner will operate over.
+     * @param heuristic The heuristic between any two vertex indicies, it must be thread safe.
+     * @param pool The pool which goals of {@link #planAll(Vertex, List)} are planned on.
+     */
+    public PathPlanner(CompiledGraph<T> graph, Heuristic heuristic, ForkJoinPool pool) {
+        mGraph = graph;
+        mHeuristic = heuristic;
+        mPool = pool;
+        mStates = ThreadLocal.withInitial(() -> new SearchState(graph.size()));
+    }
+
+    /** @return The CompiledGraph this planner operates over. */
+    public CompiledGraph<T> getGraph() {
+        return mGraph;
+    }
+
+    /**
+     * @param start The starting Vertex.
+     * @param end The ending, goal Vertex.
+     * @return The list of Verticies, start to end, which represents the most cost effecient way of
+     *     traversing the graph.
+     */
+    public List<Vertex<T>> plan(Vertex<T> start, Vertex<T> end) {
+        int startIndex = indexOf(start, "Graph must contain starting vertex");
+        int endIndex = indexOf(end, "Graph must contain ending vertex");
+
+        List<Vertex<T>> path = plan(startIndex, endIndex);
+        if (path.isEmpty())
+            throw new IllegalArgumentException(
+                    "Graph does not contain a valid path between start and end.");
+        return path;
+    }
+
+    /**
+     * Plans from one start to many goals. With few goals, each is planned by A* on its own thread
+     * of the pool, with many goals a single Dijkstra search from the start reaches all of them.
+     *
+     * @param start The starting Vertex.
+     * @param goals The goal verticies.
+     * @return The path to each goal, in the same order as the goals, empty if a goal is
+     *     unreachable.
+     */
+    public List<List<Vertex<T>>> planAll(Vertex<T> start, List<Vertex<T>> goals) {
+        int startIndex = indexOf(start, "Graph must contain starting vertex");
+        int[] goalIndicies = new int[goals.size()];
+        for (int i = 0; i < goalIndicies.length; i++)
+            goalIndicies[i] = indexOf(goals.get(i), "Graph must contain every goal vertex");
+
+        if (goalIndicies.length > mPool.getParallelism() * kGoalsPerThread)
+            return planAllDijkstra(startIndex, goalIndicies);
+
+        List<ForkJoinTask<List<Vertex<T>>>> tasks = new ArrayList<>(goalIndicies.length);
+        for (int goal : goalIndicies) tasks.add(mPool.submit(() -> plan(startIndex, goal)));
+
+        List<List<Vertex<T>>> paths = new ArrayList<>(goalIndicies.length);
+        for (ForkJoinTask<List<Vertex<T>>> task : tasks) paths.add(task.join());
+        return paths;
+    }
+
+    /** @return The path from start to end, empty if unreachable. */
+    private List<Vertex<T>> plan(int start, int end) {
+        SearchState state = mStates.get();
+        CompiledAStar.search(mGraph, mHeuristic, start, end, state);
+        if (!state.isClosed(end)) return List.of();
+        return CompiledAStar.genPath(mGraph, state, end);
+    }
+
+    private List<List<Vertex<T>>> planAllDijkstra(int start, int[] goals) {
+        int[] targets = Arrays.stream(goals).sorted().distinct().toArray();
+
+        SearchState state = mStates.get();
+        Dijkstra.search(mGraph, start, state, targets);
+
+        List<List<Vertex<T>>> paths = new ArrayList<>(goals.length);
+        for (int goal : goals)
+            paths.add(
+                    state.isClosed(goal) ? CompiledAStar.genPath(mGraph, state, goal) : List.of());
+        return paths;
+    }
+
+    private int indexOf(Vertex<T> vertex, String message) {
+        int index = mGraph.indexOf(vertex);
+        if (index == -1) throw new IllegalArgumentException(message);
+        return index;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Post-processing of grid paths, such as those from {@link AStar} or {@link JumpPointSearch}.
+ * Grid paths step through every cell and zig-zag between the eight grid directions, smoothing
+ * reduces them to the few waypoints where the path actually has to turn.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class PathSmoother {
+
+    /**
+     * Shortcuts the path wherever there is a clear line of sight, by keeping a cell only when the
+     * last kept cell can not see the cell after it.
+     *
+     * @param grid The grid the path is over.
+     * @param path The path of cells, start to end, each a single move from the last.
+     * @return The waypoints of the path, start to end, each of which has a clear line of sight to
+     *     the next.
+     */
+    public static List<Vertex<GridCell>> smooth(GridGraph grid, List<Vertex<GridCell>> path) {
+        if (path.size() <= 2) return new ArrayList<>(path);
+
+        List<Vertex<GridCell>> waypoints = new ArrayList<>();
+        Iterator<Vertex<GridCell>> iterator = path.iterator();
+
+        Vertex<GridCell> anchor = iterator.next();
+        Vertex<GridCell> previous = iterator.next();
+        waypoints.add(anchor);
+
+        while (iterator.hasNext()) {
+            Vertex<GridCell> next = iterator.next();
+            GridCell a = anchor.getData(), n = next.getData();
+            if (!grid.hasLineOfSight(a.getX(), a.getY(), n.getX(), n.getY())) {
+                waypoints.add(previous);
+                anchor = previous;
+            }
+            previous = next;
+        }
+        waypoints.add(previous);
+
+        return waypoints;
+    }
+
+    /**
+     * @param waypoints The waypoints of a path.
+     * @return The length of the path through the waypoints, in cells.
+     */
+    public static double length(List<Vertex<GridCell>> waypoints) {
+        double length = 0.0;
+        GridCell last = null;
+        for (Vertex<GridCell> waypoint : waypoints) {
+            GridCell cell = waypoint.getData();
+            if (last != null)
+                length += Math.hypot(cell.getX() - last.getX(), cell.getY() - last.getY());
+            last = cell;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import java.util.List;
+
+/**
+ * The best path an anytime planner has found so far, along with how far from optimal it may be.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class PlanResult<T> {
+
+    private final List<Vertex<T>> mPath;
+    private final double mCost;
+    private final double mSuboptimality;
+
+    /**
+     * @param path The path found, empty if none has been found yet.
+     * @param cost The travel cost of the path, +inf if none has been found yet.
+     * @param suboptimality The most the cost may be above optimal, as a factor.
+     */
+    public PlanResult(List<Vertex<T>> path, double cost, double suboptimality) {
+        mPath = List.copyOf(path);
+        mCost = cost;
+        mSuboptimality = suboptimality;
+    }
+
+    /** @return The list of Verticies, start to end, empty if no path has been found yet. */
+    public List<Vertex<T>> getPath() {
+        return mPath;
+    }
+
+    /** @return Whether a path has been found. */
+    public boolean hasPath() {
+        return !mPath.isEmpty();
+    }
+
+    /** @return The travel cost of the path, +inf if no path has been found yet. */
+    public double getCost() {
+        return mCost;
+    }
+
+    /**
+     * @return The bound on how far from optimal the path is, the optimal cost is at least {@code
+     *     getCost() / getSuboptimality()}. 1 means the path is optimal, +inf if there is no path.
+     */
+    public double getSuboptimality() {
+        return mSuboptimality;
+    }
+
+    /** @return Whether the path is known to be optimal. */
+    public boolean isOptimal() {
+        return mSuboptimality <= 1.0;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import java.util.Arrays;
+
+/**
+ * Which verticies are occupied at which time steps, and which edges are being travelled, for
+ * planning around other robots with {@link SpaceTimeAStar}.
+ *
+ * <p>Reservations are packed into longs and kept in an open addressing hash set, so reserving and
+ * checking do not allocate. Edge reservations support vertex indicies below 2^24 - 1 and time steps
+ * below 2^15.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class ReservationTable {
+
+    // Marks an empty slot, no reservation packs to it.
+    private static final long kEmpty = -1L;
+
+    private static final int kMaxEdgeVertex = (1 << 24) - 1;
+    private static final int kMaxEdgeTime = 1 << 15;
+
+    // Packed reservations, a power of two in length, at most half full.
+    private long[] mKeys;
+    private int mSize;
+
+    /** Creates an empty table. */
+    public ReservationTable() {
+        mKeys = new long[64];
+        Arrays.fill(mKeys, kEmpty);
+    }
+
+    /** @return The number of reservations. */
+    public int size() {
+        return mSize;
+    }
+
+    /** Removes every reservation. */
+    public void clear() {
+        Arrays.fill(mKeys, kEmpty);
+        mSize = 0;
+    }
+
+    /**
+     * Reserves a vertex at a time step.
+     *
+     * @param vertex Index of the vertex.
+     * @param time The time step.
+     */
+    public void reserve(int vertex, int time) {
+        add(vertexKey(vertex, time));
+    }
+
+    /**
+     * @param vertex Index of the vertex.
+     * @param time The time step.
+     * @return Whether the vertex is reserved at the time step.
+     */
+    public boolean isReserved(int vertex, int time) {
+        return contains(vertexKey(vertex, time));
+    }
+
+    /**
+     * Reserves travelling an edge, leaving at one time step and arriving at the next. Another robot
+     * may not travel the edge the other way at the same time, as they would pass through each
+     * other.
+     *
+     * @param from Index of the vertex the edge leaves.
+     * @param to Index of the vertex the edge enters.
+     * @param time The time step the edge is left at.
+     */
+    public void reserveMove(int from, int to, int time) {
+        add(moveKey(from, to, time));
+    }
+
+    /**
+     * @param from Index of the vertex the edge leaves.
+     * @param to Index of the vertex the edge enters.
+     * @param time The time step the edge is left at.
+     * @return Whether travelling the edge is reserved at the time step.
+     */
+    public boolean isMoveReserved(int from, int to, int time) {
+        if (from >= kMaxEdgeVertex || to >= kMaxEdgeVertex || time >= kMaxEdgeTime) return false;
+        return contains(moveKey(from, to, time));
+    }
+
+    private static long vertexKey(int vertex, int time) {
+        if (vertex < 0 || time < 0)
+            throw new IllegalArgumentException("Vertex and time must not be negative.");
+        return ((long) time << 32) | vertex;
+    }
+
+    private static long moveKey(int from, int to, int time) {
+        if (from < 0 || to < 0 || time < 0)
+            throw new IllegalArgumentException("Verticies and time must not be negative.");
+        if (from >= kMaxEdgeVertex || to >= kMaxEdgeVertex || time >= kMaxEdgeTime)
+            throw new IllegalArgumentException("Edge reservation is out of range.");
+        return Long.MIN_VALUE | ((long) time << 48) | ((long) from << 24) | to;
+    }
+
+    /** @return The slot a key hashes to, from the high bits of a multiplicative hash. */
+    private int slot(long key) {
+        int bits = Integer.numberOfTrailingZeros(mKeys.length);
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> (64 - bits));
+    }
+
+    private boolean contains(long key) {
+        int mask = mKeys.length - 1;
+        for (int i = slot(key); mKeys[i] != kEmpty; i = (i + 1) & mask)
+            if (mKeys[i] == key) return true;
+        return false;
+    }
+
+    private void add(long key) {
+        if (2 * (mSize + 1) > mKeys.length) grow();
+
+        int mask = mKeys.length - 1;
+        int i = slot(key);
+        for (; mKeys[i] != kEmpty; i = (i + 1) & mask) if (mKeys[i] == key) return;
+        mKeys[i] = key;
+        mSize++;
+    }
+
+    private void grow() {
+        long[] old = mKeys;
+        mKeys = new long[old.length * 2];
+        Arrays.fill(mKeys, kEmpty);
+
+        int mask = mKeys.length - 1;
+        for (long key : old) {
+            if (key == kEmpty) continue;
+            int i = slot(key);
+            while (mKeys[i] != kEmpty) i = (i + 1) & mask;
+            mKeys[i] = key;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import java.util.Arrays;
+
+/**
+ * The per vertex working storage of a search: g and f costs, where each vertex "cameFrom", whether
+ * it has been expanded, and the open queue.
+ *
+ * <p>Rather than resetting every vertex before a search, each entry is stamped with the search
+ * (epoch) that last wrote it. Entries with an old stamp read as untouched (+inf cost, no parent,
+ * not closed), so starting a search is constant time and a search only ever touches the verticies
+ * it explores.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+class SearchState {
+
+    // The current search, entries stamped with anything else are untouched.
+    private int mEpoch;
+
+    // The current closed set, advanced with each search, or when the closed set alone is cleared.
+    private int mClosedEpoch;
+
+    // Epoch which last wrote each vertex's costs.
+    private int[] mStamps;
+
+    // Closed epoch which last closed each vertex.
+    private int[] mClosedStamps;
+
+    private double[] mG;
+    private double[] mF;
+    private int[] mCameFrom;
+
+    private final IndexedMinHeap mOpenQueue;
+
+    /** @param capacity The number of verticies this state can initially hold. */
+    SearchState(int capacity) {
+        capacity = Math.max(capacity, 1);
+        mStamps = new int[capacity];
+        mClosedStamps = new int[capacity];
+        mG = new double[capacity];
+        mF = new double[capacity];
+        mCameFrom = new int[capacity];
+        mOpenQueue = new IndexedMinHeap(capacity);
+    }
+
+    /**
+     * Starts a new search, marking every vertex as untouched.
+     *
+     * @param size The number of verticies the search may touch.
+     */
+    void reset(int size) {
+        ensureCapacity(size);
+        mOpenQueue.clear();
+
+        if (mEpoch == Integer.MAX_VALUE) {
+            // Stamps would wrap around, so actually clear them this once.
+            Arrays.fill(mStamps, 0);
+            mEpoch = 0;
+        }
+        mEpoch++;
+        clearClosed();
+    }
+
+    /** Marks every vertex as not expanded, keeping their costs. */
+    void clearClosed() {
+        if (mClosedEpoch == Integer.MAX_VALUE) {
+            Arrays.fill(mClosedStamps, 0);
+            mClosedEpoch = 0;
+        }
+        mClosedEpoch++;
+    }
+
+    private void ensureCapacity(int size) {
+        if (size <= mStamps.length) return;
+
+        int capacity = Math.max(size, mStamps.length * 2);
+        mStamps = Arrays.copyOf(mStamps, capacity);
+        mClosedStamps = Arrays.copyOf(mClosedStamps, capacity);
+        mG = Arrays.copyOf(mG, capacity);
+        mF = Arrays.copyOf(mF, capacity);
+        mCameFrom = Arrays.copyOf(mCameFrom, capacity);
+        mOpenQueue.ensureCapacity(capacity);
+    }
+
+    /**
+     * @param v Index of the vertex.
+     * @return Whether the vertex has been given costs during this search.
+     */
+    boolean isTouched(int v) {
+        return mStamps[v] == mEpoch;
+    }
+
+    /**
+     * @param v Index of the vertex.
+     * @return The g cost of the vertex, +inf if untouched.
+     */
+    double getG(int v) {
+        return isTouched(v) ? mG[v] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @param v Index of the vertex.
+     * @return The f cost of the vertex, +inf if untouched.
+     */
+    double getF(int v) {
+        return isTouched(v) ? mF[v] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @param v Index of the vertex.
+     * @return The index of the vertex this vertex "cameFrom", -1 if none.
+     */
+    int getCameFrom(int v) {
+        return isTouched(v) ? mCameFrom[v] : -1;
+    }
+
+    /**
+     * Sets the costs of a vertex.
+     *
+     * @param v Index of the vertex.
+     * @param g The g cost of the vertex.
+     * @param f The f cost of the vertex.
+     * @param cameFrom The index of the vertex this vertex "cameFrom", -1 if none.
+     */
+    void set(int v, double g, double f, int cameFrom) {
+        mStamps[v] = mEpoch;
+        mG[v] = g;
+        mF[v] = f;
+        mCameFrom[v] = cameFrom;
+    }
+
+    /**
+     * @param v Index of the vertex.
+     * @return Whether the vertex has been expanded during this search.
+     */
+    boolean isClosed(int v) {
+        return mClosedStamps[v] == mClosedEpoch;
+    }
+
+    /**
+     * Marks the vertex as expanded.
+     *
+     * @param v Index of the vertex.
+     */
+    void close(int v) {
+        mClosedStamps[v] = mClosedEpoch;
+    }
+
+    /** @return The open queue of this search. */
+    IndexedMinHeap getOpenQueue() {
+        return mOpenQueue;
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import io.github.tigerbotics7125.tigerlib.math.Tuple;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A* over space and time (cooperative A*), for planning around other robots whose paths are known
+ * or predicted. Each edge of the {@link Graph} takes one time step to travel, and a robot may also
+ * wait where it is for a time step. A {@link ReservationTable} marks the verticies and edges which
+ * are occupied at each time step, and planned paths avoid them.
+ *
+ * <p>The search is over (vertex, time step) pairs within a fixed horizon of time steps, so its
+ * workspace is the size of the Graph times the horizon. Like {@link AStar}, starting a search is
+ * constant time and it only touches the pairs it explores.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class SpaceTimeAStar<T> {
+
+    // Graph of which this instance will operate over.
+    private final Graph<T> mGraph;
+
+    // Function which takes in two verticies and returns their calculated heuristic.
+    private final Function<Tuple<Vertex<T>, Vertex<T>>, Double> mHeuristicFunction;
+
+    // Verticies and edges occupied by other robots.
+    private final ReservationTable mReservations;
+
+    // Cost of waiting in place for one time step.
+    private final double mWaitCost;
+
+    // Costs, "cameFrom" pairs and open / closed sets, by vertex * (horizon + 1) + time step.
+    private final SearchState mState;
+
+    // Heuristic of each vertex to the current goal, NaN until computed, by vertex index.
+    private double[] mH = new double[0];
+
+    /**
+     * @param graph The Graph of which this instance will operate over.
+     * @param hFunc The function which calculates the heuristic from any two Verticies, it should
+     *     be consistent.
+     * @param reservations The verticies and edges occupied by other robots.
+     * @param waitCost The cost of waiting in place for one time step, positive.
+     */
+    public SpaceTimeAStar(
+            Graph<T> graph,
+            Function<Tuple<Vertex<T>, Vertex<T>>, Double> hFunc,
+            ReservationTable reservations,
+            double waitCost) {
+        if (!(waitCost > 0.0)) throw new IllegalArgumentException("Wait cost must be positive.");
+
+        mGraph = graph;
+        mHeuristicFunction = hFunc;
+        mReservations = reservations;
+        mWaitCost = waitCost;
+        mState = new SearchState(0);
+    }
+
+    /** @return The reservations this instance plans around. */
+    public ReservationTable getReservations() {
+        return mReservations;
+    }
+
+    /**
+     * Plans a path which avoids every reservation, and ends at a vertex which stays free until the
+     * end of the horizon.
+     *
+     * @param start The starting Vertex.
+     * @param end The ending, goal Vertex.
+     * @param startTime The time step the path starts at.
+     * @param horizon The most time steps the path may take.
+     * @return The Vertex at each time step from the start time, a Vertex is repeated while waiting.
+     * @throws IllegalArgumentException if there is no path within the horizon.
+     */
+    public List<Vertex<T>> plan(Vertex<T> start, Vertex<T> end, int startTime, int horizon) {
+        int startIndex = mGraph.indexOf(start);
+        int endIndex = mGraph.indexOf(end);
+
+        if (startIndex == -1)
+            throw new IllegalArgumentException("Graph must contain starting vertex");
+        if (endIndex == -1) throw new IllegalArgumentException("Graph must contain ending vertex");
+        if (horizon < 0) throw new IllegalArgumentException("Horizon must not be negative.");
+
+        int steps = horizon + 1;
+        int size = mGraph.size();
+        if (mH.length < size) mH = new double[size];
+        Arrays.fill(mH, 0, size, Double.NaN);
+
+        mState.reset(size * steps);
+        IndexedMinHeap openQueue = mState.getOpenQueue();
+
+        // The goal must be free from when the path reaches it until the end of the horizon.
+        int goalFreeFrom = steps;
+        while (goalFreeFrom > 0
+                && !mReservations.isReserved(endIndex, startTime + goalFreeFrom - 1))
+            goalFreeFrom--;
+
+        int startState = startIndex * steps;
+        mState.set(startState, 0.0, h(startIndex, end), -1);
+        openQueue.offer(startState, mState.getF(startState));
+
+        while (!openQueue.isEmpty()) {
+            int current = openQueue.poll();
+            mState.close(current);
+
+            int vertex = current / steps, step = current % steps;
+            if (vertex == endIndex && step >= goalFreeFrom) return genPath(current, steps);
+            if (step == horizon || mGraph.isBlocked(vertex)) continue;
+
+            int time = startTime + step;
+            double g = mState.getG(current);
+
+            // Wait in place.
+            if (!mReservations.isReserved(vertex, time + 1))
+                relax(current, vertex * steps + step + 1, g + mWaitCost, vertex, end);
+
+            for (int i = 0; i < mGraph.getOutDegree(vertex); i++) {
+                int edge = mGraph.getOutEdge(vertex, i);
+                int child = mGraph.getEdgeTarget(edge);
+
+                // The child must be free on arrival, and nobody may be travelling the other way.
+                if (mGraph.isBlocked(child) || mReservations.isReserved(child, time + 1)) continue;
+                if (mReservations.isMoveReserved(child, vertex, time)) continue;
+
+                double cost = mGraph.getEdgeCost(edge);
+                if (cost == Double.POSITIVE_INFINITY) continue;
+                relax(current, child * steps + step + 1, g + cost, child, end);
+            }
+        }
+        throw new IllegalArgumentException(
+                "Graph does not contain a valid path between start and end within the horizon.");
+    }
+
+    private void relax(int from, int to, double tentativeG, int vertex, Vertex<T> end) {
+        if (mState.isClosed(to) || tentativeG >= mState.getG(to)) return;
+
+        double fCost = tentativeG + h(vertex, end);
+        mState.set(to, tentativeG, fCost, from);
+        mState.getOpenQueue().offer(to, fCost);
+    }
+
+    private double h(int vertex, Vertex<T> end) {
+        if (Double.isNaN(mH[vertex]))
+            mH[vertex] = mHeuristicFunction.apply(Tuple.of(mGraph.getVertex(vertex), end));
+        return mH[vertex];
+    }
+
+    private List<Vertex<T>> genPath(int end, int steps) {
+        List<Vertex<T>> path = new ArrayList<>(end % steps + 1);
+        for (int s = end; s != -1; s = mState.getCameFrom(s)) path.add(mGraph.getVertex(s / steps));
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Reserves a path for the robot following it, so later plans avoid it. The last Vertex stays
+     * reserved for the given number of time steps after the path ends.
+     *
+     * @param path The Vertex at each time step, such as one returned by plan.
+     * @param startTime The time step the path starts at.
+     * @param holdSteps How many time steps the robot stays at the end of the path.
+     */
+    public void reserve(List<Vertex<T>> path, int startTime, int holdSteps) {
+        int previous = -1;
+        for (int i = 0; i < path.size(); i++) {
+            int vertex = mGraph.indexOf(path.get(i));
+            if (vertex == -1) throw new IllegalArgumentException("Graph must contain the vertex");
+
+            mReservations.reserve(vertex, startTime + i);
+            if (previous != -1 && previous != vertex)
+                mReservations.reserveMove(previous, vertex, startTime + i - 1);
+            previous = vertex;
+        }
+        for (int i = 1; i <= holdSteps && previous != -1; i++)
+            mReservations.reserve(previous, startTime + path.size() - 1 + i);
+    }
+}
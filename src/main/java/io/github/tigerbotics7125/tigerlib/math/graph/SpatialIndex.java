@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import java.util.Arrays;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Indexes the verticies of a {@link Graph} by their 2d position, for nearest, k nearest and radius
+ * queries in logarithmic rather than linear time. Results are vertex indicies in the Graph.
+ *
+ * <p>The index listens to the Graph, so verticies added later are found too. They are scanned
+ * linearly until enough have been added to be worth rebuilding the tree, which happens as the
+ * Vertex that tips it over is added, so queries never allocate. Like the Graph, an index must not
+ * be used from several threads at once.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class SpatialIndex<T> implements GraphListener {
+
+    // How many verticies may be added before the tree is rebuilt.
+    private static final int kMaxPending = 32;
+
+    // Graph of which this instance indexes.
+    private final Graph<T> mGraph;
+
+    // Position of a Vertex's value.
+    private final ToDoubleFunction<T> mX;
+    private final ToDoubleFunction<T> mY;
+
+    // Position of each Vertex, by index, only appended to, so the tree may share them.
+    private double[] mXs = new double[16];
+    private double[] mYs = new double[16];
+    private int mSize;
+
+    // Tree over the first verticies, those after it are pending.
+    private KdTree mTree = new KdTree(mXs, mYs, 0);
+
+    /**
+     * Creates an index of the Graph's verticies, which stays in sync as verticies are added.
+     *
+     * @param graph The Graph to index.
+     * @param x The x coordinate of a Vertex's value.
+     * @param y The y coordinate of a Vertex's value.
+     */
+    public SpatialIndex(Graph<T> graph, ToDoubleFunction<T> x, ToDoubleFunction<T> y) {
+        mGraph = graph;
+        mX = x;
+        mY = y;
+
+        for (int i = 0; i < graph.size(); i++) append(i);
+        rebuild();
+        graph.addListener(this);
+    }
+
+    /** Stops following changes to the Graph, after which the index no longer grows. */
+    public void close() {
+        mGraph.removeListener(this);
+    }
+
+    @Override
+    public void onVertexAdded(int index) {
+        append(index);
+        if (mSize - mTree.size() > kMaxPending) rebuild();
+    }
+
+    private void append(int index) {
+        if (mSize == mXs.length) {
+            mXs = Arrays.copyOf(mXs, mSize * 2);
+            mYs = Arrays.copyOf(mYs, mSize * 2);
+        }
+        T data = mGraph.getVertex(index).getData();
+        mXs[mSize] = mX.applyAsDouble(data);
+        mYs[mSize] = mY.applyAsDouble(data);
+        mSize++;
+    }
+
+    /** @return The number of indexed verticies. */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * Rebuilds the tree over every indexed Vertex, so none are scanned linearly. This happens on
+     * its own as verticies are added, but may be called after adding a batch of them.
+     */
+    public void rebuild() {
+        if (mTree.size() != mSize) mTree = new KdTree(mXs, mYs, mSize);
+    }
+
+    /**
+     * @param x X coordinate of the position.
+     * @param y Y coordinate of the position.
+     * @return The index of the Vertex nearest the position, -1 if the Graph is empty.
+     */
+    public int nearest(double x, double y) {
+        int best = mTree.nearest(x, y);
+        for (int i = mTree.size(); i < mSize; i++)
+            if (best == -1 || distanceSquared(i, x, y) < distanceSquared(best, x, y)) best = i;
+        return best;
+    }
+
+    /**
+     * @param x X coordinate of the position.
+     * @param y Y coordinate of the position.
+     * @return The Vertex nearest the position.
+     * @throws IllegalStateException if the Graph is empty.
+     */
+    public Vertex<T> getNearest(double x, double y) {
+        int index = nearest(x, y);
+        if (index == -1) throw new IllegalStateException("Graph has no verticies.");
+        return mGraph.getVertex(index);
+    }
+
+    /**
+     * Finds the verticies nearest a position, as many as fit in the given array.
+     *
+     * @param x X coordinate of the position.
+     * @param y Y coordinate of the position.
+     * @param out Filled with vertex indicies, nearest first.
+     * @return The number of verticies found, the smaller of the array's length and size().
+     */
+    public int nearest(double x, double y, int[] out) {
+        int count = mTree.nearest(x, y, out);
+        for (int i = mTree.size(); i < mSize && out.length > 0; i++)
+            count = KdTree.insert(mXs, mYs, out, count, i, x, y);
+        return count;
+    }
+
+    /**
+     * Finds every Vertex within a distance of a position, in no particular order.
+     *
+     * @param x X coordinate of the position.
+     * @param y Y coordinate of the position.
+     * @param radius Largest distance from the position, inclusive.
+     * @param out Filled with vertex indicies, verticies past its length are counted but not
+     *     written.
+     * @return The number of verticies within the radius, which may be more than the array's
+     *     length.
+     */
+    public int withinRadius(double x, double y, double radius, int[] out) {
+        int count = mTree.withinRadius(x, y, radius, out);
+        for (int i = mTree.size(); i < mSize; i++) {
+            if (distanceSquared(i, x, y) <= radius * radius) {
+                if (count < out.length) out[count] = i;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private double distanceSquared(int index, double x, double y) {
+        return KdTree.distanceSquared(mXs, mYs, index, x, y);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Theta*, an any-angle search over a {@link GridGraph}. It searches the grid like A*, but whenever
+ * a cell's parent can see one of its neighbors the neighbor is linked straight to that parent, so
+ * paths are not bound to the eight grid directions. The result is only the waypoints where the
+ * path turns, which are usually near-optimal and far fewer than the cells of a grid path.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class ThetaStar {
+
+    // Grid of which this instance will operate over.
+    private final GridGraph mGrid;
+
+    // Costs and parent waypoints, by cell index.
+    private final SearchState mState;
+
+    /** @param grid The GridGraph of which this instance will operate over. */
+    public ThetaStar(GridGraph grid) {
+        mGrid = grid;
+        mState = new SearchState(grid.size());
+    }
+
+    /**
+     * @param start The starting cell.
+     * @param end The ending, goal cell.
+     * @return The list of waypoints, start to end, each of which has a clear line of sight to the
+     *     next.
+     */
+    public List<Vertex<GridCell>> astar(Vertex<GridCell> start, Vertex<GridCell> end) {
+        GridCell s = start.getData(), e = end.getData();
+
+        if (mGrid.isBlocked(s.getX(), s.getY()))
+            throw new IllegalArgumentException("Starting cell must be a free cell of the grid");
+        if (mGrid.isBlocked(e.getX(), e.getY()))
+            throw new IllegalArgumentException("Ending cell must be a free cell of the grid");
+
+        int startIndex = mGrid.indexOf(s.getX(), s.getY());
+        int endIndex = mGrid.indexOf(e.getX(), e.getY());
+
+        mState.reset(mGrid.size());
+        IndexedMinHeap openQueue = mState.getOpenQueue();
+
+        mState.set(startIndex, 0.0, mGrid.euclidean(startIndex, endIndex), -1);
+        openQueue.offer(startIndex, mState.getF(startIndex));
+
+        while (!openQueue.isEmpty()) {
+            int current = openQueue.poll();
+            mState.close(current);
+
+            if (current == endIndex) return genPath(current);
+
+            int x = mGrid.getX(current), y = mGrid.getY(current);
+            int parent = mState.getCameFrom(current);
+
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    if ((dx == 0 && dy == 0) || !mGrid.canMove(x, y, dx, dy)) continue;
+
+                    int child = mGrid.indexOf(x + dx, y + dy);
+                    if (mState.isClosed(child)) continue;
+
+                    // Link straight to the parent if it can see the child, skipping this cell.
+                    int from = current;
+                    if (parent != -1
+                            && mGrid.hasLineOfSight(
+                                    mGrid.getX(parent), mGrid.getY(parent), x + dx, y + dy))
+                        from = parent;
+
+                    double tentativeG = mState.getG(from) + mGrid.euclidean(from, child);
+                    if (tentativeG < mState.getG(child)) {
+                        double fCost = tentativeG + mGrid.euclidean(child, endIndex);
+                        mState.set(child, tentativeG, fCost, from);
+                        openQueue.offer(child, fCost);
+                    }
+                }
+            }
+        }
+        throw new IllegalArgumentException(
+                "Grid does not contain a valid path between start and end.");
+    }
+
+    /**
+     * @param end Index of the last waypoint.
+     * @return The ordered list of waypoints which lead to the given waypoint.
+     */
+    private List<Vertex<GridCell>> genPath(int end) {
+        LinkedList<Vertex<GridCell>> path = new LinkedList<>();
+        for (int v = end; v != -1; v = mState.getCameFrom(v))
+            path.addFirst(mGrid.getVertex(mGrid.getX(v), mGrid.getY(v)));
+        return path;
+    }
+}
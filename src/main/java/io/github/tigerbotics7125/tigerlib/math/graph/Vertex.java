@@ -16,15 +16,20 @@ import java.util.Objects;
 public class Vertex<T> {
 
     // Storage of this vertex.
-    private T mData;
+    private final T mData;
+
+    // Hash of the data, computed once as verticies are hashed on every Graph lookup.
+    private final int mHash;
 
     /**
      * Creates a new Vertex.
      *
-     * @param data The data to store, it must implement a valid equals and hashCode method.
+     * @param data The data to store, it must implement a valid equals and hashCode method, and not
+     *     change while in a Graph.
      */
     public Vertex(T data) {
         mData = data;
+        mHash = Objects.hashCode(data);
     }
 
     /**
@@ -47,23 +52,14 @@ public class Vertex<T> {
         return "Vertex: {" + mData.toString() + "}";
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public boolean equals(Object other) {
-        if (other instanceof Vertex<?> v) {
-            try {
-                // warns unchecked.
-                Vertex<T> vertex = (Vertex<T>) v;
-                return vertex.getData().equals(mData);
-            } catch (ClassCastException cce) {
-                return false;
-            }
-        }
-        return false;
+        if (other == this) return true;
+        return other instanceof Vertex<?> v && v.mHash == mHash && Objects.equals(v.mData, mData);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(mData);
+        return mHash;
     }
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts the data of a {@link Vertex} to and from a fixed size binary record, so a graph can be
+ * stored by {@link GraphFile}.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public interface VertexCodec<T> {
+
+    /** @return The number of bytes every record takes. */
+    int recordSize();
+
+    /**
+     * Writes the data as one record, at the buffer's position.
+     *
+     * @param data The data to write.
+     * @param buffer The buffer to write to, its position is advanced past the record.
+     */
+    void write(T data, ByteBuffer buffer);
+
+    /**
+     * Reads one record, at the buffer's position.
+     *
+     * @param buffer The buffer to read from, its position is advanced past the record.
+     * @return The data held by the record.
+     */
+    T read(ByteBuffer buffer);
+
+    /** @return A codec for Integer data, as a 4 byte int. */
+    static VertexCodec<Integer> integers() {
+        return new VertexCodec<>() {
+            @Override
+            public int recordSize() {
+                return Integer.BYTES;
+            }
+
+            @Override
+            public void write(Integer data, ByteBuffer buffer) {
+                buffer.putInt(data);
+            }
+
+            @Override
+            public Integer read(ByteBuffer buffer) {
+                return buffer.getInt();
+            }
+        };
+    }
+
+    /** @return A codec for GridCell data, as its column and row. */
+    static VertexCodec<GridCell> gridCells() {
+        return new VertexCodec<>() {
+            @Override
+            public int recordSize() {
+                return 2 * Integer.BYTES;
+            }
+
+            @Override
+            public void write(GridCell data, ByteBuffer buffer) {
+                buffer.putInt(data.getX());
+                buffer.putInt(data.getY());
+            }
+
+            @Override
+            public GridCell read(ByteBuffer buffer) {
+                return GridCell.of(buffer.getInt(), buffer.getInt());
+            }
+        };
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import edu.wpi.first.math.geometry.Translation2d;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds a visibility graph of the field from its obstacles, rather than hand placing verticies or
+ * planning over a fine grid.
+ *
+ * <p>Obstacles are inflated by the robot's radius, so the robot can be planned for as a point. The
+ * convex corners of the inflated obstacles become the verticies, and an edge joins every pair of
+ * them which can see each other. Shortest paths between obstacles always bend around these
+ * corners, so the graph holds optimal paths while being orders of magnitude smaller than a grid.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class VisibilityGraph {
+
+    private final Obstacles mObstacles;
+
+    /**
+     * @param robotRadius Radius of a circle which contains the robot's frame, in meters.
+     * @param fieldMin The corner of the field with the smallest coordinates.
+     * @param fieldMax The corner of the field with the largest coordinates.
+     */
+    public VisibilityGraph(double robotRadius, Translation2d fieldMin, Translation2d fieldMax) {
+        mObstacles =
+                new Obstacles(
+                        robotRadius,
+                        fieldMin.getX(),
+                        fieldMin.getY(),
+                        fieldMax.getX(),
+                        fieldMax.getY());
+    }
+
+    /**
+     * Adds an obstacle.
+     *
+     * @param polygon The corners of the obstacle, in either winding order.
+     * @return This, for chaining.
+     */
+    public VisibilityGraph addObstacle(List<Translation2d> polygon) {
+        double[] xs = new double[polygon.size()], ys = new double[polygon.size()];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = polygon.get(i).getX();
+            ys[i] = polygon.get(i).getY();
+        }
+        mObstacles.add(xs, ys);
+        return this;
+    }
+
+    /**
+     * Adds an obstacle.
+     *
+     * @param polygon The corners of the obstacle, in either winding order.
+     * @return This, for chaining.
+     */
+    public VisibilityGraph addObstacle(Translation2d... polygon) {
+        return addObstacle(List.of(polygon));
+    }
+
+    /**
+     * Creates the visibility graph of the obstacles added so far. Corners which lie inside another
+     * obstacle, or too close to the edge of the field, are left out.
+     *
+     * @return The graph, with a spatial index of its verticies.
+     */
+    @SuppressWarnings("unchecked")
+    public FieldGraph compile() {
+        List<Translation2d> points = new ArrayList<>();
+        for (int o = 0; o < mObstacles.size(); o++) {
+            double[] xs = mObstacles.getXs(o), ys = mObstacles.getYs(o);
+            boolean[] convex = mObstacles.getConvex(o);
+            for (int i = 0; i < xs.length; i++)
+                if (convex[i] && mObstacles.isFree(xs[i], ys[i]))
+                    points.add(new Translation2d(xs[i], ys[i]));
+        }
+
+        int size = points.size();
+        Vertex<Translation2d>[] verticies = (Vertex<Translation2d>[]) new Vertex<?>[size];
+        for (int i = 0; i < size; i++) verticies[i] = Vertex.of(points.get(i));
+
+        // Visibility is symmetric, so test each pair once and keep the result for both ends.
+        boolean[] visible = new boolean[size * size];
+        int edgeCount = 0;
+        for (int a = 0; a < size; a++) {
+            for (int b = a + 1; b < size; b++) {
+                Translation2d pa = points.get(a), pb = points.get(b);
+                if (mObstacles.isVisible(pa.getX(), pa.getY(), pb.getX(), pb.getY())) {
+                    visible[a * size + b] = visible[b * size + a] = true;
+                    edgeCount += 2;
+                }
+            }
+        }
+
+        int[] offsets = new int[size + 1];
+        int[] targets = new int[edgeCount];
+        double[] weights = new double[edgeCount];
+        int e = 0;
+        for (int a = 0; a < size; a++) {
+            offsets[a] = e;
+            for (int b = 0; b < size; b++) {
+                if (!visible[a * size + b]) continue;
+                targets[e] = b;
+                weights[e] = points.get(a).getDistance(points.get(b));
+                e++;
+            }
+        }
+        offsets[size] = e;
+
+        return new FieldGraph(
+                new CompiledGraph<>(verticies, offsets, targets, weights), mObstacles);
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.vision;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * An immutable set of AprilTag poses on the field, stored in arrays indexed by tag id. Each tag's
+ * transform, its inverse, and its corners are computed once when the layout is made, so looking a
+ * tag up neither boxes its id nor allocates.
+ *
+ * <p>Layouts load from WPILib's JSON field layouts, or from a compact binary form.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class AprilTagLayout {
+
+    /** Side length of the black square of the 2023 FRC AprilTags (16h5), in meters. */
+    public static final double kTagSize = 0.1524;
+
+    /** Largest tag id a layout may hold. */
+    public static final int kMaxId = 4095;
+
+    // Marks the start of a binary layout, "TAG1".
+    private static final int kMagic = 0x54414731;
+
+    // Doubles per tag of each array.
+    private static final int kPoseSize = 7;
+    private static final int kCornersSize = 12;
+
+    /** A layout without any tags. */
+    public static final AprilTagLayout kEmpty = new AprilTagLayout(new int[0], new double[0]);
+
+    // Index of each tag by id, -1 if there is no such tag.
+    private final int[] mIndicies;
+
+    // Tag ids, and x, y, z, qw, qx, qy, qz of each tag with normalized quaternions, by index.
+    private final int[] mIds;
+    private final double[] mPoses;
+
+    // Transform from each tag's frame to the field, and its inverse, by index.
+    private final double[] mTransforms;
+    private final double[] mInverses;
+
+    // Field corners of each tag, in the order PhotonVision detects them, by index.
+    private final double[] mCorners;
+
+    /**
+     * @param ids The id of each tag, between 0 and kMaxId, without duplicates.
+     * @param poses The x, y, z, qw, qx, qy and qz of each tag's pose on the field in turn, the
+     *     quaternions need not be normalized.
+     */
+    public AprilTagLayout(int[] ids, double[] poses) {
+        if (poses.length != ids.length * kPoseSize)
+            throw new IllegalArgumentException("There must be 7 pose values per tag.");
+
+        int maxId = -1;
+        for (int id : ids) {
+            if (id < 0 || id > kMaxId)
+                throw new IllegalArgumentException("Tag ids must be between 0 and " + kMaxId + ".");
+            maxId = Math.max(maxId, id);
+        }
+
+        mIndicies = new int[maxId + 1];
+        Arrays.fill(mIndicies, -1);
+        mIds = Arrays.copyOf(ids, ids.length);
+        mPoses = Arrays.copyOf(poses, poses.length);
+        mTransforms = new double[ids.length * Transforms.kSize];
+        mInverses = new double[ids.length * Transforms.kSize];
+        mCorners = new double[ids.length * kCornersSize];
+
+        double[] transform = new double[Transforms.kSize];
+        double h = kTagSize / 2.0;
+        for (int i = 0; i < ids.length; i++) {
+            if (mIndicies[ids[i]] != -1)
+                throw new IllegalArgumentException("Layout must not contain a tag twice.");
+            mIndicies[ids[i]] = i;
+
+            int p = i * kPoseSize;
+            Transforms.fromPose(
+                    mPoses[p],
+                    mPoses[p + 1],
+                    mPoses[p + 2],
+                    mPoses[p + 3],
+                    mPoses[p + 4],
+                    mPoses[p + 5],
+                    mPoses[p + 6],
+                    transform);
+            double norm =
+                    Math.sqrt(
+                            mPoses[p + 3] * mPoses[p + 3]
+                                    + mPoses[p + 4] * mPoses[p + 4]
+                                    + mPoses[p + 5] * mPoses[p + 5]
+                                    + mPoses[p + 6] * mPoses[p + 6]);
+            for (int j = 3; j < kPoseSize; j++) mPoses[p + j] /= norm;
+            System.arraycopy(transform, 0, mTransforms, i * Transforms.kSize, Transforms.kSize);
+            Transforms.invert(transform, 0, mInverses, i * Transforms.kSize);
+
+            // Tags face along their x axis, so as seen facing one, its left is -y.
+            int c = i * kCornersSize;
+            Transforms.apply(transform, 0.0, -h, -h, mCorners, c);
+            Transforms.apply(transform, 0.0, h, -h, mCorners, c + 3);
+            Transforms.apply(transform, 0.0, h, h, mCorners, c + 6);
+            Transforms.apply(transform, 0.0, -h, h, mCorners, c + 9);
+        }
+    }
+
+    /**
+     * Reads a layout in WPILib's JSON format, as written by {@code AprilTagFieldLayout}.
+     *
+     * @param path The JSON file.
+     * @return The layout.
+     * @throws IOException if the file cannot be read, or is not a layout.
+     */
+    public static AprilTagLayout fromJson(Path path) throws IOException {
+        JsonNode tags = new ObjectMapper().readTree(path.toFile()).path("tags");
+        if (!tags.isArray()) throw new IOException("JSON does not contain a tags array.");
+
+        int[] ids = new int[tags.size()];
+        double[] poses = new double[tags.size() * kPoseSize];
+        for (int i = 0; i < ids.length; i++) {
+            JsonNode tag = tags.get(i);
+            JsonNode translation = tag.path("pose").path("translation");
+            JsonNode quaternion = tag.path("pose").path("rotation").path("quaternion");
+
+            ids[i] = tag.path("ID").asInt(-1);
+            poses[i * kPoseSize] = translation.path("x").asDouble();
+            poses[i * kPoseSize + 1] = translation.path("y").asDouble();
+            poses[i * kPoseSize + 2] = translation.path("z").asDouble();
+            poses[i * kPoseSize + 3] = quaternion.path("W").asDouble();
+            poses[i * kPoseSize + 4] = quaternion.path("X").asDouble();
+            poses[i * kPoseSize + 5] = quaternion.path("Y").asDouble();
+            poses[i * kPoseSize + 6] = quaternion.path("Z").asDouble();
+        }
+
+        try {
+            return new AprilTagLayout(ids, poses);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("JSON is not a valid layout.", e);
+        }
+    }
+
+    /**
+     * Reads a layout written by {@link #write(OutputStream)}.
+     *
+     * @param in The stream to read from, which is not closed.
+     * @return The layout.
+     * @throws IOException if the stream cannot be read, or is not a layout.
+     */
+    public static AprilTagLayout read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != kMagic) throw new IOException("Stream is not an AprilTag layout.");
+
+        int count = data.readInt();
+        if (count < 0 || count > kMaxId + 1)
+            throw new IOException("Stream has an invalid number of tags.");
+
+        int[] ids = new int[count];
+        double[] poses = new double[count * kPoseSize];
+        for (int i = 0; i < count; i++) {
+            ids[i] = data.readInt();
+            for (int j = 0; j < kPoseSize; j++) poses[i * kPoseSize + j] = data.readDouble();
+        }
+
+        try {
+            return new AprilTagLayout(ids, poses);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Stream is not a valid layout.", e);
+        }
+    }
+
+    /**
+     * Writes the layout in a compact binary form, which {@link #read(InputStream)} reads.
+     *
+     * @param out The stream to write to, which is flushed but not closed.
+     * @throws IOException if the stream cannot be written.
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(kMagic);
+        data.writeInt(mIds.length);
+        for (int i = 0; i < mIds.length; i++) {
+            data.writeInt(mIds[i]);
+            for (int j = 0; j < kPoseSize; j++) data.writeDouble(mPoses[i * kPoseSize + j]);
+        }
+        data.flush();
+    }
+
+    /**
+     * @param id The id of the tag to add or replace.
+     * @return A copy of this layout with the tag at the given pose.
+     */
+    public AprilTagLayout withTag(
+            int id, double x, double y, double z, double qw, double qx, double qy, double qz) {
+        int index = indexOf(id);
+        int[] ids = index < 0 ? Arrays.copyOf(mIds, mIds.length + 1) : mIds;
+        double[] poses = index < 0 ? Arrays.copyOf(mPoses, mPoses.length + kPoseSize) : mPoses;
+        if (index < 0) {
+            index = mIds.length;
+            ids[index] = id;
+        } else {
+            poses = Arrays.copyOf(poses, poses.length);
+        }
+
+        int p = index * kPoseSize;
+        poses[p] = x;
+        poses[p + 1] = y;
+        poses[p + 2] = z;
+        poses[p + 3] = qw;
+        poses[p + 4] = qx;
+        poses[p + 5] = qy;
+        poses[p + 6] = qz;
+        return new AprilTagLayout(ids, poses);
+    }
+
+    private int indexOf(int id) {
+        return id >= 0 && id < mIndicies.length ? mIndicies[id] : -1;
+    }
+
+    private int checkedIndexOf(int id) {
+        int index = indexOf(id);
+        if (index < 0) throw new IllegalArgumentException("Layout does not contain tag " + id);
+        return index;
+    }
+
+    /** @return The number of tags. */
+    public int size() {
+        return mIds.length;
+    }
+
+    /** @return A copy of the tag ids. */
+    public int[] getIds() {
+        return Arrays.copyOf(mIds, mIds.length);
+    }
+
+    /**
+     * @param id The id of the tag.
+     * @return Whether the layout contains the tag.
+     */
+    public boolean contains(int id) {
+        return indexOf(id) >= 0;
+    }
+
+    /**
+     * @param id The id of the tag.
+     * @param out Filled with the x, y, z, qw, qx, qy and qz of the tag's pose, normalized.
+     * @throws IllegalArgumentException if the layout does not contain the tag.
+     */
+    public void getPose(int id, double[] out) {
+        System.arraycopy(mPoses, checkedIndexOf(id) * kPoseSize, out, 0, kPoseSize);
+    }
+
+    /**
+     * Writes a transform relative to the tag in the field's frame, the tag's transform followed
+     * by the given one.
+     *
+     * @param id The id of the tag.
+     * @param transform A transform relative to the tag.
+     * @param out The transform relative to the field, which may be the same array.
+     * @throws IllegalArgumentException if the layout does not contain the tag.
+     */
+    public void toField(int id, double[] transform, double[] out) {
+        Transforms.compose(
+                mTransforms, checkedIndexOf(id) * Transforms.kSize, transform, 0, out, 0);
+    }
+
+    /**
+     * Writes a transform relative to the field in the tag's frame, the tag's inverse transform
+     * followed by the given one.
+     *
+     * @param id The id of the tag.
+     * @param transform A transform relative to the field.
+     * @param out The transform relative to the tag, which may be the same array.
+     * @throws IllegalArgumentException if the layout does not contain the tag.
+     */
+    public void toTag(int id, double[] transform, double[] out) {
+        Transforms.compose(mInverses, checkedIndexOf(id) * Transforms.kSize, transform, 0, out, 0);
+    }
+
+    /**
+     * @param id The id of the tag.
+     * @param out Filled with the x, y and z of each of the tag's corners, in the order
+     *     PhotonVision detects them: bottom left, bottom right, top right then top left, as seen
+     *     facing the tag.
+     * @throws IllegalArgumentException if the layout does not contain the tag.
+     */
+    public void getCorners(int id, double[] out) {
+        System.arraycopy(mCorners, checkedIndexOf(id) * kCornersSize, out, 0, kCornersSize);
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.vision;
+
+import edu.wpi.first.math.geometry.Pose3d;
+import edu.wpi.first.math.geometry.Quaternion;
+import edu.wpi.first.math.geometry.Transform3d;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.util.WPIUtilJNI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Several cameras on one robot, which share one immutable tag layout. Once started, each camera
+ * decodes and solves its own frames on its own ingestion thread, so the main loop only merges
+ * their estimates into one stream ordered by timestamp, across every poll.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class CameraArray {
+
+    /** The longest an estimate is held back waiting for slower cameras, in seconds. */
+    public static final double kMaxHoldSeconds = 0.1;
+
+    private final NetworkTableInstance mNtInstance;
+    private final List<SnakeEyes> mCameras = new ArrayList<>();
+
+    // Tags shared by every camera.
+    private AprilTagLayout mLayout = AprilTagLayout.kEmpty;
+
+    private boolean mStarted;
+
+    // Orders estimates across cameras, null until started.
+    private TimeOrderedMerger<PoseEstimate> mMerger;
+
+    // Estimates polled from one camera, before they are merged.
+    private final List<PoseEstimate> mPolled = new ArrayList<>();
+
+    public CameraArray() {
+        this(NetworkTableInstance.getDefault());
+    }
+
+    public CameraArray(NetworkTableInstance ntInstance) {
+        mNtInstance = ntInstance;
+    }
+
+    /**
+     * Adds a camera, which should have its intrinsics set before starting.
+     *
+     * @param cameraName The name of the camera.
+     * @param robotToCamera Transformation from robots center (x, y), and the floor (z).
+     * @return The camera.
+     * @throws IllegalStateException if the array has been started.
+     */
+    public SnakeEyes addCamera(String cameraName, Transform3d robotToCamera) {
+        if (mStarted) throw new IllegalStateException("Cannot add cameras once started.");
+
+        SnakeEyes camera = new SnakeEyes(mNtInstance, cameraName, robotToCamera);
+        camera.setTagLayout(mLayout);
+        mCameras.add(camera);
+        return camera;
+    }
+
+    /**
+     * Add an AprilTag to every camera's known tag locations. This copies the layout, so prefer
+     * {@link #setTagLayout(AprilTagLayout)} for many tags.
+     *
+     * @param tagId
+     * @param tagPose
+     * @return This CameraArray.
+     */
+    public CameraArray addAprilTag(int tagId, Pose3d tagPose) {
+        Quaternion q = tagPose.getRotation().getQuaternion();
+        return setTagLayout(
+                mLayout.withTag(
+                        tagId,
+                        tagPose.getX(),
+                        tagPose.getY(),
+                        tagPose.getZ(),
+                        q.getW(),
+                        q.getX(),
+                        q.getY(),
+                        q.getZ()));
+    }
+
+    /**
+     * Replace every camera's known tag locations.
+     *
+     * @param layout The tag locations.
+     * @return This CameraArray.
+     */
+    public CameraArray setTagLayout(AprilTagLayout layout) {
+        mLayout = layout;
+        for (SnakeEyes camera : mCameras) camera.setTagLayout(layout);
+        return this;
+    }
+
+    /** @return The tag locations shared by every camera. */
+    public AprilTagLayout getTagLayout() {
+        return mLayout;
+    }
+
+    /** @return The cameras, unmodifiable. */
+    public List<SnakeEyes> getCameras() {
+        return Collections.unmodifiableList(mCameras);
+    }
+
+    /** @return Whether the cameras are ingesting. */
+    public boolean isStarted() {
+        return mStarted;
+    }
+
+    /**
+     * Starts every camera's ingestion thread.
+     *
+     * @param ambiguityThreshold A lone tag with a larger ambiguity than this gives no estimate.
+     */
+    public void start(double ambiguityThreshold) {
+        if (mStarted) return;
+        mStarted = true;
+        mMerger =
+                new TimeOrderedMerger<>(
+                        Math.max(1, mCameras.size()),
+                        kMaxHoldSeconds,
+                        PoseEstimate::getTimestampSeconds);
+        for (SnakeEyes camera : mCameras) camera.startIngestion(ambiguityThreshold);
+    }
+
+    /** Stops every camera's ingestion thread, after which cameras may be added again. */
+    public void stop() {
+        for (SnakeEyes camera : mCameras) camera.stopIngestion();
+        mStarted = false;
+    }
+
+    /**
+     * Adds every camera's new estimates to a list, oldest first, and never older than an
+     * estimate given out before. An estimate is held back until every camera has processed a
+     * frame at least as new, or for at most {@link #kMaxHoldSeconds}, so a camera with more
+     * latency still has its estimates merged in order.
+     *
+     * @param out The list to add to.
+     * @return The number of estimates added.
+     * @see TimeOrderedMerger
+     */
+    public int pollEstimates(List<PoseEstimate> out) {
+        if (mMerger == null) return 0;
+
+        for (int i = 0; i < mCameras.size(); i++) {
+            SnakeEyes camera = mCameras.get(i);
+            mPolled.clear();
+            camera.pollNewEstimates(mPolled);
+            for (PoseEstimate estimate : mPolled) mMerger.offer(i, estimate);
+
+            // A frame without an estimate still shows the camera has caught up to it.
+            VisionSnapshot snapshot = camera.getSnapshot();
+            if (snapshot != null) mMerger.advance(i, snapshot.getTimestamp());
+        }
+        return mMerger.poll(WPIUtilJNI.now() / 1e6, out);
+    }
+
+    /** @return The number of estimates dropped for arriving older than one given out before. */
+    public long getLateCount() {
+        return mMerger == null ? 0 : mMerger.getLateCount();
+    }
+}
@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.vision;
+
+import java.util.Arrays;
+
+/**
+ * Solves for a camera's pose from the corners of every tag it sees at once (perspective-n-point),
+ * rather than one pose per tag. Seeing several tags constrains the pose far better than any one of
+ * them, and one fused estimate is cheaper to filter than several noisy ones.
+ *
+ * <p>The pose is refined from an initial guess with Levenberg-Marquardt, minimizing the squared
+ * distance between where each corner was seen and where the pose projects it through a pinhole
+ * camera. Corners are given in pixels with lens distortion already removed.
+ *
+ * <p>The camera frame follows WPILib: x forward, y left and z up. Pixels are u right and v down
+ * from the top left of the image. All working storage is allocated up front, so once enough
+ * points have been added before, solving does not allocate.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class MultiTagSolver {
+
+    private static final int kMaxIterations = 30;
+    private static final int kMaxDampingTries = 10;
+
+    // Points closer to the camera plane than this are behind the camera, in meters.
+    private static final double kMinDepth = 1e-6;
+
+    // Camera intrinsics, in pixels.
+    private final double mFx;
+    private final double mFy;
+    private final double mCx;
+    private final double mCy;
+
+    // Field position (x, y, z) and seen pixel (u, v) of each point.
+    private double[] mPoints = new double[3 * 16];
+    private double[] mPixels = new double[2 * 16];
+    private int mCount;
+
+    // Camera pose: rotation from camera to field (row major), and position on the field.
+    private final double[] mR = new double[9];
+    private final double[] mT = new double[3];
+
+    // Candidate pose of a step, and the rotation of the step.
+    private final double[] mCandidateR = new double[9];
+    private final double[] mCandidateT = new double[3];
+    private final double[] mStepR = new double[9];
+
+    // Normal equations, J^T J and J^T r, the damped system's Cholesky factor, and the step.
+    private final double[] mH = new double[36];
+    private final double[] mG = new double[6];
+    private final double[] mL = new double[36];
+    private final double[] mDelta = new double[6];
+
+    // Jacobian rows of one point's u and v residuals.
+    private final double[] mJu = new double[6];
+    private final double[] mJv = new double[6];
+
+    // Result of the last solve.
+    private double mError = Double.NaN;
+    private int mIterations;
+
+    /**
+     * @param fx Focal length along u, in pixels.
+     * @param fy Focal length along v, in pixels.
+     * @param cx Principal point u, in pixels.
+     * @param cy Principal point v, in pixels.
+     */
+    public MultiTagSolver(double fx, double fy, double cx, double cy) {
+        if (!(fx > 0.0 && fy > 0.0))
+            throw new IllegalArgumentException("Focal lengths must be positive.");
+
+        mFx = fx;
+        mFy = fy;
+        mCx = cx;
+        mCy = cy;
+        setInitialPose(0, 0, 0, 1, 0, 0, 0);
+    }
+
+    /** Removes every point. */
+    public void clearPoints() {
+        mCount = 0;
+    }
+
+    /** @return A new solver with the same intrinsics and no points. */
+    public MultiTagSolver copy() {
+        return new MultiTagSolver(mFx, mFy, mCx, mCy);
+    }
+
+    /** @return The number of points. */
+    public int getPointCount() {
+        return mCount;
+    }
+
+    /**
+     * Adds a point seen by the camera.
+     *
+     * @param x X of the point on the field, in meters.
+     * @param y Y of the point on the field, in meters.
+     * @param z Z of the point on the field, in meters.
+     * @param u Where the point was seen along the image's width, in pixels.
+     * @param v Where the point was seen along the image's height, in pixels.
+     */
+    public void addPoint(double x, double y, double z, double u, double v) {
+        if (mCount * 3 == mPoints.length) {
+            mPoints = Arrays.copyOf(mPoints, mPoints.length * 2);
+            mPixels = Arrays.copyOf(mPixels, mPixels.length * 2);
+        }
+        mPoints[3 * mCount] = x;
+        mPoints[3 * mCount + 1] = y;
+        mPoints[3 * mCount + 2] = z;
+        mPixels[2 * mCount] = u;
+        mPixels[2 * mCount + 1] = v;
+        mCount++;
+    }
+
+    /**
+     * Sets the pose to refine from, such as a single tag's estimate or the last solve.
+     *
+     * @param x X of the camera on the field, in meters.
+     * @param y Y of the camera on the field, in meters.
+     * @param z Z of the camera on the field, in meters.
+     * @param qw W of the quaternion rotating the camera frame to the field frame.
+     * @param qx X of the quaternion.
+     * @param qy Y of the quaternion.
+     * @param qz Z of the quaternion.
+     */
+    public void setInitialPose(
+            double x, double y, double z, double qw, double qx, double qy, double qz) {
+        Transforms.setRotation(qw, qx, qy, qz, mR);
+        mT[0] = x;
+        mT[1] = y;
+        mT[2] = z;
+    }
+
+    /**
+     * Refines the pose from the initial pose, which the solved pose then replaces.
+     *
+     * @return Whether a pose was found, it needs at least 4 points, all in front of the camera.
+     */
+    public boolean solve() {
+        mIterations = 0;
+        mError = Double.NaN;
+        if (mCount < 4) return false;
+
+        double cost = cost(mR, mT);
+        if (cost == Double.POSITIVE_INFINITY) return false;
+
+        double lambda = 1e-3;
+        boolean converged = false;
+        while (!converged && mIterations < kMaxIterations) {
+            mIterations++;
+            buildNormalEquations();
+
+            // Raise the damping until a step lowers the error, if none does this is a minimum.
+            converged = true;
+            for (int tries = 0; tries < kMaxDampingTries; tries++) {
+                if (!solveDamped(lambda)) {
+                    lambda *= 10.0;
+                    continue;
+                }
+                applyStep();
+
+                double candidateCost = cost(mCandidateR, mCandidateT);
+                if (candidateCost >= cost) {
+                    lambda *= 10.0;
+                    continue;
+                }
+
+                converged =
+                        cost - candidateCost <= 1e-12 * (1.0 + cost) || stepNorm() < 1e-10;
+                System.arraycopy(mCandidateR, 0, mR, 0, 9);
+                System.arraycopy(mCandidateT, 0, mT, 0, 3);
+                cost = candidateCost;
+                lambda = Math.max(lambda / 10.0, 1e-12);
+                break;
+            }
+        }
+
+        mError = Math.sqrt(cost / mCount);
+        return true;
+    }
+
+    /** @return The sum of squared reprojection errors of the pose, +inf if a point is behind it. */
+    private double cost(double[] r, double[] t) {
+        double sum = 0.0;
+        for (int i = 0; i < mCount; i++) {
+            double dx = mPoints[3 * i] - t[0];
+            double dy = mPoints[3 * i + 1] - t[1];
+            double dz = mPoints[3 * i + 2] - t[2];
+
+            // Camera frame point, the transposed rotation takes field to camera.
+            double px = r[0] * dx + r[3] * dy + r[6] * dz;
+            double py = r[1] * dx + r[4] * dy + r[7] * dz;
+            double pz = r[2] * dx + r[5] * dy + r[8] * dz;
+            if (px < kMinDepth) return Double.POSITIVE_INFINITY;
+
+            double du = mCx - mFx * py / px - mPixels[2 * i];
+            double dv = mCy - mFy * pz / px - mPixels[2 * i + 1];
+            sum += du * du + dv * dv;
+        }
+        return sum;
+    }
+
+    /**
+     * Fills J^T J and J^T r, for a step of the camera frame: rotating it by w, then moving it by
+     * d. Such a step moves a camera frame point p by p x w - d.
+     */
+    private void buildNormalEquations() {
+        Arrays.fill(mH, 0.0);
+        Arrays.fill(mG, 0.0);
+
+        double[] ju = mJu, jv = mJv;
+        for (int i = 0; i < mCount; i++) {
+            double dx = mPoints[3 * i] - mT[0];
+            double dy = mPoints[3 * i + 1] - mT[1];
+            double dz = mPoints[3 * i + 2] - mT[2];
+            double px = mR[0] * dx + mR[3] * dy + mR[6] * dz;
+            double py = mR[1] * dx + mR[4] * dy + mR[7] * dz;
+            double pz = mR[2] * dx + mR[5] * dy + mR[8] * dz;
+
+            double ru = mCx - mFx * py / px - mPixels[2 * i];
+            double rv = mCy - mFy * pz / px - mPixels[2 * i + 1];
+
+            // Derivatives of the projection by the camera frame point.
+            double invX = 1.0 / px;
+            double uX = mFx * py * invX * invX, uY = -mFx * invX;
+            double vX = mFy * pz * invX * invX, vZ = -mFy * invX;
+
+            // By rotation, through dp/dw = [p]x, and by translation, through dp/dd = -I.
+            ju[0] = uY * pz;
+            ju[1] = -uX * pz;
+            ju[2] = uX * py - uY * px;
+            ju[3] = -uX;
+            ju[4] = -uY;
+            ju[5] = 0.0;
+            jv[0] = -vZ * py;
+            jv[1] = vZ * px - vX * pz;
+            jv[2] = vX * py;
+            jv[3] = -vX;
+            jv[4] = 0.0;
+            jv[5] = -vZ;
+
+            for (int a = 0; a < 6; a++) {
+                mG[a] += ju[a] * ru + jv[a] * rv;
+                for (int b = 0; b <= a; b++) mH[6 * a + b] += ju[a] * ju[b] + jv[a] * jv[b];
+            }
+        }
+        for (int a = 0; a < 6; a++) for (int b = a + 1; b < 6; b++) mH[6 * a + b] = mH[6 * b + a];
+    }
+
+    /**
+     * Solves (H + lambda diag(H)) delta = -g by Cholesky factorization.
+     *
+     * @return Whether the damped system is positive definite.
+     */
+    private boolean solveDamped(double lambda) {
+        for (int a = 0; a < 6; a++) {
+            for (int b = 0; b <= a; b++) {
+                double sum = mH[6 * a + b];
+                if (a == b) sum += lambda * mH[6 * a + a] + 1e-12;
+                for (int k = 0; k < b; k++) sum -= mL[6 * a + k] * mL[6 * b + k];
+
+                if (a == b) {
+                    if (!(sum > 0.0)) return false;
+                    mL[6 * a + a] = Math.sqrt(sum);
+                } else {
+                    mL[6 * a + b] = sum / mL[6 * b + b];
+                }
+            }
+        }
+
+        // Forward substitution L y = -g, then back substitution L^T delta = y.
+        for (int a = 0; a < 6; a++) {
+            double sum = -mG[a];
+            for (int k = 0; k < a; k++) sum -= mL[6 * a + k] * mDelta[k];
+            mDelta[a] = sum / mL[6 * a + a];
+        }
+        for (int a = 5; a >= 0; a--) {
+            double sum = mDelta[a];
+            for (int k = a + 1; k < 6; k++) sum -= mL[6 * k + a] * mDelta[k];
+            mDelta[a] = sum / mL[6 * a + a];
+        }
+        return true;
+    }
+
+    /** Sets the candidate pose to the current pose moved by the step. */
+    private void applyStep() {
+        double wx = mDelta[0], wy = mDelta[1], wz = mDelta[2];
+        double theta = Math.sqrt(wx * wx + wy * wy + wz * wz);
+
+        // Rodrigues' formula, with its series near zero.
+        double a = theta < 1e-8 ? 1.0 : Math.sin(theta) / theta;
+        double b = theta < 1e-8 ? 0.5 : (1.0 - Math.cos(theta)) / (theta * theta);
+        mStepR[0] = 1 - b * (wy * wy + wz * wz);
+        mStepR[1] = -a * wz + b * wx * wy;
+        mStepR[2] = a * wy + b * wx * wz;
+        mStepR[3] = a * wz + b * wx * wy;
+        mStepR[4] = 1 - b * (wx * wx + wz * wz);
+        mStepR[5] = -a * wx + b * wy * wz;
+        mStepR[6] = -a * wy + b * wx * wz;
+        mStepR[7] = a * wx + b * wy * wz;
+        mStepR[8] = 1 - b * (wx * wx + wy * wy);
+
+        for (int row = 0; row < 3; row++) {
+            for (int col = 0; col < 3; col++) {
+                mCandidateR[3 * row + col] =
+                        mR[3 * row] * mStepR[col]
+                                + mR[3 * row + 1] * mStepR[3 + col]
+                                + mR[3 * row + 2] * mStepR[6 + col];
+            }
+            // The translation step is in the camera frame.
+            mCandidateT[row] =
+                    mT[row]
+                            + mR[3 * row] * mDelta[3]
+                            + mR[3 * row + 1] * mDelta[4]
+                            + mR[3 * row + 2] * mDelta[5];
+        }
+    }
+
+    private double stepNorm() {
+        double sum = 0.0;
+        for (double d : mDelta) sum += d * d;
+        return Math.sqrt(sum);
+    }
+
+    /** @return The root mean square reprojection error of the last solve, in pixels. */
+    public double getReprojectionError() {
+        return mError;
+    }
+
+    /** @return The number of iterations of the last solve. */
+    public int getIterations() {
+        return mIterations;
+    }
+
+    /** @return X of the camera on the field, in meters. */
+    public double getX() {
+        return mT[0];
+    }
+
+    /** @return Y of the camera on the field, in meters. */
+    public double getY() {
+        return mT[1];
+    }
+
+    /** @return Z of the camera on the field, in meters. */
+    public double getZ() {
+        return mT[2];
+    }
+
+    /**
+     * Writes the quaternion rotating the camera frame to the field frame.
+     *
+     * @param out Filled with w, x, y and z.
+     */
+    public void getRotation(double[] out) {
+        Transforms.getQuaternion(mR, out);
+    }
+}
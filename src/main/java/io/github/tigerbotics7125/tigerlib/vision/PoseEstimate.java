@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.vision;
+
+import edu.wpi.first.math.geometry.Pose3d;
+
+/**
+ * An estimate of the robot's pose from one camera result, with what is needed to weigh it in a
+ * pose estimator.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class PoseEstimate {
+
+    private final Pose3d mPose;
+    private final double mTimestampSeconds;
+    private final double mReprojectionError;
+    private final int mTagCount;
+    private final String mCameraName;
+
+    /**
+     * @param pose The estimated pose of the robot.
+     * @param timestampSeconds When the image was captured, in seconds.
+     * @param reprojectionError Root mean square reprojection error of the pose, in pixels.
+     * @param tagCount How many tags the pose was estimated from.
+     * @param cameraName The name of the camera which saw the tags.
+     */
+    public PoseEstimate(
+            Pose3d pose,
+            double timestampSeconds,
+            double reprojectionError,
+            int tagCount,
+            String cameraName) {
+        mPose = pose;
+        mTimestampSeconds = timestampSeconds;
+        mReprojectionError = reprojectionError;
+        mTagCount = tagCount;
+        mCameraName = cameraName;
+    }
+
+    /** @return The estimated pose of the robot. */
+    public Pose3d getPose() {
+        return mPose;
+    }
+
+    /** @return When the image was captured, in seconds. */
+    public double getTimestampSeconds() {
+        return mTimestampSeconds;
+    }
+
+    /** @return Root mean square reprojection error of the pose, in pixels. */
+    public double getReprojectionError() {
+        return mReprojectionError;
+    }
+
+    /** @return How many tags the pose was estimated from. */
+    public int getTagCount() {
+        return mTagCount;
+    }
+
+    /** @return The name of the camera which saw the tags. */
+    public String getCameraName() {
+        return mCameraName;
+    }
+}
@@ -7,16 +7,25 @@ package io.github.tigerbotics7125.tigerlib.vision;
 
 import edu.wpi.first.math.geometry.*;
 import edu.wpi.first.net.PortForwarder;
+import edu.wpi.first.networktables.NetworkTableEvent;
 import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.NetworkTableListenerPoller;
+import edu.wpi.first.networktables.NetworkTableValue;
+import edu.wpi.first.networktables.PubSubOption;
+import edu.wpi.first.networktables.RawSubscriber;
+import edu.wpi.first.networktables.RawTopic;
+import edu.wpi.first.util.WPIUtilJNI;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 import org.photonvision.PhotonCamera;
 import org.photonvision.PhotonTargetSortMode;
+import org.photonvision.common.dataflow.structures.Packet;
 import org.photonvision.common.hardware.VisionLEDMode;
 import org.photonvision.targeting.PhotonPipelineResult;
 import org.photonvision.targeting.PhotonTrackedTarget;
+import org.photonvision.targeting.TargetCorner;
 
 /**
  * This class removes a lot of boiler plate code when designing vison logic, and allows for some
@@ -26,11 +35,60 @@ import org.photonvision.targeting.PhotonTrackedTarget;
  */
 public class SnakeEyes {
 
+    // How long the ingestion thread waits for a frame before checking whether it should stop.
+    private static final double kIngestionTimeoutSeconds = 0.1;
+
+    // How many results with targets are kept for lookup by timestamp.
+    private static final int kResultBufferSize = 32;
+
+    /** Side length of the black square of the 2023 FRC AprilTags (16h5), in meters. */
+    public static final double kTagSize = AprilTagLayout.kTagSize;
+
     protected final PhotonCamera mCam;
-    protected final Map<Integer, Pose3d> mAprilTags;
+
+    /** Known tag locations, replaced whole rather than changed so any thread may read it. */
+    protected volatile AprilTagLayout mLayout = AprilTagLayout.kEmpty;
+
+    /** Fuses every visible tag into one pose, null until the camera's intrinsics are set. */
+    protected MultiTagSolver mSolver;
+
+    // Topic PhotonVision publishes each serialized result to.
+    private final RawTopic mRawBytesTopic;
+
+    // Latest result processed by the ingestion thread, null until the first one.
+    private final AtomicReference<VisionSnapshot> mSnapshot = new AtomicReference<>();
+
+    // Recent results with targets by timestamp, guarded by itself as the ingestion thread adds to
+    // it.
+    private final TimestampedBuffer<PhotonPipelineResult> mResults =
+            new TimestampedBuffer<>(kResultBufferSize);
+
+    // Sequence of the last result added when pollNewResults was last called.
+    private long mPolledResults;
+
+    // Recent estimates of the ingestion thread by timestamp, guarded by itself.
+    private final TimestampedBuffer<PoseEstimate> mEstimates =
+            new TimestampedBuffer<>(kResultBufferSize);
+
+    // Sequence of the last estimate added when pollNewEstimates was last called.
+    private long mPolledEstimates;
+
+    // Frames with targets the ingestion thread decoded but could not keep, only it writes this.
+    private volatile long mDroppedCount;
+
+    // Thread decoding results while ingesting, null otherwise.
+    private Thread mIngestionThread;
+    private volatile boolean mIngesting;
 
     /** Transformation from robots center (x, y), and the floor (z) */
-    protected Transform3d mRobotToCamera;
+    private volatile Transform3d mRobotToCamera;
+
+    // Inverse of mRobotToCamera, see Transforms. Replaced whole, never changed, so the ingestion
+    // thread never reads half of an update.
+    private volatile double[] mCameraToRobot;
+
+    // Scratch space of the main thread.
+    private final Scratch mScratch = new Scratch();
 
     protected PhotonPipelineResult mCachedResult;
 
@@ -41,8 +99,20 @@ public class SnakeEyes {
     public SnakeEyes(
             NetworkTableInstance ntInstance, String cameraName, Transform3d robotToCamera) {
         mCam = new PhotonCamera(ntInstance, cameraName);
-        mAprilTags = new HashMap<>();
+        mRawBytesTopic =
+                ntInstance
+                        .getTable("photonvision")
+                        .getSubTable(cameraName)
+                        .getRawTopic("rawBytes");
         mRobotToCamera = robotToCamera;
+        mCameraToRobot = inverse(robotToCamera);
+    }
+
+    /** Scratch space for the pose math of one thread. */
+    private static class Scratch {
+        final double[] mTransform = new double[Transforms.kSize];
+        final double[] mCorners = new double[12];
+        final double[] mQuaternion = new double[4];
     }
 
     //
@@ -59,13 +129,171 @@ public class SnakeEyes {
     //
 
     /**
-     * Add an AprilTag to the vision systems known tag locations.
+     * Add an AprilTag to the vision systems known tag locations. This copies the layout, so
+     * prefer {@link #setTagLayout(AprilTagLayout)} for many tags.
      *
      * @param tagId
      * @param tagPose
      */
     public void addAprilTag(int tagId, Pose3d tagPose) {
-        mAprilTags.put(tagId, tagPose);
+        Quaternion q = tagPose.getRotation().getQuaternion();
+        mLayout =
+                mLayout.withTag(
+                        tagId,
+                        tagPose.getX(),
+                        tagPose.getY(),
+                        tagPose.getZ(),
+                        q.getW(),
+                        q.getX(),
+                        q.getY(),
+                        q.getZ());
+    }
+
+    /**
+     * Replace the vision systems known tag locations.
+     *
+     * @param layout The tag locations.
+     */
+    public void setTagLayout(AprilTagLayout layout) {
+        mLayout = layout;
+    }
+
+    /**
+     * Set where the camera is on the robot.
+     *
+     * @param robotToCamera Transformation from robots center (x, y), and the floor (z).
+     */
+    public void setRobotToCamera(Transform3d robotToCamera) {
+        mCameraToRobot = inverse(robotToCamera);
+        mRobotToCamera = robotToCamera;
+    }
+
+    /** @return The inverse of the transform, see {@link Transforms}. */
+    private static double[] inverse(Transform3d transform) {
+        double[] inverse = new double[Transforms.kSize];
+        toTransform(transform, inverse);
+        Transforms.invert(inverse, inverse);
+        return inverse;
+    }
+
+    /**
+     * Set the camera's intrinsics from its calibration, which enables multi tag estimates.
+     *
+     * @param fx Focal length along the image's width, in pixels.
+     * @param fy Focal length along the image's height, in pixels.
+     * @param cx Principal point along the image's width, in pixels.
+     * @param cy Principal point along the image's height, in pixels.
+     */
+    public void setCameraIntrinsics(double fx, double fy, double cx, double cy) {
+        mSolver = new MultiTagSolver(fx, fy, cx, cy);
+    }
+
+    /**
+     * Starts decoding results on a background thread as they arrive, so the main loop only reads
+     * the latest {@link VisionSnapshot}. Every frame is decoded and recorded, even several
+     * arriving at once. While ingesting, {@link #getLatestResult()} returns the
+     * latest snapshot's result rather than reading the camera itself.
+     *
+     * <p>Intrinsics must be set before starting, though the tags may be changed at any time.
+     *
+     * @param ambiguityThreshold Targets with ambiguity values greater than this are left out of
+     *     snapshots, and a lone tag this ambiguous gives no estimate.
+     */
+    public synchronized void startIngestion(double ambiguityThreshold) {
+        if (mIngestionThread != null) return;
+
+        // The thread solves with its own solver, so the main loop may still use mSolver.
+        MultiTagSolver solver = mSolver == null ? null : mSolver.copy();
+        // Every frame is sent and queued, not just the newest when the thread wakes.
+        RawSubscriber subscriber =
+                mRawBytesTopic.subscribe(
+                        "rawBytes",
+                        new byte[] {},
+                        PubSubOption.sendAll(true),
+                        PubSubOption.periodic(0.01));
+        NetworkTableListenerPoller poller =
+                new NetworkTableListenerPoller(mRawBytesTopic.getInstance());
+        poller.addListener(subscriber, EnumSet.of(NetworkTableEvent.Kind.kValueAll));
+
+        mIngesting = true;
+        mIngestionThread =
+                new Thread(
+                        () -> ingest(subscriber, poller, solver, ambiguityThreshold),
+                        "SnakeEyes " + mCam.getName());
+        mIngestionThread.setDaemon(true);
+        mIngestionThread.start();
+    }
+
+    /** Stops the ingestion thread, and waits for it to finish. */
+    public synchronized void stopIngestion() {
+        if (mIngestionThread == null) return;
+
+        mIngesting = false;
+        mIngestionThread.interrupt();
+        try {
+            mIngestionThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        mIngestionThread = null;
+        mCachedResult = null;
+    }
+
+    private void ingest(
+            RawSubscriber subscriber,
+            NetworkTableListenerPoller poller,
+            MultiTagSolver solver,
+            double ambiguityThreshold) {
+        Scratch scratch = new Scratch();
+        try (subscriber; poller) {
+            while (mIngesting) {
+                WPIUtilJNI.waitForObjectTimeout(poller.getHandle(), kIngestionTimeoutSeconds);
+
+                // Decode every frame which arrived while waiting, each with its own timestamp.
+                for (NetworkTableEvent event : poller.readQueue()) {
+                    if (event.valueData == null) continue;
+                    PhotonPipelineResult result = decode(event.valueData.value);
+                    if (result != null) process(result, solver, scratch, ambiguityThreshold);
+                }
+            }
+        } catch (InterruptedException e) {
+            // Stopped while waiting.
+        }
+    }
+
+    /** @return The result held by a raw value, null if it is empty. */
+    private static PhotonPipelineResult decode(NetworkTableValue value) {
+        byte[] data = value.getRaw();
+        if (data == null || data.length == 0) return null;
+
+        PhotonPipelineResult result = new PhotonPipelineResult();
+        result.createFromPacket(new Packet(data));
+        // As PhotonCamera does, the frame was captured its latency before it arrived.
+        result.setTimestampSeconds(value.getTime() / 1e6 - result.getLatencyMillis() / 1e3);
+        return result;
+    }
+
+    /** Records a decoded result and its estimate, and publishes it as the latest snapshot. */
+    private void process(
+            PhotonPipelineResult result,
+            MultiTagSolver solver,
+            Scratch scratch,
+            double ambiguityThreshold) {
+        boolean recorded = record(result);
+        List<PhotonTrackedTarget> targets =
+                new ArrayList<>(result.hasTargets() ? result.getTargets() : List.of());
+        PoseEstimate estimate =
+                solver == null ? null : estimate(solver, scratch, result, ambiguityThreshold);
+        if (estimate != null) {
+            synchronized (mEstimates) {
+                recorded &= mEstimates.add(estimate.getTimestampSeconds(), estimate);
+            }
+        }
+        if (!recorded && result.hasTargets()) mDroppedCount++;
+
+        mSnapshot.set(
+                new VisionSnapshot(
+                        result, removeAmbiguousTags(targets, ambiguityThreshold), estimate));
     }
 
     /** Turn the LEDs on. */
@@ -110,6 +338,11 @@ public class SnakeEyes {
     // GETTERS
     //
 
+    /** @return The name of the camera. */
+    public String getName() {
+        return mCam.getName();
+    }
+
     public Transform3d getRobotToCamera() {
         return mRobotToCamera;
     }
@@ -119,20 +352,131 @@ public class SnakeEyes {
      * @return the Pose3d of the tag, null if tag has not been added.
      */
     public Pose3d getTagPose(int tagId) {
-        return mAprilTags.get(tagId);
+        AprilTagLayout layout = mLayout;
+        if (!layout.contains(tagId)) return null;
+
+        double[] pose = new double[7];
+        layout.getPose(tagId, pose);
+        return new Pose3d(
+                new Translation3d(pose[0], pose[1], pose[2]),
+                new Rotation3d(new Quaternion(pose[3], pose[4], pose[5], pose[6])));
+    }
+
+    /** @return The known tag locations. */
+    public AprilTagLayout getTagLayout() {
+        return mLayout;
+    }
+
+    /** @return Whether results are being decoded on a background thread. */
+    public boolean isIngesting() {
+        return mIngesting;
+    }
+
+    /**
+     * @return The latest result processed by the ingestion thread, null if there is none yet.
+     */
+    public VisionSnapshot getSnapshot() {
+        return mSnapshot.get();
     }
 
     /**
      * Returns and <b>caches</b> the latest result. Allows users to make this call without
      * performing actions on the returned value.
      *
-     * @return The latest result.
+     * @return The latest result, an empty one while ingesting if no result has arrived yet.
      */
     public PhotonPipelineResult getLatestResult() {
-        mCachedResult = mCam.getLatestResult();
+        if (mIngesting) {
+            VisionSnapshot snapshot = mSnapshot.get();
+            mCachedResult = snapshot == null ? new PhotonPipelineResult() : snapshot.getResult();
+        } else {
+            mCachedResult = mCam.getLatestResult();
+            record(mCachedResult);
+        }
         return mCachedResult;
     }
 
+    /**
+     * Adds a result to the buffer of recent results, if it has targets and is new.
+     *
+     * @return Whether the result was added, or has no targets.
+     */
+    private boolean record(PhotonPipelineResult result) {
+        if (!result.hasTargets()) return true;
+        synchronized (mResults) {
+            return mResults.add(result.getTimestampSeconds(), result);
+        }
+    }
+
+    /**
+     * Frames whose latency jitters may arrive out of order, and are kept in timestamp order. Only
+     * a frame older than every kept frame, once the buffer is full, is dropped.
+     *
+     * @return The number of frames with targets the ingestion thread decoded but dropped.
+     */
+    public long getDroppedCount() {
+        return mDroppedCount;
+    }
+
+    /**
+     * Adds every recent result with targets newer than a timestamp to a list, oldest first. Only
+     * results read by {@link #getLatestResult()}, or every result while ingesting, are kept.
+     *
+     * @param timestampSeconds The timestamp, in seconds.
+     * @param out The list to add to.
+     * @return The number of results added.
+     */
+    public int getResultsSince(double timestampSeconds, List<PhotonPipelineResult> out) {
+        synchronized (mResults) {
+            return mResults.getSince(timestampSeconds, out);
+        }
+    }
+
+    /**
+     * @param timestampSeconds The timestamp, in seconds.
+     * @return The recent result with targets nearest the timestamp, null if there are none.
+     */
+    public PhotonPipelineResult getResultNearest(double timestampSeconds) {
+        synchronized (mResults) {
+            return mResults.getNearest(timestampSeconds);
+        }
+    }
+
+    /**
+     * Adds every recent result with targets which has not been polled before to a list, oldest
+     * first, so each measurement can be given to a pose estimator once with its own timestamp.
+     *
+     * <p>Only while ingesting is every frame recorded, and so given out exactly once, even one
+     * arriving after newer frames, unless it is dropped (see {@link #getDroppedCount()}).
+     * Otherwise only the frames read by {@link #getLatestResult()} are, and any arriving between
+     * reads are missed.
+     *
+     * @param out The list to add to.
+     * @return The number of results added.
+     */
+    public int pollNewResults(List<PhotonPipelineResult> out) {
+        synchronized (mResults) {
+            int count = mResults.getAddedAfter(mPolledResults, out);
+            mPolledResults = mResults.getSequence();
+            return count;
+        }
+    }
+
+    /**
+     * Adds every estimate of the ingestion thread which has not been polled before to a list,
+     * oldest first. Estimates are only kept while ingesting, with intrinsics set.
+     *
+     * @param out The list to add to.
+     * @return The number of estimates added.
+     */
+    public int pollNewEstimates(List<PoseEstimate> out) {
+        synchronized (mEstimates) {
+            int count = mEstimates.getAddedAfter(mPolledEstimates, out);
+            mPolledEstimates = mEstimates.getSequence();
+            return count;
+        }
+    }
+
     private PhotonPipelineResult getCachedResult() {
         return mCachedResult == null ? getLatestResult() : mCachedResult;
     }
@@ -163,17 +507,56 @@ public class SnakeEyes {
     /**
      * @param target The target to estimate robot pose by.
      * @return the Pose3d of the robot as known by the target.
-     * @throws IllegalArgumentException if target fiducial id is not in known tags map.
+     * @throws IllegalArgumentException if target fiducial id is not in the tag layout.
      */
     public Pose3d getRobotPose(PhotonTrackedTarget target) {
-        Pose3d targetPose = mAprilTags.get(target.getFiducialId());
+        double[] robotPose = new double[Transforms.kSize];
+        getRobotPose(target, robotPose);
+        return toPose(robotPose);
+    }
+
+    /**
+     * Estimates the robot's pose from a target without allocating.
+     *
+     * @param target The target to estimate robot pose by.
+     * @param out Filled with the transform from the field to the robot, see {@link Transforms}.
+     * @throws IllegalArgumentException if target fiducial id is not in the tag layout.
+     */
+    public void getRobotPose(PhotonTrackedTarget target, double[] out) {
+        getCameraPose(mLayout, target, out);
+        Transforms.compose(out, mCameraToRobot, out);
+    }
 
-        if (targetPose == null)
+    /** Writes the transform from the field to the camera, as known by the target. */
+    private static void getCameraPose(
+            AprilTagLayout layout, PhotonTrackedTarget target, double[] out) {
+        if (!layout.contains(target.getFiducialId()))
             throw new IllegalArgumentException("Target does not have known position.");
 
-        Transform3d targetToCam = target.getBestCameraToTarget().inverse();
+        toTransform(target.getBestCameraToTarget(), out);
+        Transforms.invert(out, out);
+        layout.toField(target.getFiducialId(), out, out);
+    }
+
+    private static void toTransform(Transform3d transform, double[] out) {
+        Quaternion q = transform.getRotation().getQuaternion();
+        Transforms.fromPose(
+                transform.getX(),
+                transform.getY(),
+                transform.getZ(),
+                q.getW(),
+                q.getX(),
+                q.getY(),
+                q.getZ(),
+                out);
+    }
 
-        return targetPose.transformBy(targetToCam).transformBy(mRobotToCamera.inverse());
+    private static Pose3d toPose(double[] transform) {
+        double[] q = new double[4];
+        Transforms.getQuaternion(transform, q);
+        return new Pose3d(
+                new Translation3d(transform[9], transform[10], transform[11]),
+                new Rotation3d(new Quaternion(q[0], q[1], q[2], q[3])));
     }
 
     /**
@@ -234,11 +617,14 @@ public class SnakeEyes {
     }
 
     /**
+     * Estimates one robot pose per target, see {@link #getMultiTagEstimate(double)} for a single
+     * pose from every target.
+     *
      * @param ambiguityThreshold
      * @return A list of estimated robot poses.
      */
     public List<Pose3d> getRobotPoseEstimates(double ambiguityThreshold) {
-        List<PhotonTrackedTarget> targets = getTargets();
+        List<PhotonTrackedTarget> targets = new ArrayList<>(getTargets());
         targets = removeAmbiguousTags(targets, ambiguityThreshold);
 
         List<Pose3d> robotPoses = new ArrayList<>();
@@ -249,4 +635,71 @@ public class SnakeEyes {
 
         return robotPoses;
     }
+
+    /**
+     * Estimates the robot's pose from every known tag in the latest result at once, solving for
+     * the pose which best reprojects all of their corners. The least ambiguous tag's pose is
+     * refined from.
+     *
+     * @param ambiguityThreshold A lone tag with a larger ambiguity than this gives no estimate,
+     *     several tags are never ambiguous.
+     * @return The estimate, null if there is none.
+     * @throws IllegalStateException if the camera's intrinsics have not been set.
+     */
+    public PoseEstimate getMultiTagEstimate(double ambiguityThreshold) {
+        if (mSolver == null) throw new IllegalStateException("Camera intrinsics are not set.");
+
+        return estimate(mSolver, mScratch, getCachedResult(), ambiguityThreshold);
+    }
+
+    private PoseEstimate estimate(
+            MultiTagSolver solver,
+            Scratch scratch,
+            PhotonPipelineResult result,
+            double ambiguityThreshold) {
+        if (!result.hasTargets()) return null;
+        solver.clearPoints();
+
+        AprilTagLayout layout = mLayout;
+        double[] corners = scratch.mCorners;
+        PhotonTrackedTarget seed = null;
+        int tagCount = 0;
+        for (PhotonTrackedTarget target : result.getTargets()) {
+            List<TargetCorner> detected = target.getDetectedCorners();
+            if (!layout.contains(target.getFiducialId())) continue;
+            if (detected == null || detected.size() != 4) continue;
+
+            layout.getCorners(target.getFiducialId(), corners);
+            for (int c = 0; c < 4; c++) {
+                solver.addPoint(
+                        corners[3 * c],
+                        corners[3 * c + 1],
+                        corners[3 * c + 2],
+                        detected.get(c).x,
+                        detected.get(c).y);
+            }
+            tagCount++;
+            if (seed == null || target.getPoseAmbiguity() < seed.getPoseAmbiguity()) seed = target;
+        }
+
+        if (seed == null) return null;
+        if (tagCount == 1 && seed.getPoseAmbiguity() > ambiguityThreshold) return null;
+
+        double[] camera = scratch.mTransform, q = scratch.mQuaternion;
+        getCameraPose(layout, seed, camera);
+        Transforms.getQuaternion(camera, q);
+        solver.setInitialPose(camera[9], camera[10], camera[11], q[0], q[1], q[2], q[3]);
+        if (!solver.solve()) return null;
+
+        solver.getRotation(q);
+        Transforms.fromPose(
+                solver.getX(), solver.getY(), solver.getZ(), q[0], q[1], q[2], q[3], camera);
+        Transforms.compose(camera, mCameraToRobot, camera);
+        return new PoseEstimate(
+                toPose(camera),
+                result.getTimestampSeconds(),
+                solver.getReprojectionError(),
+                tagCount,
+                mCam.getName());
+    }
 }
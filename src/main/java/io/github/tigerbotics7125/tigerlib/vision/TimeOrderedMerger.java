@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.vision;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Merges timestamped values from several sources, each in its own time order, into one stream in
+ * time order across every poll. A value is held back until every source has reached its
+ * timestamp, so a source with more latency can not give one older than a value already released.
+ *
+ * <p>A source which stops, such as a camera which is unplugged, would hold back every value, so
+ * values are released anyway once they are older than the longest hold. A value which then
+ * arrives older than one already released is dropped and counted, rather than break the order.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class TimeOrderedMerger<T> {
+
+    private final ToDoubleFunction<T> mTimestamp;
+    private final Comparator<T> mByTimestamp;
+    private final double mMaxHoldSeconds;
+
+    // Latest timestamp each source has reached.
+    private final double[] mWatermarks;
+
+    // Values not yet released, in no particular order.
+    private final List<T> mPending = new ArrayList<>();
+
+    // Timestamp of the last value released.
+    private double mReleased = Double.NEGATIVE_INFINITY;
+    private long mLateCount;
+
+    /**
+     * @param sources The number of sources.
+     * @param maxHoldSeconds The longest a value is held back waiting for every source, in seconds.
+     * @param timestamp The timestamp of a value, in seconds.
+     */
+    public TimeOrderedMerger(int sources, double maxHoldSeconds, ToDoubleFunction<T> timestamp) {
+        if (sources <= 0) throw new IllegalArgumentException("There must be a source.");
+        if (!(maxHoldSeconds >= 0.0))
+            throw new IllegalArgumentException("Max hold must not be negative.");
+
+        mTimestamp = timestamp;
+        mByTimestamp = Comparator.comparingDouble(timestamp);
+        mMaxHoldSeconds = maxHoldSeconds;
+        mWatermarks = new double[sources];
+        Arrays.fill(mWatermarks, Double.NEGATIVE_INFINITY);
+    }
+
+    /**
+     * Adds a value, which also advances its source to the value's timestamp.
+     *
+     * @param source Index of the value's source.
+     * @param value The value.
+     * @return Whether the value was added, it is not if it is older than one already released.
+     */
+    public boolean offer(int source, T value) {
+        double timestamp = mTimestamp.applyAsDouble(value);
+        advance(source, timestamp);
+        if (timestamp < mReleased) {
+            mLateCount++;
+            return false;
+        }
+        mPending.add(value);
+        return true;
+    }
+
+    /**
+     * Records that a source has reached a time, even without giving a value for it, such as a
+     * camera which saw no tags.
+     *
+     * @param source Index of the source.
+     * @param timestamp The time the source has reached, in seconds.
+     */
+    public void advance(int source, double timestamp) {
+        mWatermarks[source] = Math.max(mWatermarks[source], timestamp);
+    }
+
+    /**
+     * Releases every value which every source has reached, or which has been held for the
+     * longest hold, oldest first.
+     *
+     * @param nowSeconds The current time, on the same clock as the timestamps.
+     * @param out The list to add to.
+     * @return The number of values released.
+     */
+    public int poll(double nowSeconds, List<? super T> out) {
+        double release = Double.POSITIVE_INFINITY;
+        for (double watermark : mWatermarks) release = Math.min(release, watermark);
+        release = Math.max(release, nowSeconds - mMaxHoldSeconds);
+
+        mPending.sort(mByTimestamp);
+        int count = 0;
+        while (count < mPending.size()
+                && mTimestamp.applyAsDouble(mPending.get(count)) <= release) count++;
+        if (count == 0) return 0;
+
+        List<T> released = mPending.subList(0, count);
+        mReleased = mTimestamp.applyAsDouble(released.get(count - 1));
+        out.addAll(released);
+        released.clear();
+        return count;
+    }
+
+    /** @return The number of values held back. */
+    public int getPendingCount() {
+        return mPending.size();
+    }
+
+    /** @return The number of values dropped for arriving older than one already released. */
+    public long getLateCount() {
+        return mLateCount;
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.vision;
+
+import java.util.List;
+
+/**
+ * A fixed capacity ring buffer of values sorted by timestamp, which drops its oldest value once
+ * full. Nothing is allocated after construction.
+ *
+ * <p>Values are indexed oldest first, from 0 to {@code size() - 1}. A value may arrive out of
+ * order, older than values already held, and is inserted in its place. Each value is also
+ * numbered in the order it was added, so readers can find the values added since they last read
+ * even when those are not the newest.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class TimestampedBuffer<T> {
+
+    private final Object[] mValues;
+    private final double[] mTimestamps;
+
+    // Number of each value in the order values were added, and the number of the last value.
+    private final long[] mSequences;
+    private long mSequence;
+
+    // Physical index of the oldest value, and the number of values.
+    private int mHead;
+    private int mSize;
+
+    /** @param capacity The most values held at once, positive. */
+    public TimestampedBuffer(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive.");
+
+        mValues = new Object[capacity];
+        mTimestamps = new double[capacity];
+        mSequences = new long[capacity];
+    }
+
+    /**
+     * Inserts a value in timestamp order, dropping the oldest value if the buffer is full.
+     *
+     * @param timestamp The value's timestamp, in seconds.
+     * @param value The value.
+     * @return Whether the value was added. It is not if a value with the same timestamp is held,
+     *     or if the buffer is full and the value is older than every value held.
+     */
+    public boolean add(double timestamp, T value) {
+        if (Double.isNaN(timestamp)) return false;
+
+        int index = indexAfter(timestamp);
+        if (index > 0 && getTimestamp(index - 1) == timestamp) return false;
+        if (mSize == mValues.length) {
+            if (index == 0) return false;
+
+            mValues[mHead] = null;
+            mHead = physical(1);
+            mSize--;
+            index--;
+        }
+
+        // Move the newer values up to make room.
+        for (int i = mSize; i > index; i--) {
+            int to = physical(i), from = physical(i - 1);
+            mValues[to] = mValues[from];
+            mTimestamps[to] = mTimestamps[from];
+            mSequences[to] = mSequences[from];
+        }
+
+        int slot = physical(index);
+        mValues[slot] = value;
+        mTimestamps[slot] = timestamp;
+        mSequences[slot] = ++mSequence;
+        mSize++;
+        return true;
+    }
+
+    private int physical(int index) {
+        int slot = mHead + index;
+        return slot >= mValues.length ? slot - mValues.length : slot;
+    }
+
+    /** Removes every value. */
+    public void clear() {
+        for (int i = 0; i < mSize; i++) mValues[physical(i)] = null;
+        mHead = 0;
+        mSize = 0;
+    }
+
+    /** @return The number of values. */
+    public int size() {
+        return mSize;
+    }
+
+    /** @return The most values held at once. */
+    public int getCapacity() {
+        return mValues.length;
+    }
+
+    /**
+     * @param index Index of the value, 0 is the oldest.
+     * @return The value.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkIndex(index);
+        return (T) mValues[physical(index)];
+    }
+
+    /**
+     * @param index Index of the value, 0 is the oldest.
+     * @return The value's timestamp, in seconds.
+     */
+    public double getTimestamp(int index) {
+        checkIndex(index);
+        return mTimestamps[physical(index)];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= mSize)
+            throw new IndexOutOfBoundsException("Index " + index + " out of size " + mSize);
+    }
+
+    /** @return The latest value, null if there are none. */
+    public T getLatest() {
+        return mSize == 0 ? null : get(mSize - 1);
+    }
+
+    /**
+     * @param timestamp The timestamp, in seconds.
+     * @return The index of the oldest value newer than the timestamp, size() if there are none.
+     */
+    public int indexAfter(double timestamp) {
+        int lo = 0, hi = mSize;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (mTimestamps[physical(mid)] > timestamp) hi = mid;
+            else lo = mid + 1;
+        }
+        return lo;
+    }
+
+    /**
+     * @param timestamp The timestamp, in seconds.
+     * @return The index of the value nearest the timestamp, -1 if there are none.
+     */
+    public int indexNearest(double timestamp) {
+        if (mSize == 0) return -1;
+
+        int after = indexAfter(timestamp);
+        if (after == 0) return 0;
+        if (after == mSize) return mSize - 1;
+        return timestamp - getTimestamp(after - 1) <= getTimestamp(after) - timestamp
+                ? after - 1
+                : after;
+    }
+
+    /**
+     * @param timestamp The timestamp, in seconds.
+     * @return The value nearest the timestamp, null if there are none.
+     */
+    public T getNearest(double timestamp) {
+        int index = indexNearest(timestamp);
+        return index < 0 ? null : get(index);
+    }
+
+    /**
+     * Adds every value newer than the timestamp to a list, oldest first.
+     *
+     * @param timestamp The timestamp, in seconds.
+     * @param out The list to add to.
+     * @return The number of values added.
+     */
+    public int getSince(double timestamp, List<? super T> out) {
+        int start = indexAfter(timestamp);
+        for (int i = start; i < mSize; i++) out.add(get(i));
+        return mSize - start;
+    }
+
+    /** @return The number of the last value added, 0 if none have been, it is never reset. */
+    public long getSequence() {
+        return mSequence;
+    }
+
+    /**
+     * Adds every value held which was added after another to a list, oldest first by timestamp.
+     *
+     * @param sequence The number of the other value, such as {@link #getSequence()} when last
+     *     read.
+     * @param out The list to add to.
+     * @return The number of values added.
+     */
+    public int getAddedAfter(long sequence, List<? super T> out) {
+        int count = 0;
+        for (int i = 0; i < mSize; i++) {
+            int slot = physical(i);
+            if (mSequences[slot] > sequence) {
+                @SuppressWarnings("unchecked")
+                T value = (T) mValues[slot];
+                out.add(value);
+                count++;
+            }
+        }
+        return count;
+    }
+}
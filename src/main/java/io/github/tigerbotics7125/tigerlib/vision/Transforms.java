@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.vision;
+
+/**
+ * Rigid 3d transforms stored in double arrays, for pose math which does not allocate.
+ *
+ * <p>A transform is {@link #kSize} doubles: its rotation matrix in row major order, then its
+ * translation. Every method may write to the same array it reads from.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class Transforms {
+
+    /** The number of doubles in a transform. */
+    public static final int kSize = 12;
+
+    private Transforms() {}
+
+    /**
+     * Writes a transform from a translation and a quaternion, which need not be normalized.
+     *
+     * @param out The transform to write.
+     */
+    public static void fromPose(
+            double x,
+            double y,
+            double z,
+            double qw,
+            double qx,
+            double qy,
+            double qz,
+            double[] out) {
+        setRotation(qw, qx, qy, qz, out);
+        out[9] = x;
+        out[10] = y;
+        out[11] = z;
+    }
+
+    /**
+     * Writes the rotation matrix of a quaternion, which need not be normalized.
+     *
+     * @param out Its first 9 doubles are written.
+     */
+    public static void setRotation(double qw, double qx, double qy, double qz, double[] out) {
+        double norm = Math.sqrt(qw * qw + qx * qx + qy * qy + qz * qz);
+        if (!(norm > 0.0)) throw new IllegalArgumentException("Quaternion must not be zero.");
+        qw /= norm;
+        qx /= norm;
+        qy /= norm;
+        qz /= norm;
+
+        out[0] = 1 - 2 * (qy * qy + qz * qz);
+        out[1] = 2 * (qx * qy - qz * qw);
+        out[2] = 2 * (qx * qz + qy * qw);
+        out[3] = 2 * (qx * qy + qz * qw);
+        out[4] = 1 - 2 * (qx * qx + qz * qz);
+        out[5] = 2 * (qy * qz - qx * qw);
+        out[6] = 2 * (qx * qz - qy * qw);
+        out[7] = 2 * (qy * qz + qx * qw);
+        out[8] = 1 - 2 * (qx * qx + qy * qy);
+    }
+
+    /**
+     * Writes the quaternion of a rotation matrix.
+     *
+     * @param r The rotation matrix, its first 9 doubles are read.
+     * @param out Filled with w, x, y and z.
+     */
+    public static void getQuaternion(double[] r, double[] out) {
+        double trace = r[0] + r[4] + r[8];
+        double w, x, y, z;
+        if (trace > 0.0) {
+            double s = 2.0 * Math.sqrt(trace + 1.0);
+            w = 0.25 * s;
+            x = (r[7] - r[5]) / s;
+            y = (r[2] - r[6]) / s;
+            z = (r[3] - r[1]) / s;
+        } else if (r[0] > r[4] && r[0] > r[8]) {
+            double s = 2.0 * Math.sqrt(1.0 + r[0] - r[4] - r[8]);
+            w = (r[7] - r[5]) / s;
+            x = 0.25 * s;
+            y = (r[1] + r[3]) / s;
+            z = (r[2] + r[6]) / s;
+        } else if (r[4] > r[8]) {
+            double s = 2.0 * Math.sqrt(1.0 + r[4] - r[0] - r[8]);
+            w = (r[2] - r[6]) / s;
+            x = (r[1] + r[3]) / s;
+            y = 0.25 * s;
+            z = (r[5] + r[7]) / s;
+        } else {
+            double s = 2.0 * Math.sqrt(1.0 + r[8] - r[0] - r[4]);
+            w = (r[3] - r[1]) / s;
+            x = (r[2] + r[6]) / s;
+            y = (r[5] + r[7]) / s;
+            z = 0.25 * s;
+        }
+        out[0] = w;
+        out[1] = x;
+        out[2] = y;
+        out[3] = z;
+    }
+
+    /**
+     * @param t The transform to invert.
+     * @param out The inverse, which undoes the transform.
+     */
+    public static void invert(double[] t, double[] out) {
+        invert(t, 0, out, 0);
+    }
+
+    static void invert(double[] t, int tOffset, double[] out, int outOffset) {
+        double r0 = t[tOffset], r1 = t[tOffset + 1], r2 = t[tOffset + 2];
+        double r3 = t[tOffset + 3], r4 = t[tOffset + 4], r5 = t[tOffset + 5];
+        double r6 = t[tOffset + 6], r7 = t[tOffset + 7], r8 = t[tOffset + 8];
+        double x = t[tOffset + 9], y = t[tOffset + 10], z = t[tOffset + 11];
+
+        // The inverse rotation is the transpose, and it moves the translation back.
+        out[outOffset] = r0;
+        out[outOffset + 1] = r3;
+        out[outOffset + 2] = r6;
+        out[outOffset + 3] = r1;
+        out[outOffset + 4] = r4;
+        out[outOffset + 5] = r7;
+        out[outOffset + 6] = r2;
+        out[outOffset + 7] = r5;
+        out[outOffset + 8] = r8;
+        out[outOffset + 9] = -(r0 * x + r3 * y + r6 * z);
+        out[outOffset + 10] = -(r1 * x + r4 * y + r7 * z);
+        out[outOffset + 11] = -(r2 * x + r5 * y + r8 * z);
+    }
+
+    /**
+     * Writes a followed by b, as {@code Pose3d.transformBy} would, so b is relative to a.
+     *
+     * @param a The first transform.
+     * @param b The transform relative to the first.
+     * @param out The combined transform.
+     */
+    public static void compose(double[] a, double[] b, double[] out) {
+        compose(a, 0, b, 0, out, 0);
+    }
+
+    static void compose(
+            double[] a, int aOffset, double[] b, int bOffset, double[] out, int outOffset) {
+        double a0 = a[aOffset], a1 = a[aOffset + 1], a2 = a[aOffset + 2];
+        double a3 = a[aOffset + 3], a4 = a[aOffset + 4], a5 = a[aOffset + 5];
+        double a6 = a[aOffset + 6], a7 = a[aOffset + 7], a8 = a[aOffset + 8];
+        double ax = a[aOffset + 9], ay = a[aOffset + 10], az = a[aOffset + 11];
+        double b0 = b[bOffset], b1 = b[bOffset + 1], b2 = b[bOffset + 2];
+        double b3 = b[bOffset + 3], b4 = b[bOffset + 4], b5 = b[bOffset + 5];
+        double b6 = b[bOffset + 6], b7 = b[bOffset + 7], b8 = b[bOffset + 8];
+        double bx = b[bOffset + 9], by = b[bOffset + 10], bz = b[bOffset + 11];
+
+        out[outOffset] = a0 * b0 + a1 * b3 + a2 * b6;
+        out[outOffset + 1] = a0 * b1 + a1 * b4 + a2 * b7;
+        out[outOffset + 2] = a0 * b2 + a1 * b5 + a2 * b8;
+        out[outOffset + 3] = a3 * b0 + a4 * b3 + a5 * b6;
+        out[outOffset + 4] = a3 * b1 + a4 * b4 + a5 * b7;
+        out[outOffset + 5] = a3 * b2 + a4 * b5 + a5 * b8;
+        out[outOffset + 6] = a6 * b0 + a7 * b3 + a8 * b6;
+        out[outOffset + 7] = a6 * b1 + a7 * b4 + a8 * b7;
+        out[outOffset + 8] = a6 * b2 + a7 * b5 + a8 * b8;
+        out[outOffset + 9] = ax + a0 * bx + a1 * by + a2 * bz;
+        out[outOffset + 10] = ay + a3 * bx + a4 * by + a5 * bz;
+        out[outOffset + 11] = az + a6 * bx + a7 * by + a8 * bz;
+    }
+
+    /**
+     * Writes a point moved by a transform.
+     *
+     * @param t The transform.
+     * @param out Filled with the moved point's x, y and z from the offset.
+     */
+    public static void apply(double[] t, double x, double y, double z, double[] out, int offset) {
+        out[offset] = t[9] + t[0] * x + t[1] * y + t[2] * z;
+        out[offset + 1] = t[10] + t[3] * x + t[4] * y + t[5] * z;
+        out[offset + 2] = t[11] + t[6] * x + t[7] * y + t[8] * z;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.vision;
+
+import java.util.List;
+import org.photonvision.targeting.PhotonPipelineResult;
+import org.photonvision.targeting.PhotonTrackedTarget;
+
+/**
+ * One camera result after it has been decoded and processed off the main loop. Snapshots are
+ * published whole and never changed afterwards, so any thread may read them.
+ *
+ * @author Jeffrey Morris | Tigerbotics 7125
+ * @since 2023
+ */
+public class VisionSnapshot {
+
+    private final PhotonPipelineResult mResult;
+    private final List<PhotonTrackedTarget> mTargets;
+    private final PoseEstimate mEstimate;
+
+    /**
+     * @param result The decoded result, which must not be changed afterwards.
+     * @param targets The result's targets which are not too ambiguous.
+     * @param estimate The multi tag estimate of the result, null if there is none.
+     */
+    public VisionSnapshot(
+            PhotonPipelineResult result, List<PhotonTrackedTarget> targets, PoseEstimate estimate) {
+        mResult = result;
+        mTargets = List.copyOf(targets);
+        mEstimate = estimate;
+    }
+
+    /** @return The decoded result. */
+    public PhotonPipelineResult getResult() {
+        return mResult;
+    }
+
+    /** @return The result's targets which are not too ambiguous, unmodifiable. */
+    public List<PhotonTrackedTarget> getTargets() {
+        return mTargets;
+    }
+
+    /** @return The multi tag estimate of the result, null if there is none. */
+    public PoseEstimate getEstimate() {
+        return mEstimate;
+    }
+
+    /** @return The timestamp of the result in seconds. */
+    public double getTimestamp() {
+        return mResult.getTimestampSeconds();
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class AStarTest {
+
+    /**
+     * Creates a width x height, 8-connected grid graph, where each vertex holds {@code x + y *
+     * width} and the cells in column 2 (besides the top row) are walls.
+     */
+    private static Graph<Integer> gridGraph(int width, int height) {
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < width * height; i++) graph.addVertex(i);
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (isWall(x, y)) continue;
+                for (int dy = 0; dy <= 1; dy++) {
+                    for (int dx = -1; dx <= 1; dx++) {
+                        if (dy == 0 && dx <= 0) continue;
+                        int nx = x + dx, ny = y + dy;
+                        if (nx < 0 || nx >= width || ny >= height || isWall(nx, ny)) continue;
+                        graph.addEdge(x + y * width, nx + ny * width, Math.hypot(dx, dy));
+                    }
+                }
+            }
+        }
+        return graph;
+    }
+
+    private static boolean isWall(int x, int y) {
+        return x == 2 && y > 0;
+    }
+
+    private static double cost(List<Vertex<Integer>> path, int width) {
+        double cost = 0.0;
+        for (int i = 1; i < path.size(); i++) {
+            int a = path.get(i - 1).getData(), b = path.get(i).getData();
+            cost += Math.hypot(a % width - b % width, a / width - b / width);
+        }
+        return cost;
+    }
+
+    @Test
+    public void compiledMatchesAStarTest() {
+        int width = 6;
+        Graph<Integer> graph = gridGraph(width, 5);
+        CompiledGraph<Integer> compiled = graph.compile();
+
+        assertEquals(30, compiled.size());
+
+        AStar<Integer> astar =
+                new AStar<>(
+                        graph,
+                        t -> {
+                            int va = t.getFirst().getData(), vb = t.getSecond().getData();
+                            return Math.hypot(
+                                    va % width - vb % width, va / width - vb / width);
+                        });
+        CompiledAStar<Integer> compiledAStar =
+                new CompiledAStar<>(
+                        compiled,
+                        (a, b) -> {
+                            int va = compiled.getVertex(a).getData();
+                            int vb = compiled.getVertex(b).getData();
+                            return Math.hypot(
+                                    va % width - vb % width, va / width - vb / width);
+                        });
+
+        CompiledAStar<Integer> dijkstra = new CompiledAStar<>(compiled, (a, b) -> 0.0);
+
+        for (int start : new int[] {0, 6, 24}) {
+            for (int end : new int[] {5, 17, 29}) {
+                var expected = astar.astar(Vertex.of(start), Vertex.of(end));
+                var actual = compiledAStar.astar(Vertex.of(start), Vertex.of(end));
+
+                assertEquals(Vertex.of(start), actual.get(0));
+                assertEquals(Vertex.of(end), actual.get(actual.size() - 1));
+                assertEquals(cost(expected, width), cost(actual, width), 1e-9);
+                assertEquals(cost(dijkstra.astar(start, end), width), cost(actual, width), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void bidirectionalTest() {
+        GridGraph grid = new GridGraph(40, 30);
+        grid.setBlocked(10, 0, 10, 25, true);
+        grid.setBlocked(20, 5, 20, 29, true);
+        grid.setBlocked(30, 0, 30, 20, true);
+        grid.setBlocked(0, 15, 5, 15, true);
+        CompiledGraph<GridCell> graph = grid.compile();
+        CompiledAStar<GridCell> astar = new CompiledAStar<>(graph, grid::octile);
+
+        for (int start = 0; start < graph.size(); start += 97) {
+            for (int end = 0; end < graph.size(); end += 89) {
+                List<Vertex<GridCell>> expected;
+                try {
+                    expected = astar.astar(start, end, CompiledAStar.SearchMode.UNIDIRECTIONAL);
+                } catch (IllegalArgumentException iae) {
+                    int s = start, e = end;
+                    assertThrows(
+                            IllegalArgumentException.class,
+                            () -> astar.astar(s, e, CompiledAStar.SearchMode.BIDIRECTIONAL));
+                    continue;
+                }
+                var actual = astar.astar(start, end, CompiledAStar.SearchMode.BIDIRECTIONAL);
+
+                assertEquals(graph.getVertex(start), actual.get(0));
+                assertEquals(graph.getVertex(end), actual.get(actual.size() - 1));
+                assertEquals(gridCost(expected), gridCost(actual), 1e-9);
+                for (int i = 1; i < actual.size(); i++) {
+                    GridCell a = actual.get(i - 1).getData(), b = actual.get(i).getData();
+                    int dx = b.getX() - a.getX(), dy = b.getY() - a.getY();
+                    assertTrue(grid.canMove(a.getX(), a.getY(), dx, dy));
+                }
+            }
+        }
+    }
+
+    private static double gridCost(List<Vertex<GridCell>> path) {
+        double cost = 0.0;
+        for (int i = 1; i < path.size(); i++) {
+            GridCell a = path.get(i - 1).getData(), b = path.get(i).getData();
+            cost += Math.hypot(a.getX() - b.getX(), a.getY() - b.getY());
+        }
+        return cost;
+    }
+
+    @Test
+    public void compiledNoPathTest() {
+        Graph<Integer> graph = gridGraph(4, 4);
+        graph.addVertex(100);
+        CompiledAStar<Integer> astar = new CompiledAStar<>(graph.compile(), (a, b) -> 0.0);
+
+        assertThrows(
+                IllegalArgumentException.class, () -> astar.astar(Vertex.of(0), Vertex.of(100)));
+        assertThrows(
+                IllegalArgumentException.class, () -> astar.astar(Vertex.of(0), Vertex.of(200)));
+    }
+}
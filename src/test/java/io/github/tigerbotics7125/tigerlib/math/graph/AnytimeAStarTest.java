@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class AnytimeAStarTest {
+
+    /** A 60 x 60 grid with walls, so the inflated heuristic leads the first path astray. */
+    private static GridGraph walledGrid() {
+        GridGraph grid = new GridGraph(60, 60);
+        grid.setBlocked(30, 0, 30, 50, true);
+        grid.setBlocked(10, 20, 29, 20, true);
+        grid.setBlocked(31, 40, 50, 40, true);
+        return grid;
+    }
+
+    /** @return The travel cost of a path of grid cells. */
+    private static double cost(GridGraph grid, List<Vertex<GridCell>> path) {
+        double cost = 0.0;
+        for (int i = 1; i < path.size(); i++) {
+            GridCell a = path.get(i - 1).getData(), b = path.get(i).getData();
+            cost += grid.octile(grid.indexOf(a.getX(), a.getY()), grid.indexOf(b.getX(), b.getY()));
+        }
+        return cost;
+    }
+
+    @Test
+    public void optimalTest() {
+        GridGraph grid = walledGrid();
+        CompiledGraph<GridCell> graph = grid.compile();
+        int start = grid.indexOf(5, 5), end = grid.indexOf(55, 5);
+
+        double expected = cost(grid, new CompiledAStar<>(graph, grid::octile).astar(start, end));
+
+        AnytimeAStar<GridCell> planner = new AnytimeAStar<>(graph, grid::octile);
+        PlanResult<GridCell> result = planner.plan(start, end, Long.MAX_VALUE, Integer.MAX_VALUE);
+
+        assertTrue(result.isOptimal());
+        assertEquals(expected, result.getCost(), 1e-9);
+        assertEquals(expected, cost(grid, result.getPath()), 1e-9);
+    }
+
+    @Test
+    public void budgetTest() {
+        GridGraph grid = walledGrid();
+        CompiledGraph<GridCell> graph = grid.compile();
+        int start = grid.indexOf(5, 5), end = grid.indexOf(55, 5);
+
+        double optimal = cost(grid, new CompiledAStar<>(graph, grid::octile).astar(start, end));
+        AnytimeAStar<GridCell> planner = new AnytimeAStar<>(graph, grid::octile, 5.0, 1.0);
+
+        // Too few expansions for any path.
+        PlanResult<GridCell> result = planner.plan(start, end, Long.MAX_VALUE, 5);
+        assertFalse(result.hasPath());
+        assertEquals(5, planner.getExpanded());
+
+        // Keep planning in small slices, each result must respect its bound and never get worse.
+        double lastCost = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < 1000 && !result.isOptimal(); i++) {
+            result = planner.plan(start, end, Long.MAX_VALUE, 50);
+            if (!result.hasPath()) continue;
+
+            assertTrue(result.getCost() <= lastCost + 1e-9);
+            assertTrue(result.getSuboptimality() >= 1.0);
+            assertTrue(result.getCost() <= optimal * result.getSuboptimality() + 1e-9);
+            lastCost = result.getCost();
+        }
+
+        assertTrue(result.isOptimal());
+        assertEquals(optimal, result.getCost(), 1e-9);
+        assertEquals(result, planner.getLastResult());
+    }
+
+    @Test
+    public void noPathTest() {
+        GridGraph grid = new GridGraph(10, 10);
+        grid.setBlocked(5, 0, 5, 9, true);
+        CompiledGraph<GridCell> graph = grid.compile();
+
+        AnytimeAStar<GridCell> planner = new AnytimeAStar<>(graph, grid::octile);
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> planner.plan(grid.getVertex(0, 0), grid.getVertex(9, 9), Long.MAX_VALUE));
+    }
+}
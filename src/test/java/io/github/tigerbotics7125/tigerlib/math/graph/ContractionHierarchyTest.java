@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class ContractionHierarchyTest {
+
+    /** @return The travel cost of the path, or +inf if it follows an edge not in the graph. */
+    private static <T> double cost(CompiledGraph<T> graph, List<Vertex<T>> path) {
+        double cost = 0.0;
+        for (int i = 1; i < path.size(); i++) {
+            int from = graph.indexOf(path.get(i - 1)), to = graph.indexOf(path.get(i));
+            double weight = Double.POSITIVE_INFINITY;
+            for (int e = graph.getEdgeStart(from); e < graph.getEdgeEnd(from); e++)
+                if (graph.getEdgeTarget(e) == to)
+                    weight = Math.min(weight, graph.getEdgeWeight(e));
+            cost += weight;
+        }
+        return cost;
+    }
+
+    @Test
+    public void gridTest() {
+        GridGraph grid = new GridGraph(40, 40);
+        grid.setBlocked(20, 4, 20, 39, true);
+        grid.setBlocked(5, 10, 15, 11, true);
+        CompiledGraph<GridCell> graph = grid.compile();
+
+        ContractionHierarchy<GridCell> hierarchy = ContractionHierarchy.build(graph);
+
+        for (int source = 0; source < graph.size(); source += 97) {
+            double[] distances = Dijkstra.distances(graph, source);
+            for (int target = 0; target < graph.size(); target += 13) {
+                assertEquals(distances[target], hierarchy.distance(source, target), 1e-9);
+                if (distances[target] == Double.POSITIVE_INFINITY) continue;
+
+                List<Vertex<GridCell>> path = hierarchy.shortestPath(source, target);
+                assertEquals(graph.getVertex(source), path.get(0));
+                assertEquals(graph.getVertex(target), path.get(path.size() - 1));
+                assertEquals(distances[target], cost(graph, path), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void directedTest() {
+        Random random = new Random(7125);
+        for (int trial = 0; trial < 50; trial++) {
+            Graph<Integer> g = new Graph<>();
+            int size = 30 + random.nextInt(30);
+            for (int i = 0; i < size; i++) g.addVertex(i);
+            for (int i = 0; i < size * 3; i++)
+                g.addEdge(
+                        random.nextInt(size),
+                        random.nextInt(size),
+                        1.0 + random.nextInt(10),
+                        random.nextBoolean() ? 1.0 + random.nextInt(10) : -1.0);
+            CompiledGraph<Integer> graph = g.compile();
+
+            ContractionHierarchy<Integer> hierarchy = ContractionHierarchy.build(graph);
+
+            for (int source = 0; source < size; source++) {
+                double[] distances = Dijkstra.distances(graph, source);
+                for (int target = 0; target < size; target++) {
+                    assertEquals(distances[target], hierarchy.distance(source, target), 1e-9);
+                    if (distances[target] < Double.POSITIVE_INFINITY)
+                        assertEquals(
+                                distances[target],
+                                cost(graph, hierarchy.shortestPath(source, target)),
+                                1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void noPathTest() {
+        GridGraph grid = new GridGraph(10, 10);
+        grid.setBlocked(5, 0, 5, 9, true);
+        CompiledGraph<GridCell> graph = grid.compile();
+        ContractionHierarchy<GridCell> hierarchy = ContractionHierarchy.build(graph);
+
+        assertTrue(hierarchy.distance(grid.indexOf(0, 0), grid.indexOf(9, 9)) > 1e300);
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> hierarchy.shortestPath(grid.getVertex(0, 0), grid.getVertex(9, 9)));
+    }
+}
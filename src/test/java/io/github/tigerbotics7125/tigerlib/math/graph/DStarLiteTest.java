@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class DStarLiteTest {
+
+    private static final int kWidth = 15;
+
+    /** Creates a 4-connected kWidth x kWidth grid graph, each vertex holds x + y * kWidth. */
+    private static Graph<Integer> gridGraph() {
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < kWidth * kWidth; i++) graph.addVertex(i);
+        for (int y = 0; y < kWidth; y++) {
+            for (int x = 0; x < kWidth; x++) {
+                int i = x + y * kWidth;
+                if (x + 1 < kWidth) graph.addEdge(i, i + 1, 1.0);
+                if (y + 1 < kWidth) graph.addEdge(i, i + kWidth, 1.0);
+            }
+        }
+        return graph;
+    }
+
+    private static double manhattan(Vertex<Integer> a, Vertex<Integer> b) {
+        int va = a.getData(), vb = b.getData();
+        return Math.abs(va % kWidth - vb % kWidth) + Math.abs(va / kWidth - vb / kWidth);
+    }
+
+    /** @return The cost of the path, or -1 if it is not a valid path through the graph. */
+    private static double cost(Graph<Integer> graph, List<Vertex<Integer>> path) {
+        double cost = 0.0;
+        for (int i = 1; i < path.size(); i++) {
+            double step = -1;
+            if (graph.isBlocked(path.get(i)) || graph.isBlocked(path.get(i - 1))) return -1;
+            for (var edge : graph.getSuccessors(path.get(i - 1)))
+                if (edge.getFirst().equals(path.get(i))) step = edge.getSecond();
+            if (step < 0) return -1;
+            cost += step;
+        }
+        return cost;
+    }
+
+    @Test
+    public void replanTest() {
+        Random random = new Random(7125);
+        Graph<Integer> graph = gridGraph();
+        DStarLite<Integer> dstar =
+                new DStarLite<>(graph, t -> manhattan(t.getFirst(), t.getSecond()));
+
+        Vertex<Integer> start = Vertex.of(0);
+        Vertex<Integer> end = Vertex.of(kWidth * kWidth - 1);
+
+        for (int step = 0; step < 40; step++) {
+            // block, unblock or reweight some of the graph.
+            for (int i = 0; i < 5; i++) {
+                Vertex<Integer> v = Vertex.of(random.nextInt(kWidth * kWidth));
+                if (v.equals(start) || v.equals(end)) continue;
+                switch (random.nextInt(3)) {
+                    case 0 -> graph.setBlocked(v, !graph.isBlocked(v));
+                    case 1 -> graph.setEdgeWeight(
+                            v, graph.getSuccessors(v).get(0).getFirst(), 1.0 + random.nextInt(5));
+                    default -> graph.addVertex(kWidth * kWidth + step * 5 + i);
+                }
+            }
+
+            CompiledGraph<Integer> compiled = graph.compile();
+            CompiledAStar<Integer> astar = new CompiledAStar<>(compiled, (a, b) -> 0.0);
+
+            List<Vertex<Integer>> expected;
+            try {
+                expected = astar.astar(start, end);
+            } catch (IllegalArgumentException iae) {
+                assertThrows(IllegalArgumentException.class, () -> dstar.plan(Vertex.of(0), end));
+                continue;
+            }
+            List<Vertex<Integer>> actual = dstar.plan(start, end);
+
+            assertEquals(start, actual.get(0));
+            assertEquals(end, actual.get(actual.size() - 1));
+            assertEquals(cost(graph, expected), cost(graph, actual), 1e-9);
+
+            // drive one step along the path.
+            if (actual.size() > 2) start = actual.get(1);
+        }
+    }
+
+    @Test
+    public void newGoalTest() {
+        Graph<Integer> graph = gridGraph();
+        DStarLite<Integer> dstar =
+                new DStarLite<>(graph, t -> manhattan(t.getFirst(), t.getSecond()));
+
+        assertEquals(
+                2 * kWidth - 1, dstar.plan(Vertex.of(0), Vertex.of(kWidth * kWidth - 1)).size());
+        assertEquals(kWidth, dstar.plan(Vertex.of(0), Vertex.of(kWidth - 1)).size());
+
+        graph.setBlocked(Vertex.of(kWidth - 1), true);
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> dstar.plan(Vertex.of(0), Vertex.of(kWidth - 1)));
+    }
+}
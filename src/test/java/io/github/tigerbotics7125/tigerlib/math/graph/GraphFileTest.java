@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+
+public class GraphFileTest {
+
+    private static <T> void assertSameGraph(CompiledGraph<T> expected, CompiledGraph<T> actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.edgeCount(), actual.edgeCount());
+        for (int v = 0; v < expected.size(); v++) {
+            assertEquals(expected.getVertex(v), actual.getVertex(v));
+            assertEquals(v, actual.indexOf(expected.getVertex(v)));
+            assertEquals(expected.getEdgeStart(v), actual.getEdgeStart(v));
+            assertEquals(expected.getEdgeEnd(v), actual.getEdgeEnd(v));
+        }
+        for (int e = 0; e < expected.edgeCount(); e++) {
+            assertEquals(expected.getEdgeTarget(e), actual.getEdgeTarget(e));
+            assertEquals(expected.getEdgeWeight(e), actual.getEdgeWeight(e));
+        }
+    }
+
+    @Test
+    public void fileTest() throws IOException {
+        GridGraph grid = new GridGraph(30, 20);
+        grid.setBlocked(10, 0, 10, 15, true);
+        CompiledGraph<GridCell> graph = grid.compile();
+
+        Path path = Files.createTempFile("graph", ".bin");
+        try {
+            GraphFile.write(graph, VertexCodec.gridCells(), path);
+            assertEquals(
+                    GraphFile.fileSize(graph.size(), graph.edgeCount(), 8), Files.size(path));
+
+            CompiledGraph<GridCell> loaded = GraphFile.read(path, VertexCodec.gridCells());
+            assertSameGraph(graph, loaded);
+
+            int start = grid.indexOf(0, 0), end = grid.indexOf(29, 0);
+            assertEquals(
+                    new CompiledAStar<>(graph, grid::octile).astar(start, end),
+                    new CompiledAStar<>(loaded, grid::octile).astar(start, end));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void bufferTest() {
+        Graph<Integer> g = new Graph<>();
+        for (int i = 0; i < 5; i++) g.addVertex(i * 10);
+        g.addEdge(0, 10, 1.5);
+        g.addEdge(10, 20, 2.5, -1.0);
+        g.addEdge(30, 40, 0.25);
+        CompiledGraph<Integer> graph = g.compile();
+
+        ByteBuffer buffer =
+                ByteBuffer.allocate((int) GraphFile.fileSize(graph.size(), graph.edgeCount(), 4));
+        GraphFile.write(graph, VertexCodec.integers(), buffer);
+        assertEquals(0, buffer.remaining());
+
+        buffer.flip();
+        assertSameGraph(graph, GraphFile.read(buffer, VertexCodec.integers()));
+    }
+
+    @Test
+    public void invalidTest() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> GraphFile.read(ByteBuffer.allocate(64), VertexCodec.integers()));
+
+        CompiledGraph<GridCell> graph = new GridGraph(4, 4).compile();
+        ByteBuffer buffer =
+                ByteBuffer.allocate((int) GraphFile.fileSize(graph.size(), graph.edgeCount(), 8));
+        GraphFile.write(graph, VertexCodec.gridCells(), buffer);
+        buffer.flip();
+
+        // Records of the wrong size.
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> GraphFile.read(buffer.duplicate(), VertexCodec.integers()));
+        // Truncated.
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> GraphFile.read(buffer.limit(100).slice(), VertexCodec.gridCells()));
+        buffer.limit(buffer.capacity());
+
+        // Decreasing edge offsets, after the 6 int header.
+        ByteBuffer offsets = copy(buffer);
+        offsets.putInt(6 * Integer.BYTES + Integer.BYTES, -1);
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> GraphFile.read(offsets, VertexCodec.gridCells()));
+
+        // An edge to a vertex which does not exist, after the offsets.
+        ByteBuffer targets = copy(buffer);
+        targets.putInt((6 + graph.size() + 1) * Integer.BYTES, graph.size());
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> GraphFile.read(targets, VertexCodec.gridCells()));
+        assertSameGraph(graph, GraphFile.read(copy(buffer), VertexCodec.gridCells()));
+
+        // Counts too large for the buffer, whose sizes overflow an int.
+        int[][] counts = {{Integer.MAX_VALUE, 0}, {1 << 29, 1 << 29}, {0, Integer.MAX_VALUE}};
+        for (int[] count : counts) {
+            ByteBuffer header = copy(buffer);
+            header.putInt(2 * Integer.BYTES, count[0]).putInt(3 * Integer.BYTES, count[1]);
+            assertThrows(
+                    IllegalArgumentException.class,
+                    () -> GraphFile.read(header, VertexCodec.gridCells()));
+        }
+    }
+
+    private static ByteBuffer copy(ByteBuffer buffer) {
+        ByteBuffer copy = ByteBuffer.allocate(buffer.capacity()).order(ByteOrder.LITTLE_ENDIAN);
+        copy.put(buffer.duplicate().position(0)).flip();
+        return copy;
+    }
+}
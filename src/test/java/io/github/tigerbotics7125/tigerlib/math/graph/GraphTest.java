@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class GraphTest {
+
+    @Test
+    public void internTest() {
+        Graph<String> graph = new Graph<>();
+        for (int i = 0; i < 1000; i++) graph.addVertex("v" + i);
+        Vertex<String> first = graph.getVertex(0);
+        graph.addVertex(new String("v0"));
+        assertEquals(1000, graph.size());
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, graph.indexOfValue("v" + i));
+            assertEquals(i, graph.indexOf(Vertex.of("v" + i)));
+        }
+        assertEquals(-1, graph.indexOfValue("v1000"));
+        assertEquals(null, graph.intern("v1000"));
+        assertTrue(graph.intern(new String("v0")) == first);
+
+        assertEquals(Vertex.of("a"), Vertex.of(new String("a")));
+        assertFalse(Vertex.of("a").equals(Vertex.of(1)));
+        assertThrows(IllegalArgumentException.class, () -> graph.addEdge("v0", "v1000", 1.0));
+        assertThrows(IllegalArgumentException.class, () -> graph.isBlocked(Vertex.of("v1000")));
+        assertFalse(graph.isBlocked(first));
+    }
+
+    @Test
+    public void duplicateEdgeTest() {
+        Graph<Integer> graph = new Graph<>();
+        graph.addVertex(0);
+        graph.addVertex(1);
+
+        graph.addEdge(0, 1, 2.0);
+        graph.addEdge(0, 1, 3.0, 4.0);
+        assertEquals(2, graph.getEdgeCount());
+        assertEquals(1, graph.getSuccessors(Vertex.of(0)).size());
+        assertEquals(3.0, (double) graph.getSuccessors(Vertex.of(0)).get(0).getSecond());
+        assertEquals(4.0, (double) graph.getPredecessors(Vertex.of(0)).get(0).getSecond());
+
+        int edge = graph.getEdgeId(Vertex.of(0), Vertex.of(1));
+        assertEquals(edge, graph.addDirectedEdge(Vertex.of(0), Vertex.of(1), 5.0));
+        assertEquals(5.0, graph.getEdgeWeight(edge));
+        assertEquals(0, graph.getEdgeSource(edge));
+        assertEquals(1, graph.getEdgeTarget(edge));
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> graph.addDirectedEdge(Vertex.of(0), Vertex.of(2), 1.0));
+        assertThrows(IllegalArgumentException.class, () -> graph.setEdgeWeight(edge, 0.0));
+    }
+
+    @Test
+    public void removeEdgeTest() {
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < 4; i++) graph.addVertex(i);
+        int a = graph.addDirectedEdge(Vertex.of(0), Vertex.of(1), 1.0);
+        int b = graph.addDirectedEdge(Vertex.of(0), Vertex.of(2), 1.0);
+        int c = graph.addDirectedEdge(Vertex.of(0), Vertex.of(3), 1.0);
+
+        List<Integer> removed = new ArrayList<>();
+        graph.addListener(
+                new GraphListener() {
+                    @Override
+                    public void onEdgeRemoved(int from, int to) {
+                        removed.add(to);
+                    }
+                });
+
+        int version = graph.getVersion();
+        graph.removeEdge(a);
+        assertTrue(graph.getVersion() != version);
+        assertEquals(List.of(1), removed);
+        assertFalse(graph.containsEdge(a));
+        assertEquals(-1, graph.getEdgeId(Vertex.of(0), Vertex.of(1)));
+        assertThrows(IllegalArgumentException.class, () -> graph.removeEdge(a));
+
+        // The other edges keep their ids.
+        assertEquals(2, graph.getOutDegree(0));
+        assertEquals(b, graph.getEdgeId(Vertex.of(0), Vertex.of(2)));
+        assertEquals(c, graph.getEdgeId(Vertex.of(0), Vertex.of(3)));
+        assertTrue(graph.removeEdge(Vertex.of(0), Vertex.of(3)));
+        assertFalse(graph.removeEdge(Vertex.of(0), Vertex.of(3)));
+        assertEquals(1, graph.getEdgeCount());
+        assertEquals(b, graph.getOutEdge(0, 0));
+
+        // Removed ids are reused, so churn does not grow the edge arrays.
+        int d = graph.addDirectedEdge(Vertex.of(0), Vertex.of(1), 1.0);
+        assertTrue(d == a || d == c);
+        assertEquals(0, graph.getInDegree(3));
+        assertEquals(1, graph.getInDegree(1));
+        assertEquals(d, graph.getEdgeId(Vertex.of(0), Vertex.of(1)));
+        assertEquals(1.0, graph.getEdgeMultiplier(d));
+    }
+
+    @Test
+    public void multiplierTest() {
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < 4; i++) graph.addVertex(i);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 3, 1.0);
+        graph.addEdge(0, 2, 1.5);
+        graph.addEdge(2, 3, 1.5);
+
+        AStar<Integer> aStar = new AStar<>(graph, pair -> 0.0);
+        assertEquals(
+                List.of(Vertex.of(0), Vertex.of(1), Vertex.of(3)),
+                aStar.astar(Vertex.of(0), Vertex.of(3)));
+
+        // Entering vertex 1 now costs 3x, so the path goes around it.
+        graph.setCostMultiplier(Vertex.of(1), 3.0);
+        int edge = graph.getEdgeId(Vertex.of(0), Vertex.of(1));
+        assertEquals(1.0, graph.getEdgeWeight(edge));
+        assertEquals(3.0, graph.getEdgeCost(edge));
+        assertEquals(
+                List.of(Vertex.of(0), Vertex.of(2), Vertex.of(3)),
+                aStar.astar(Vertex.of(0), Vertex.of(3)));
+
+        CompiledGraph<Integer> compiled = graph.compile();
+        assertEquals(3.0, compiled.getEdgeWeight(compiled.getEdgeStart(0)));
+
+        // The multiplier belongs to the vertex, so it applies to edges added after it was set.
+        assertEquals(3.0, graph.getCostMultiplier(Vertex.of(1)));
+        assertEquals(1.0, graph.getEdgeMultiplier(edge));
+        int later = graph.addDirectedEdge(Vertex.of(2), Vertex.of(1), 2.0);
+        assertEquals(6.0, graph.getEdgeCost(later));
+        graph.setCostMultiplier(Vertex.of(1), 1.0);
+        assertEquals(2.0, graph.getEdgeCost(later));
+        assertEquals(1.0, graph.getEdgeCost(edge));
+        graph.setCostMultiplier(Vertex.of(1), 3.0);
+        graph.removeEdge(later);
+
+        // An infinite multiplier leaves the edge out of compiled graphs.
+        graph.setEdgeMultiplier(edge, Double.POSITIVE_INFINITY);
+        assertEquals(1, graph.compile().getEdgeEnd(0) - graph.compile().getEdgeStart(0));
+    }
+
+    @Test
+    public void dStarLiteRemovalTest() {
+        Random random = new Random(7125);
+        Graph<Integer> graph = new Graph<>();
+        int width = 8;
+        for (int i = 0; i < width * width; i++) graph.addVertex(i);
+        for (int y = 0; y < width; y++) {
+            for (int x = 0; x < width; x++) {
+                if (x + 1 < width) graph.addEdge(x + y * width, x + 1 + y * width, 1.0);
+                if (y + 1 < width) graph.addEdge(x + y * width, x + (y + 1) * width, 1.0);
+            }
+        }
+
+        DStarLite<Integer> dstar = new DStarLite<>(graph, pair -> 0.0);
+        Vertex<Integer> start = Vertex.of(0), end = Vertex.of(width * width - 1);
+        for (int step = 0; step < 30; step++) {
+            int v = random.nextInt(width * width);
+            if (graph.getOutDegree(v) > 1) graph.removeEdge(graph.getOutEdge(v, 0));
+
+            CompiledGraph<Integer> compiled = graph.compile();
+            List<Vertex<Integer>> expected;
+            try {
+                expected = new CompiledAStar<>(compiled, (a, b) -> 0.0).astar(start, end);
+            } catch (IllegalArgumentException e) {
+                assertThrows(IllegalArgumentException.class, () -> dstar.plan(start, end));
+                continue;
+            }
+            assertEquals(expected.size(), dstar.plan(start, end).size());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class HierarchicalAStarTest {
+
+    /** @return The travel cost of the path, failing if it follows an edge not in the graph. */
+    private static <T> double cost(CompiledGraph<T> graph, List<Vertex<T>> path) {
+        double cost = 0.0;
+        for (int i = 1; i < path.size(); i++) {
+            int from = graph.indexOf(path.get(i - 1)), to = graph.indexOf(path.get(i));
+            double weight = Double.POSITIVE_INFINITY;
+            for (int e = graph.getEdgeStart(from); e < graph.getEdgeEnd(from); e++)
+                if (graph.getEdgeTarget(e) == to)
+                    weight = Math.min(weight, graph.getEdgeWeight(e));
+            assertTrue(weight < Double.POSITIVE_INFINITY);
+            cost += weight;
+        }
+        return cost;
+    }
+
+    @Test
+    public void gridTest() {
+        GridGraph grid = new GridGraph(60, 60);
+        grid.setBlocked(30, 0, 30, 45, true);
+        grid.setBlocked(5, 20, 25, 22, true);
+        grid.setBlocked(new double[] {35, 55, 45}, new double[] {10, 10, 30}, true);
+
+        HierarchicalAStar<GridCell> planner = HierarchicalAStar.forGrid(grid, 10);
+        CompiledGraph<GridCell> graph = planner.getGraph();
+        assertTrue(planner.getAbstractSize() < graph.size() / 4);
+
+        Random random = new Random(7125);
+        double ratioSum = 0.0;
+        int count = 0;
+        for (int i = 0; i < 200; i++) {
+            int start = random.nextInt(graph.size()), end = random.nextInt(graph.size());
+            double optimal = Dijkstra.distances(graph, start)[end];
+
+            if (optimal == Double.POSITIVE_INFINITY) {
+                assertThrows(IllegalArgumentException.class, () -> planner.plan(start, end));
+                continue;
+            }
+
+            HierarchicalPath<GridCell> path = planner.plan(start, end);
+            List<Vertex<GridCell>> full = path.toList();
+
+            assertEquals(graph.getVertex(start), full.get(0));
+            assertEquals(graph.getVertex(end), full.get(full.size() - 1));
+            assertEquals(path.getCost(), cost(graph, full), 1e-9);
+            assertTrue(path.getCost() >= optimal - 1e-9);
+
+            // Detours only come from crossing entrances away from the optimal crossing.
+            assertTrue(path.getCost() <= optimal + 2 * 10);
+            if (optimal > 0.0) {
+                ratioSum += path.getCost() / optimal;
+                count++;
+            }
+        }
+        assertTrue(ratioSum / count < 1.1);
+    }
+
+    @Test
+    public void lazySegmentTest() {
+        GridGraph grid = new GridGraph(40, 40);
+        HierarchicalAStar<GridCell> planner = HierarchicalAStar.forGrid(grid, 8);
+
+        HierarchicalPath<GridCell> path =
+                planner.plan(grid.getVertex(1, 1), grid.getVertex(38, 37));
+        List<Vertex<GridCell>> waypoints = path.getWaypoints();
+
+        assertEquals(waypoints.size() - 1, path.getSegmentCount());
+        for (int i = 0; i < path.getSegmentCount(); i++) {
+            List<Vertex<GridCell>> segment = path.getSegment(i);
+            assertEquals(waypoints.get(i), segment.get(0));
+            assertEquals(waypoints.get(i + 1), segment.get(segment.size() - 1));
+        }
+    }
+
+    @Test
+    public void sameClusterTest() {
+        GridGraph grid = new GridGraph(20, 20);
+        HierarchicalAStar<GridCell> planner = HierarchicalAStar.forGrid(grid, 10);
+
+        HierarchicalPath<GridCell> path = planner.plan(grid.getVertex(1, 1), grid.getVertex(4, 2));
+        assertEquals(3.0 + Math.sqrt(2.0) - 1.0, path.getCost(), 1e-9);
+        assertEquals(2, path.getWaypoints().size());
+    }
+}
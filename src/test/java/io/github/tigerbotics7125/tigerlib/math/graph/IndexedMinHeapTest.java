@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class IndexedMinHeapTest {
+
+    @Test
+    public void orderTest() {
+        Random random = new Random(7125);
+        double[] keys = new double[200];
+        IndexedMinHeap heap = new IndexedMinHeap(8);
+
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextDouble() * 100.0;
+            heap.offer(i, keys[i]);
+        }
+        // change keys both up and down, indicies must never be duplicated.
+        for (int i = 0; i < keys.length; i += 3) {
+            keys[i] = random.nextDouble() * 100.0;
+            heap.offer(i, keys[i]);
+        }
+        for (int i = 1; i < keys.length; i += 5) {
+            keys[i] /= 2.0;
+            heap.decreaseKey(i, keys[i]);
+        }
+        heap.remove(10);
+        assertFalse(heap.contains(10));
+        assertEquals(keys.length - 1, heap.size());
+
+        double last = Double.NEGATIVE_INFINITY;
+        while (!heap.isEmpty()) {
+            double key = heap.peekKey();
+            int index = heap.poll();
+            assertEquals(keys[index], key);
+            assertTrue(key >= last);
+            last = key;
+        }
+    }
+
+    @Test
+    public void decreaseKeyTest() {
+        IndexedMinHeap heap = new IndexedMinHeap(4);
+        heap.offer(0, 5.0);
+        heap.offer(1, 3.0);
+
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(0, 6.0));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(2, 1.0));
+
+        heap.decreaseKey(0, 1.0);
+        assertEquals(0, heap.poll());
+
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(1));
+    }
+}
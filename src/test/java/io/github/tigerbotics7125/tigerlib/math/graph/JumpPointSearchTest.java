@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class JumpPointSearchTest {
+
+    /** @return The cost of the path, asserting every step is an allowed move. */
+    private static double cost(GridGraph grid, List<Vertex<GridCell>> path) {
+        double cost = 0.0;
+        for (int i = 1; i < path.size(); i++) {
+            GridCell a = path.get(i - 1).getData(), b = path.get(i).getData();
+            int dx = b.getX() - a.getX(), dy = b.getY() - a.getY();
+            assertTrue(Math.abs(dx) <= 1 && Math.abs(dy) <= 1 && (dx != 0 || dy != 0));
+            assertTrue(grid.canMove(a.getX(), a.getY(), dx, dy));
+            cost += Math.hypot(dx, dy);
+        }
+        return cost;
+    }
+
+    @Test
+    public void matchesAStarTest() {
+        Random random = new Random(7125);
+
+        for (int trial = 0; trial < 20; trial++) {
+            GridGraph grid = new GridGraph(30, 20);
+            for (int i = 0; i < 150; i++)
+                grid.setBlocked(random.nextInt(30), random.nextInt(20), true);
+            grid.setBlocked(0, 0, false);
+
+            CompiledGraph<GridCell> compiled = grid.compile();
+            CompiledAStar<GridCell> astar = new CompiledAStar<>(compiled, grid::octile);
+            JumpPointSearch jps = new JumpPointSearch(grid);
+
+            for (int i = 0; i < 10; i++) {
+                int x = random.nextInt(30), y = random.nextInt(20);
+                if (grid.isBlocked(x, y)) continue;
+
+                Vertex<GridCell> start = grid.getVertex(0, 0);
+                Vertex<GridCell> end = grid.getVertex(x, y);
+                List<Vertex<GridCell>> expected;
+                try {
+                    expected = astar.astar(start, end);
+                } catch (IllegalArgumentException iae) {
+                    assertThrows(IllegalArgumentException.class, () -> jps.astar(start, end));
+                    continue;
+                }
+                List<Vertex<GridCell>> actual = jps.astar(start, end);
+
+                assertEquals(start, actual.get(0));
+                assertEquals(end, actual.get(actual.size() - 1));
+                assertEquals(cost(grid, expected), cost(grid, actual), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void blockedTest() {
+        GridGraph grid = new GridGraph(5, 5);
+        grid.setBlocked(2, 0, 2, 4, true);
+        JumpPointSearch jps = new JumpPointSearch(grid);
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> jps.astar(grid.getVertex(0, 0), grid.getVertex(4, 4)));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> jps.astar(grid.getVertex(0, 0), grid.getVertex(2, 2)));
+
+        grid.setBlocked(2, 2, false);
+        assertEquals(7, jps.astar(grid.getVertex(0, 0), grid.getVertex(4, 4)).size());
+    }
+}
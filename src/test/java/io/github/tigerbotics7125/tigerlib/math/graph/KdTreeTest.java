@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class KdTreeTest {
+
+    private static double distance(KdTree tree, int point, double x, double y) {
+        return Math.hypot(tree.getX(point) - x, tree.getY(point) - y);
+    }
+
+    @Test
+    public void nearestTest() {
+        Random random = new Random(7125);
+        for (int size : new int[] {1, 2, 3, 10, 257, 2000}) {
+            double[] xs = new double[size], ys = new double[size];
+            for (int i = 0; i < size; i++) {
+                // Round some coordinates so the tree must handle ties.
+                xs[i] = random.nextDouble() * 10;
+                if (random.nextInt(4) == 0) xs[i] = Math.rint(xs[i]);
+                ys[i] = random.nextDouble() * 10;
+            }
+            KdTree tree = new KdTree(xs, ys);
+            assertEquals(size, tree.size());
+
+            for (int q = 0; q < 200; q++) {
+                double x = random.nextDouble() * 12 - 1, y = random.nextDouble() * 12 - 1;
+                int brute = 0;
+                for (int i = 1; i < size; i++)
+                    if (Math.hypot(xs[i] - x, ys[i] - y) < Math.hypot(xs[brute] - x, ys[brute] - y))
+                        brute = i;
+                assertEquals(
+                        distance(tree, brute, x, y), distance(tree, tree.nearest(x, y), x, y), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void kNearestTest() {
+        Random random = new Random(7125);
+        double[] xs = new double[500], ys = new double[500];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = random.nextDouble() * 10;
+            ys[i] = random.nextDouble() * 10;
+        }
+        KdTree tree = new KdTree(xs, ys);
+
+        for (int q = 0; q < 100; q++) {
+            double x = random.nextDouble() * 10, y = random.nextDouble() * 10;
+            double[] sorted = new double[xs.length];
+            for (int i = 0; i < xs.length; i++) sorted[i] = Math.hypot(xs[i] - x, ys[i] - y);
+            Arrays.sort(sorted);
+
+            int[] out = new int[1 + random.nextInt(20)];
+            assertEquals(out.length, tree.nearest(x, y, out));
+            for (int i = 0; i < out.length; i++)
+                assertEquals(sorted[i], distance(tree, out[i], x, y), 0.0);
+        }
+
+        // Asking for more points than there are gives them all.
+        int[] all = new int[xs.length + 5];
+        assertEquals(xs.length, tree.nearest(5, 5, all));
+    }
+
+    @Test
+    public void radiusTest() {
+        Random random = new Random(7125);
+        double[] xs = new double[500], ys = new double[500];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = random.nextDouble() * 10;
+            ys[i] = random.nextDouble() * 10;
+        }
+        KdTree tree = new KdTree(xs, ys);
+
+        int[] out = new int[xs.length];
+        for (int q = 0; q < 100; q++) {
+            double x = random.nextDouble() * 10, y = random.nextDouble() * 10;
+            double radius = random.nextDouble() * 3;
+
+            boolean[] expected = new boolean[xs.length];
+            int expectedCount = 0;
+            for (int i = 0; i < xs.length; i++) {
+                expected[i] = Math.hypot(xs[i] - x, ys[i] - y) <= radius;
+                if (expected[i]) expectedCount++;
+            }
+
+            int count = tree.withinRadius(x, y, radius, out);
+            assertEquals(expectedCount, count);
+            for (int i = 0; i < count; i++) assertTrue(expected[out[i]]);
+
+            // A short array still counts every point.
+            assertEquals(expectedCount, tree.withinRadius(x, y, radius, new int[1]));
+        }
+    }
+
+    @Test
+    public void emptyTest() {
+        KdTree tree = new KdTree(new double[0], new double[0]);
+        assertEquals(-1, tree.nearest(1.0, 2.0));
+        assertEquals(0, tree.nearest(1.0, 2.0, new int[3]));
+        assertEquals(0, tree.withinRadius(1.0, 2.0, 5.0, new int[3]));
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class LandmarksTest {
+
+    /** A 40 x 40 grid with a long wall down the middle, open only at the bottom. */
+    private static GridGraph walledGrid() {
+        GridGraph grid = new GridGraph(40, 40);
+        grid.setBlocked(20, 4, 20, 39, true);
+        grid.setBlocked(5, 10, 15, 11, true);
+        return grid;
+    }
+
+    @Test
+    public void admissibleTest() {
+        GridGraph grid = walledGrid();
+        CompiledGraph<GridCell> graph = grid.compile();
+        Landmarks landmarks = Landmarks.build(graph, 6);
+
+        assertEquals(6, landmarks.getCount());
+
+        for (int source = 0; source < graph.size(); source += 37) {
+            double[] distances = Dijkstra.distances(graph, source);
+            for (int target = 0; target < graph.size(); target += 11) {
+                double estimate = landmarks.estimate(source, target);
+                assertTrue(estimate >= 0.0);
+                if (distances[target] < Double.POSITIVE_INFINITY)
+                    assertTrue(estimate <= distances[target] + 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void fewerExpansionsTest() {
+        GridGraph grid = walledGrid();
+        CompiledGraph<GridCell> graph = grid.compile();
+        Heuristic octile = grid::octile;
+
+        CompiledAStar<GridCell> plain = new CompiledAStar<>(graph, octile);
+        CompiledAStar<GridCell> alt =
+                new CompiledAStar<>(graph, octile.max(Landmarks.build(graph, 4)));
+
+        int start = grid.indexOf(10, 39), end = grid.indexOf(30, 39);
+        var expected = plain.astar(start, end);
+        var actual = alt.astar(start, end);
+
+        assertEquals(expected.size(), actual.size());
+        assertTrue(alt.getExpanded() < plain.getExpanded());
+    }
+
+    @Test
+    public void disconnectedTest() {
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < 4; i++) graph.addVertex(i);
+        graph.addEdge(0, 1, 2.0, -1.0);
+        graph.addEdge(2, 3, 1.0);
+
+        Landmarks landmarks = Landmarks.build(graph.compile(), 10);
+
+        assertEquals(4, landmarks.getCount());
+        assertEquals(2.0, landmarks.estimate(0, 1));
+        assertEquals(0.0, landmarks.estimate(0, 3));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class ObstaclesTest {
+
+    @Test
+    public void inflationTest() {
+        Obstacles obstacles = new Obstacles(0.5, 0, 0, 10, 10);
+        // Clockwise, to check the winding is corrected.
+        obstacles.add(new double[] {4, 4, 6, 6}, new double[] {4, 6, 6, 4});
+
+        for (int i = 0; i < 360; i++) {
+            double angle = Math.toRadians(i);
+            // Just within the radius of each corner and edge is blocked.
+            assertFalse(obstacles.isFree(6 + 0.49 * Math.cos(angle), 6 + 0.49 * Math.sin(angle)));
+            assertFalse(obstacles.isFree(5 + 1.49 * Math.cos(angle), 5));
+        }
+        assertTrue(obstacles.isFree(7, 7));
+        assertTrue(obstacles.isFree(3.4, 5));
+
+        // The field's edges are inflated too.
+        assertFalse(obstacles.isFree(0.4, 5));
+        assertTrue(obstacles.isFree(0.5, 5));
+        assertFalse(obstacles.isFree(5, 9.6));
+    }
+
+    @Test
+    public void concaveTest() {
+        Obstacles obstacles = new Obstacles(0.25, 0, 0, 10, 10);
+        // An L shape, with a reflex corner at (3, 3).
+        obstacles.add(new double[] {2, 6, 6, 3, 3, 2}, new double[] {2, 2, 3, 3, 6, 6});
+
+        boolean[] convex = obstacles.getConvex(0);
+        int reflex = 0;
+        for (boolean c : convex) if (!c) reflex++;
+        assertEquals(1, reflex);
+
+        assertFalse(obstacles.isFree(3.2, 3.2));
+        assertTrue(obstacles.isFree(3.3, 3.3));
+    }
+
+    @Test
+    public void visibilityTest() {
+        Obstacles obstacles = new Obstacles(0.5, 0, 0, 10, 10);
+        obstacles.add(new double[] {4, 6, 6, 4}, new double[] {4, 4, 6, 6});
+
+        assertFalse(obstacles.isVisible(2, 5, 8, 5));
+        assertFalse(obstacles.isVisible(3, 3, 7, 7));
+        assertTrue(obstacles.isVisible(2, 2, 8, 2));
+        assertTrue(obstacles.isVisible(2, 3.4, 8, 3.4));
+
+        // Every pair of inflated corners on the same side can see each other.
+        double[] xs = obstacles.getXs(0), ys = obstacles.getYs(0);
+        for (int i = 0; i < xs.length; i++) {
+            int next = (i + 1) % xs.length;
+            assertTrue(obstacles.isVisible(xs[i], ys[i], xs[next], ys[next]));
+        }
+    }
+
+    @Test
+    public void alignedVisibilityTest() {
+        Obstacles obstacles = new Obstacles(0.5, -10, -10, 20, 20);
+        obstacles.add(new double[] {0, 1, 1, 0}, new double[] {0, 0, 1, 1});
+        obstacles.add(new double[] {5, 6, 6, 5}, new double[] {0, 0, 1, 1});
+
+        // Lines entering and leaving through two inflated verticies at the same height.
+        double[] xsA = obstacles.getXs(0), ysA = obstacles.getYs(0);
+        double[] xsB = obstacles.getXs(1), ysB = obstacles.getYs(1);
+        assertEquals(ysA[0], ysB[3], 1e-9);
+        assertFalse(obstacles.isFree((xsA[0] + xsA[3]) / 2.0, ysA[0]));
+        assertFalse(obstacles.isVisible(xsA[0], ysA[0], xsB[3], ysB[3]));
+        assertFalse(obstacles.isVisible(-6.5, ysA[0], xsA[3] + 0.02, ysA[0]));
+
+        // Along the bottom of both, touching them only at verticies and edges.
+        double bottom = ysA[1];
+        assertTrue(obstacles.isVisible(-2, bottom, 8, bottom));
+        assertTrue(obstacles.isVisible(xsA[2], ysA[2], xsB[1], ysB[1]));
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class PathCacheTest {
+
+    @Test
+    public void evictionTest() {
+        PathCache<Integer> cache = new PathCache<>(2);
+        List<Vertex<Integer>> a = List.of(Vertex.of(0), Vertex.of(1));
+        List<Vertex<Integer>> b = List.of(Vertex.of(1), Vertex.of(2));
+        List<Vertex<Integer>> c = List.of(Vertex.of(2), Vertex.of(3));
+
+        cache.put(0, 1, 0, a);
+        cache.put(1, 2, 0, b);
+        assertEquals(a, cache.get(0, 1, 0));
+
+        // (1, 2) is now least recently used.
+        cache.put(2, 3, 0, c);
+        assertEquals(2, cache.size());
+        assertNull(cache.get(1, 2, 0));
+        assertEquals(a, cache.get(0, 1, 0));
+        assertEquals(c, cache.get(2, 3, 0));
+
+        assertEquals(3, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        cache.resetCounters();
+        assertEquals(0, cache.getHits());
+
+        // A new version drops every path.
+        assertNull(cache.get(0, 1, 1));
+        assertEquals(0, cache.size());
+
+        assertThrows(UnsupportedOperationException.class, () -> cache.put(0, 1, 1, a).clear());
+        assertThrows(IllegalArgumentException.class, () -> new PathCache<Integer>(0));
+    }
+
+    @Test
+    public void aStarTest() {
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < 4; i++) graph.addVertex(i);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 3, 1.0);
+        graph.addEdge(0, 2, 1.5);
+        graph.addEdge(2, 3, 1.5);
+
+        AStar<Integer> aStar = new AStar<>(graph, pair -> 0.0, 8);
+        List<Vertex<Integer>> path = aStar.astar(Vertex.of(0), Vertex.of(3));
+        assertEquals(List.of(Vertex.of(0), Vertex.of(1), Vertex.of(3)), path);
+        assertSame(path, aStar.astar(Vertex.of(0), Vertex.of(3)));
+        assertEquals(1, aStar.getCache().getHits());
+        assertEquals(1, aStar.getCache().getMisses());
+
+        // Changing the graph replans.
+        graph.setEdgeWeight(Vertex.of(1), Vertex.of(3), 5.0);
+        List<Vertex<Integer>> replanned = aStar.astar(Vertex.of(0), Vertex.of(3));
+        assertNotSame(path, replanned);
+        assertEquals(List.of(Vertex.of(0), Vertex.of(2), Vertex.of(3)), replanned);
+
+        graph.addVertex(4);
+        graph.addEdge(0, 4, 0.1);
+        graph.addEdge(4, 3, 0.1);
+        assertEquals(
+                List.of(Vertex.of(0), Vertex.of(4), Vertex.of(3)),
+                aStar.astar(Vertex.of(0), Vertex.of(3)));
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+public class PathPlannerTest {
+
+    private static double cost(List<Vertex<GridCell>> path) {
+        double cost = 0.0;
+        for (int i = 1; i < path.size(); i++) {
+            GridCell a = path.get(i - 1).getData(), b = path.get(i).getData();
+            cost += Math.hypot(a.getX() - b.getX(), a.getY() - b.getY());
+        }
+        return cost;
+    }
+
+    @Test
+    public void planAllTest() {
+        GridGraph grid = new GridGraph(30, 30);
+        grid.setBlocked(15, 0, 15, 25, true);
+        grid.setBlocked(25, 25, 29, 25, true);
+        grid.setBlocked(25, 26, 25, 29, true);
+        CompiledGraph<GridCell> graph = grid.compile();
+
+        CompiledAStar<GridCell> astar = new CompiledAStar<>(graph, grid::octile);
+        Vertex<GridCell> start = grid.getVertex(0, 0);
+
+        List<Vertex<GridCell>> goals = new ArrayList<>();
+        for (int i = 0; i < 24; i++) goals.add(grid.getVertex((i * 7) % 30, (i * 11) % 30));
+        // unreachable, and a duplicate.
+        goals.add(grid.getVertex(28, 28));
+        goals.add(goals.get(3));
+
+        // few threads (dijkstra), and many threads (A* per goal).
+        for (int parallelism : new int[] {1, 8}) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            PathPlanner<GridCell> planner = new PathPlanner<>(graph, grid::octile, pool);
+            List<List<Vertex<GridCell>>> paths = planner.planAll(start, goals);
+            pool.shutdown();
+
+            assertEquals(goals.size(), paths.size());
+            for (int i = 0; i < goals.size(); i++) {
+                Vertex<GridCell> goal = goals.get(i);
+                List<Vertex<GridCell>> expected;
+                try {
+                    expected = astar.astar(start, goal);
+                } catch (IllegalArgumentException iae) {
+                    assertTrue(paths.get(i).isEmpty());
+                    continue;
+                }
+                assertEquals(goal, paths.get(i).get(paths.get(i).size() - 1));
+                assertEquals(cost(expected), cost(paths.get(i)), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void concurrentPlanTest() throws InterruptedException {
+        GridGraph grid = new GridGraph(50, 50);
+        grid.setBlocked(25, 5, 25, 49, true);
+        CompiledGraph<GridCell> graph = grid.compile();
+        PathPlanner<GridCell> planner = new PathPlanner<>(graph, grid::octile);
+        double expected = cost(planner.plan(grid.getVertex(0, 49), grid.getVertex(49, 49)));
+
+        List<Throwable> errors = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread =
+                    new Thread(
+                            () -> {
+                                for (int i = 0; i < 50; i++) {
+                                    var path =
+                                            planner.plan(
+                                                    grid.getVertex(0, 49), grid.getVertex(49, 49));
+                                    if (Math.abs(cost(path) - expected) > 1e-9)
+                                        synchronized (errors) {
+                                            errors.add(new AssertionError("Wrong path."));
+                                        }
+                                }
+                            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) thread.join();
+
+        assertTrue(errors.isEmpty());
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> planner.plan(grid.getVertex(0, 0), grid.getVertex(25, 25)));
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class PathSmootherTest {
+
+    @Test
+    public void polygonTest() {
+        GridGraph grid = new GridGraph(20, 20);
+        grid.setBlocked(new double[] {2, 12, 2}, new double[] {2, 2, 12}, true);
+
+        assertTrue(grid.isBlocked(2, 2));
+        assertTrue(grid.isBlocked(5, 5));
+        assertFalse(grid.isBlocked(7, 7));
+        assertFalse(grid.isBlocked(12, 2));
+        assertFalse(grid.isBlocked(1, 1));
+    }
+
+    @Test
+    public void smoothTest() {
+        GridGraph grid = new GridGraph(40, 40);
+        grid.setBlocked(new double[] {10, 30, 30, 10}, new double[] {10, 10, 30, 30}, true);
+
+        Vertex<GridCell> start = grid.getVertex(0, 0), end = grid.getVertex(39, 39);
+        List<Vertex<GridCell>> cells = new JumpPointSearch(grid).astar(start, end);
+        List<Vertex<GridCell>> waypoints = PathSmoother.smooth(grid, cells);
+
+        assertEquals(start, waypoints.get(0));
+        assertEquals(end, waypoints.get(waypoints.size() - 1));
+        assertTrue(waypoints.size() <= 4);
+        assertTrue(waypoints.size() < cells.size());
+        assertTrue(PathSmoother.length(waypoints) <= PathSmoother.length(cells) + 1e-9);
+
+        for (int i = 1; i < waypoints.size(); i++) {
+            GridCell a = waypoints.get(i - 1).getData(), b = waypoints.get(i).getData();
+            assertTrue(grid.hasLineOfSight(a.getX(), a.getY(), b.getX(), b.getY()));
+        }
+    }
+
+    @Test
+    public void shortPathTest() {
+        GridGraph grid = new GridGraph(5, 5);
+        List<Vertex<GridCell>> path = List.of(grid.getVertex(0, 0), grid.getVertex(1, 1));
+        assertEquals(path, PathSmoother.smooth(grid, path));
+    }
+}
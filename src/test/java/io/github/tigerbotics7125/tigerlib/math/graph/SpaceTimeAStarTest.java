@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class SpaceTimeAStarTest {
+
+    private static final int kWidth = 8;
+
+    /** Creates a 4-connected grid graph, where each vertex holds {@code x + y * kWidth}. */
+    private static Graph<Integer> gridGraph() {
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < kWidth * kWidth; i++) graph.addVertex(i);
+        for (int y = 0; y < kWidth; y++) {
+            for (int x = 0; x < kWidth; x++) {
+                if (x + 1 < kWidth) graph.addEdge(x + y * kWidth, x + 1 + y * kWidth, 1.0);
+                if (y + 1 < kWidth) graph.addEdge(x + y * kWidth, x + (y + 1) * kWidth, 1.0);
+            }
+        }
+        return graph;
+    }
+
+    private static double manhattan(Vertex<Integer> a, Vertex<Integer> b) {
+        int va = a.getData(), vb = b.getData();
+        return Math.abs(va % kWidth - vb % kWidth) + Math.abs(va / kWidth - vb / kWidth);
+    }
+
+    @Test
+    public void noReservationsTest() {
+        Graph<Integer> graph = gridGraph();
+        SpaceTimeAStar<Integer> planner =
+                new SpaceTimeAStar<>(
+                        graph,
+                        t -> manhattan(t.getFirst(), t.getSecond()),
+                        new ReservationTable(),
+                        1.0);
+
+        List<Vertex<Integer>> path = planner.plan(Vertex.of(0), Vertex.of(63), 0, 30);
+        assertEquals(15, path.size());
+        assertEquals(Vertex.of(0), path.get(0));
+        assertEquals(Vertex.of(63), path.get(14));
+
+        // Too short a horizon.
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> planner.plan(Vertex.of(0), Vertex.of(63), 0, 13));
+    }
+
+    @Test
+    public void avoidanceTest() {
+        Random random = new Random(7125);
+        Graph<Integer> graph = gridGraph();
+        ReservationTable reservations = new ReservationTable();
+        SpaceTimeAStar<Integer> planner =
+                new SpaceTimeAStar<>(
+                        graph, t -> manhattan(t.getFirst(), t.getSecond()), reservations, 1.0);
+
+        // Plan robots one after another, each avoiding those before it.
+        int[][] positions = new int[6][];
+        for (int robot = 0; robot < positions.length; robot++) {
+            int start, end;
+            do {
+                start = random.nextInt(kWidth * kWidth);
+                end = random.nextInt(kWidth * kWidth);
+            } while (reservations.isReserved(start, 0) || reservations.isReserved(end, 40));
+
+            List<Vertex<Integer>> path =
+                    planner.plan(Vertex.of(start), Vertex.of(end), 0, 40);
+            planner.reserve(path, 0, 40 - path.size() + 1);
+
+            positions[robot] = new int[41];
+            for (int t = 0; t <= 40; t++)
+                positions[robot][t] = path.get(Math.min(t, path.size() - 1)).getData();
+        }
+
+        for (int a = 0; a < positions.length; a++) {
+            for (int b = a + 1; b < positions.length; b++) {
+                for (int t = 0; t <= 40; t++) {
+                    assertTrue(positions[a][t] != positions[b][t]);
+                    if (t > 0) {
+                        boolean swapped =
+                                positions[a][t] == positions[b][t - 1]
+                                        && positions[b][t] == positions[a][t - 1];
+                        assertFalse(swapped);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void waitTest() {
+        // A corridor 0 - 1 - 2 with a side pocket 3 off of 1.
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < 4; i++) graph.addVertex(i);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 2, 1.0);
+        graph.addEdge(1, 3, 1.0);
+
+        ReservationTable reservations = new ReservationTable();
+        // Another robot passes through 1 at time 1.
+        reservations.reserve(1, 1);
+        SpaceTimeAStar<Integer> planner =
+                new SpaceTimeAStar<>(graph, t -> 0.0, reservations, 0.5);
+
+        List<Vertex<Integer>> path = planner.plan(Vertex.of(0), Vertex.of(2), 0, 10);
+        assertEquals(List.of(Vertex.of(0), Vertex.of(0), Vertex.of(1), Vertex.of(2)), path);
+
+        // Another robot comes head on down the corridor, so this one must step into the pocket.
+        reservations.clear();
+        reservations.reserve(2, 1);
+        reservations.reserveMove(2, 1, 1);
+        reservations.reserve(1, 2);
+        reservations.reserveMove(1, 0, 2);
+        reservations.reserve(0, 3);
+        path = planner.plan(Vertex.of(0), Vertex.of(2), 0, 10);
+        assertEquals(Vertex.of(3), path.get(2));
+    }
+
+    @Test
+    public void reservationTableTest() {
+        ReservationTable table = new ReservationTable();
+        Random random = new Random(7125);
+        for (int i = 0; i < 10000; i++) {
+            table.reserve(random.nextInt(1000), random.nextInt(100));
+            table.reserveMove(random.nextInt(1000), random.nextInt(1000), random.nextInt(100));
+        }
+
+        random = new Random(7125);
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(table.isReserved(random.nextInt(1000), random.nextInt(100)));
+            int from = random.nextInt(1000), to = random.nextInt(1000), time = random.nextInt(100);
+            assertTrue(table.isMoveReserved(from, to, time));
+            assertFalse(table.isReserved(from, 100 + time));
+        }
+
+        table.clear();
+        assertEquals(0, table.size());
+        assertFalse(table.isReserved(0, 0));
+    }
+}
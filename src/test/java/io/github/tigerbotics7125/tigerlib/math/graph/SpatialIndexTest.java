@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.tigerbotics7125.tigerlib.math.Tuple;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class SpatialIndexTest {
+
+    private static SpatialIndex<Tuple<Double, Double>> index(Graph<Tuple<Double, Double>> graph) {
+        return new SpatialIndex<>(graph, Tuple::getFirst, Tuple::getSecond);
+    }
+
+    private static int bruteNearest(Graph<Tuple<Double, Double>> graph, double x, double y) {
+        int best = -1;
+        double bestDistance = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < graph.size(); i++) {
+            Tuple<Double, Double> p = graph.getVertex(i).getData();
+            double distance = Math.hypot(p.getFirst() - x, p.getSecond() - y);
+            if (distance < bestDistance) {
+                best = i;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    @Test
+    public void syncTest() {
+        Random random = new Random(7125);
+        Graph<Tuple<Double, Double>> graph = new Graph<>();
+        for (int i = 0; i < 50; i++)
+            graph.addVertex(Tuple.of(random.nextDouble() * 10, random.nextDouble() * 10));
+
+        SpatialIndex<Tuple<Double, Double>> index = index(graph);
+        assertEquals(50, index.size());
+
+        // Interleave additions and queries, so both the tree and the pending verticies are used.
+        int[] out = new int[5];
+        for (int i = 0; i < 500; i++) {
+            graph.addVertex(Tuple.of(random.nextDouble() * 10, random.nextDouble() * 10));
+            assertEquals(graph.size(), index.size());
+
+            double x = random.nextDouble() * 10, y = random.nextDouble() * 10;
+            assertEquals(bruteNearest(graph, x, y), index.nearest(x, y));
+            assertEquals(5, index.nearest(x, y, out));
+            assertEquals(bruteNearest(graph, x, y), out[0]);
+
+            int inRadius = 0;
+            for (int v = 0; v < graph.size(); v++) {
+                Tuple<Double, Double> p = graph.getVertex(v).getData();
+                if (Math.hypot(p.getFirst() - x, p.getSecond() - y) <= 1.0) inRadius++;
+            }
+            assertEquals(inRadius, index.withinRadius(x, y, 1.0, out));
+        }
+
+        // An explicit rebuild leaves the results unchanged.
+        index.rebuild();
+        assertEquals(bruteNearest(graph, 5.0, 5.0), index.nearest(5.0, 5.0));
+
+        index.close();
+        graph.addVertex(Tuple.of(-1.0, -1.0));
+        assertEquals(550, index.size());
+    }
+
+    @Test
+    public void emptyTest() {
+        Graph<Tuple<Double, Double>> graph = new Graph<>();
+        SpatialIndex<Tuple<Double, Double>> index = index(graph);
+        assertEquals(-1, index.nearest(0, 0));
+        assertThrows(IllegalStateException.class, () -> index.getNearest(0, 0));
+
+        graph.addVertex(Tuple.of(3.0, 4.0));
+        assertEquals(Tuple.of(3.0, 4.0), index.getNearest(0, 0).getData());
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.math.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class ThetaStarTest {
+
+    private static void assertClear(GridGraph grid, List<Vertex<GridCell>> waypoints) {
+        for (int i = 1; i < waypoints.size(); i++) {
+            GridCell a = waypoints.get(i - 1).getData(), b = waypoints.get(i).getData();
+            assertTrue(grid.hasLineOfSight(a.getX(), a.getY(), b.getX(), b.getY()));
+        }
+    }
+
+    @Test
+    public void lineOfSightTest() {
+        GridGraph grid = new GridGraph(10, 10);
+        assertTrue(grid.hasLineOfSight(0, 0, 9, 4));
+
+        grid.setBlocked(5, 2, true);
+        assertFalse(grid.hasLineOfSight(0, 0, 9, 4));
+        assertFalse(grid.hasLineOfSight(9, 4, 0, 0));
+
+        // Exactly through the corner of a blocked cell.
+        grid = new GridGraph(10, 10);
+        grid.setBlocked(1, 0, true);
+        assertFalse(grid.hasLineOfSight(0, 0, 1, 1));
+        assertFalse(grid.hasLineOfSight(0, 0, 3, 3));
+        assertTrue(grid.hasLineOfSight(0, 1, 3, 4));
+
+        // Line of sight is the same both ways.
+        Random random = new Random(7125);
+        for (int i = 0; i < 40; i++)
+            grid.setBlocked(random.nextInt(10), random.nextInt(10), true);
+        for (int i = 0; i < 2000; i++) {
+            int x0 = random.nextInt(10), y0 = random.nextInt(10);
+            int x1 = random.nextInt(10), y1 = random.nextInt(10);
+            assertEquals(
+                    grid.hasLineOfSight(x0, y0, x1, y1), grid.hasLineOfSight(x1, y1, x0, y0));
+        }
+    }
+
+    @Test
+    public void openGridTest() {
+        GridGraph grid = new GridGraph(30, 30);
+        List<Vertex<GridCell>> path =
+                new ThetaStar(grid).astar(grid.getVertex(0, 0), grid.getVertex(20, 13));
+
+        assertEquals(List.of(grid.getVertex(0, 0), grid.getVertex(20, 13)), path);
+    }
+
+    @Test
+    public void walledGridTest() {
+        GridGraph grid = new GridGraph(40, 40);
+        grid.setBlocked(20, 0, 20, 30, true);
+        grid.setBlocked(new double[] {5, 15, 10}, new double[] {20, 20, 35}, true);
+
+        Vertex<GridCell> start = grid.getVertex(2, 2), end = grid.getVertex(38, 2);
+        List<Vertex<GridCell>> waypoints = new ThetaStar(grid).astar(start, end);
+        List<Vertex<GridCell>> cells = new JumpPointSearch(grid).astar(start, end);
+
+        assertEquals(start, waypoints.get(0));
+        assertEquals(end, waypoints.get(waypoints.size() - 1));
+        assertClear(grid, waypoints);
+        assertTrue(waypoints.size() < 6);
+
+        // Any-angle paths are never longer than grid paths.
+        assertTrue(PathSmoother.length(waypoints) <= PathSmoother.length(cells) + 1e-9);
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.vision;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+
+public class AprilTagLayoutTest {
+
+    private static final double kEpsilon = 1e-9;
+
+    // Tag 1 faces the field's -x at (15, 1, 0.5), tag 3 faces +x at (0, 4, 1).
+    private static AprilTagLayout layout() {
+        return new AprilTagLayout(
+                new int[] {1, 3}, new double[] {15, 1, 0.5, 0, 0, 0, 2, 0, 4, 1, 1, 0, 0, 0});
+    }
+
+    @Test
+    public void lookupTest() {
+        AprilTagLayout layout = layout();
+        assertEquals(2, layout.size());
+        assertTrue(layout.contains(3));
+        assertFalse(layout.contains(2));
+        assertFalse(layout.contains(-1));
+        assertFalse(layout.contains(100));
+
+        double[] pose = new double[7];
+        layout.getPose(1, pose);
+        assertEquals(15.0, pose[0], kEpsilon);
+        assertEquals(1.0, pose[6], kEpsilon);
+
+        assertThrows(IllegalArgumentException.class, () -> layout.getPose(2, pose));
+    }
+
+    @Test
+    public void cornersTest() {
+        AprilTagLayout layout = layout();
+        double h = AprilTagLayout.kTagSize / 2.0;
+        double[] corners = new double[12];
+
+        // Facing tag 3 from +x, its left is the field's +y.
+        layout.getCorners(3, corners);
+        assertEquals(0.0, corners[0], kEpsilon);
+        assertEquals(4.0 - h, corners[1], kEpsilon);
+        assertEquals(1.0 - h, corners[2], kEpsilon);
+        assertEquals(4.0 + h, corners[4], kEpsilon);
+        assertEquals(1.0 + h, corners[8], kEpsilon);
+
+        // Facing tag 1 from -x, its left is the field's -y.
+        layout.getCorners(1, corners);
+        assertEquals(1.0 + h, corners[1], kEpsilon);
+        assertEquals(1.0 - h, corners[4], kEpsilon);
+    }
+
+    @Test
+    public void transformTest() {
+        AprilTagLayout layout = layout();
+
+        // Two meters in front of tag 1, facing it.
+        double[] transform = new double[Transforms.kSize];
+        Transforms.fromPose(2, 0, 0, 0, 0, 0, 1, transform);
+        layout.toField(1, transform, transform);
+        assertEquals(13.0, transform[9], kEpsilon);
+        assertEquals(1.0, transform[10], kEpsilon);
+        assertEquals(0.5, transform[11], kEpsilon);
+        assertEquals(1.0, transform[0], kEpsilon);
+
+        layout.toTag(1, transform, transform);
+        assertEquals(2.0, transform[9], kEpsilon);
+        assertEquals(0.0, transform[10], kEpsilon);
+        assertEquals(-1.0, transform[0], kEpsilon);
+    }
+
+    @Test
+    public void withTagTest() {
+        AprilTagLayout layout = layout();
+        AprilTagLayout added = layout.withTag(7, 1, 2, 3, 1, 0, 0, 0);
+        AprilTagLayout moved = layout.withTag(3, 5, 5, 5, 1, 0, 0, 0);
+
+        assertFalse(layout.contains(7));
+        assertTrue(added.contains(7));
+        assertEquals(3, added.size());
+        assertEquals(2, moved.size());
+
+        double[] pose = new double[7];
+        layout.getPose(3, pose);
+        assertEquals(0.0, pose[0], kEpsilon);
+        moved.getPose(3, pose);
+        assertEquals(5.0, pose[0], kEpsilon);
+    }
+
+    @Test
+    public void binaryTest() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        layout().write(out);
+        AprilTagLayout read = AprilTagLayout.read(new ByteArrayInputStream(out.toByteArray()));
+
+        double[] expected = new double[7], actual = new double[7];
+        for (int id : new int[] {1, 3}) {
+            layout().getPose(id, expected);
+            read.getPose(id, actual);
+            for (int i = 0; i < 7; i++) assertEquals(expected[i], actual[i], 0.0);
+        }
+
+        assertThrows(
+                IOException.class,
+                () -> AprilTagLayout.read(new ByteArrayInputStream(new byte[8])));
+    }
+
+    @Test
+    public void jsonTest() throws IOException {
+        Path file = Files.createTempFile("layout", ".json");
+        try {
+            Files.writeString(
+                    file,
+                    "{\"tags\":[{\"ID\":3,\"pose\":{\"translation\":{\"x\":0,\"y\":4,\"z\":1},"
+                            + "\"rotation\":{\"quaternion\":{\"W\":1,\"X\":0,\"Y\":0,\"Z\":0}}}}],"
+                            + "\"field\":{\"length\":16.54,\"width\":8.02}}");
+            AprilTagLayout layout = AprilTagLayout.fromJson(file);
+
+            assertEquals(1, layout.size());
+            double[] pose = new double[7];
+            layout.getPose(3, pose);
+            assertEquals(4.0, pose[1], kEpsilon);
+            assertEquals(1.0, pose[3], kEpsilon);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void invalidTest() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new AprilTagLayout(new int[] {1}, new double[6]));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new AprilTagLayout(new int[] {-1}, new double[] {0, 0, 0, 1, 0, 0, 0}));
+        assertThrows(
+                IllegalArgumentException.class,
+                () ->
+                        new AprilTagLayout(
+                                new int[] {2, 2},
+                                new double[] {0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 1, 0, 0, 0}));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new AprilTagLayout(new int[] {1}, new double[7]));
+    }
+}
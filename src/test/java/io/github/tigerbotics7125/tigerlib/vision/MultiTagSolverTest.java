@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.vision;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class MultiTagSolverTest {
+
+    private static final double kFx = 700, kFy = 700, kCx = 640, kCy = 360;
+
+    /** Corners of tags on a wall facing -x at x = 8, as (x, y, z) triples. */
+    private static final double[][] kTagCorners = {
+        {8, 1.0, 0.4, 8, 1.15, 0.4, 8, 1.15, 0.55, 8, 1.0, 0.55},
+        {8, 2.5, 1.0, 8, 2.65, 1.0, 8, 2.65, 1.15, 8, 2.5, 1.15},
+        {8, 4.0, 0.4, 8, 4.15, 0.4, 8, 4.15, 0.55, 8, 4.0, 0.55},
+    };
+
+    /** @return Rotation matrix of a yaw then pitch, camera to field, row major. */
+    private static double[] rotation(double yaw, double pitch) {
+        double cy = Math.cos(yaw), sy = Math.sin(yaw), cp = Math.cos(pitch), sp = Math.sin(pitch);
+        // Rz(yaw) * Ry(pitch).
+        return new double[] {cy * cp, -sy, cy * sp, sy * cp, cy, sy * sp, -sp, 0, cp};
+    }
+
+    /** @return Quaternion w, x, y, z of a yaw then pitch. */
+    private static double[] quaternion(double yaw, double pitch) {
+        double cy = Math.cos(yaw / 2), sy = Math.sin(yaw / 2);
+        double cp = Math.cos(pitch / 2), sp = Math.sin(pitch / 2);
+        return new double[] {cy * cp, -sy * sp, cy * sp, sy * cp};
+    }
+
+    private static void addTags(
+            MultiTagSolver solver, double[] r, double[] t, int tags, Random noise, double sigma) {
+        for (int tag = 0; tag < tags; tag++) {
+            double[] corners = kTagCorners[tag];
+            for (int c = 0; c < 4; c++) {
+                double dx = corners[3 * c] - t[0];
+                double dy = corners[3 * c + 1] - t[1];
+                double dz = corners[3 * c + 2] - t[2];
+                double px = r[0] * dx + r[3] * dy + r[6] * dz;
+                double py = r[1] * dx + r[4] * dy + r[7] * dz;
+                double pz = r[2] * dx + r[5] * dy + r[8] * dz;
+                double u = kCx - kFx * py / px + noise.nextGaussian() * sigma;
+                double v = kCy - kFy * pz / px + noise.nextGaussian() * sigma;
+                solver.addPoint(corners[3 * c], corners[3 * c + 1], corners[3 * c + 2], u, v);
+            }
+        }
+    }
+
+    @Test
+    public void exactTest() {
+        Random random = new Random(7125);
+        MultiTagSolver solver = new MultiTagSolver(kFx, kFy, kCx, kCy);
+        double[] q = new double[4];
+
+        for (int trial = 0; trial < 50; trial++) {
+            double yaw = (random.nextDouble() - 0.5) * 0.6, pitch = -0.1 * random.nextDouble();
+            double[] t = {2 + 3 * random.nextDouble(), 1.5 + random.nextDouble(), 0.5};
+
+            solver.clearPoints();
+            addTags(solver, rotation(yaw, pitch), t, 3, random, 0.0);
+
+            // Start 0.4 meters and about 10 degrees off.
+            double[] guess = quaternion(yaw + 0.15, pitch + 0.1);
+            solver.setInitialPose(
+                    t[0] + 0.3, t[1] - 0.2, t[2] + 0.1, guess[0], guess[1], guess[2], guess[3]);
+            assertTrue(solver.solve());
+
+            assertEquals(0.0, solver.getReprojectionError(), 1e-6);
+            assertEquals(t[0], solver.getX(), 1e-6);
+            assertEquals(t[1], solver.getY(), 1e-6);
+            assertEquals(t[2], solver.getZ(), 1e-6);
+
+            solver.getRotation(q);
+            double[] expected = quaternion(yaw, pitch);
+            double dot = 0;
+            for (int i = 0; i < 4; i++) dot += q[i] * expected[i];
+            assertEquals(1.0, Math.abs(dot), 1e-9);
+        }
+    }
+
+    @Test
+    public void noiseTest() {
+        Random random = new Random(7125);
+        MultiTagSolver solver = new MultiTagSolver(kFx, kFy, kCx, kCy);
+        double[] t = {4, 2.5, 0.5};
+        double[] q = quaternion(0.1, -0.05);
+
+        // More tags constrain the pose better.
+        double[] errors = new double[3];
+        for (int tags = 1; tags <= 3; tags++) {
+            for (int trial = 0; trial < 50; trial++) {
+                solver.clearPoints();
+                addTags(solver, rotation(0.1, -0.05), t, tags, random, 1.0);
+                solver.setInitialPose(t[0] - 0.2, t[1] + 0.2, t[2], q[0], q[1], q[2], q[3]);
+                assertTrue(solver.solve());
+                assertTrue(solver.getReprojectionError() < 3.0);
+                errors[tags - 1] += Math.hypot(solver.getX() - t[0], solver.getY() - t[1]);
+            }
+        }
+        assertTrue(errors[2] < errors[0]);
+        assertTrue(errors[2] / 50 < 0.05);
+    }
+
+    @Test
+    public void invalidTest() {
+        MultiTagSolver solver = new MultiTagSolver(kFx, kFy, kCx, kCy);
+        solver.addPoint(8, 1, 0.4, 600, 300);
+        solver.addPoint(8, 1.1, 0.4, 620, 300);
+        solver.addPoint(8, 1.1, 0.5, 620, 280);
+        assertFalse(solver.solve());
+
+        // The points are behind a camera facing away from them.
+        solver.addPoint(8, 1, 0.5, 600, 280);
+        solver.setInitialPose(4, 1, 0.5, 0, 0, 0, 1);
+        assertFalse(solver.solve());
+    }
+}
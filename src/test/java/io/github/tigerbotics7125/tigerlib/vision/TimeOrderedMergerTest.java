@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.vision;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class TimeOrderedMergerTest {
+
+    private static TimeOrderedMerger<Double> merger(int sources) {
+        return new TimeOrderedMerger<>(sources, 0.5, Double::doubleValue);
+    }
+
+    @Test
+    public void holdTest() {
+        TimeOrderedMerger<Double> merger = merger(2);
+        List<Double> out = new ArrayList<>();
+
+        // Source 1 lags, so nothing past where it is may be released.
+        merger.offer(0, 1.0);
+        merger.offer(0, 2.0);
+        assertEquals(0, merger.poll(0.0, out));
+
+        merger.offer(1, 1.5);
+        assertEquals(2, merger.poll(0.0, out));
+        assertEquals(List.of(1.0, 1.5), out);
+        assertEquals(1, merger.getPendingCount());
+
+        // Source 1 saw nothing at 2.5, which still lets 2.0 go.
+        merger.advance(1, 2.5);
+        merger.offer(1, 1.8);
+        assertEquals(2, merger.poll(0.0, out));
+        assertEquals(List.of(1.0, 1.5, 1.8, 2.0), out);
+    }
+
+    @Test
+    public void orderTest() {
+        TimeOrderedMerger<Double> merger = merger(3);
+        List<Double> out = new ArrayList<>();
+        double[][] streams = {{0.10, 0.40, 0.70, 1.00}, {0.05, 0.35, 0.65}, {0.20, 0.90}};
+
+        // Interleave the sources unevenly, and check the whole stream stays in order.
+        int[] next = new int[3];
+        for (int step = 0; step < 12; step++) {
+            int source = step % 3;
+            if (next[source] < streams[source].length)
+                merger.offer(source, streams[source][next[source]++]);
+            merger.poll(0.0, out);
+        }
+        for (int source = 0; source < 3; source++) merger.advance(source, 10.0);
+        merger.poll(0.0, out);
+
+        assertEquals(9, out.size());
+        for (int i = 1; i < out.size(); i++) assertTrue(out.get(i - 1) <= out.get(i));
+        assertEquals(0, merger.getLateCount());
+    }
+
+    @Test
+    public void stalledSourceTest() {
+        TimeOrderedMerger<Double> merger = merger(2);
+        List<Double> out = new ArrayList<>();
+
+        // Source 1 never reports, so values are released once held for the longest hold.
+        merger.offer(0, 1.0);
+        merger.offer(0, 1.4);
+        assertEquals(0, merger.poll(1.4, out));
+        assertEquals(1, merger.poll(1.6, out));
+        assertEquals(List.of(1.0), out);
+
+        // Arriving older than a released value would break the order, so it is dropped.
+        assertFalse(merger.offer(1, 0.9));
+        assertEquals(1, merger.getLateCount());
+        assertEquals(1, merger.poll(2.0, out));
+        assertEquals(List.of(1.0, 1.4), out);
+    }
+
+    @Test
+    public void invalidTest() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new TimeOrderedMerger<Double>(0, 0.5, Double::doubleValue));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new TimeOrderedMerger<Double>(1, -1.0, Double::doubleValue));
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.vision;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class TimestampedBufferTest {
+
+    @Test
+    public void wrapTest() {
+        TimestampedBuffer<Integer> buffer = new TimestampedBuffer<>(3);
+        assertNull(buffer.getLatest());
+        assertNull(buffer.getNearest(1.0));
+
+        for (int i = 0; i < 5; i++) assertTrue(buffer.add(i, i));
+
+        // The two oldest were dropped.
+        assertEquals(3, buffer.size());
+        assertEquals(2, (int) buffer.get(0));
+        assertEquals(4, (int) buffer.getLatest());
+        assertEquals(3.0, buffer.getTimestamp(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.get(3));
+
+        // Timestamps must increase.
+        assertFalse(buffer.add(4.0, 9));
+        assertFalse(buffer.add(1.0, 9));
+        assertEquals(4, (int) buffer.getLatest());
+
+        buffer.clear();
+        assertEquals(0, buffer.size());
+        assertTrue(buffer.add(1.0, 1));
+    }
+
+    @Test
+    public void lookupTest() {
+        TimestampedBuffer<String> buffer = new TimestampedBuffer<>(4);
+        buffer.add(0.0, "a");
+        buffer.add(1.0, "b");
+        buffer.add(2.0, "c");
+        buffer.add(3.0, "d");
+        buffer.add(4.0, "e");
+
+        assertEquals("b", buffer.getNearest(-10.0));
+        assertEquals("c", buffer.getNearest(1.6));
+        assertEquals("b", buffer.getNearest(1.5));
+        assertEquals("e", buffer.getNearest(10.0));
+
+        assertEquals(0, buffer.indexAfter(0.5));
+        assertEquals(2, buffer.indexAfter(2.0));
+        assertEquals(4, buffer.indexAfter(4.0));
+
+        List<String> since = new ArrayList<>();
+        assertEquals(2, buffer.getSince(2.0, since));
+        assertEquals(List.of("d", "e"), since);
+        assertEquals(0, buffer.getSince(4.0, since));
+    }
+
+    @Test
+    public void outOfOrderTest() {
+        TimestampedBuffer<String> buffer = new TimestampedBuffer<>(4);
+        buffer.add(1.0, "a");
+        buffer.add(3.0, "c");
+        long read = buffer.getSequence();
+
+        // Arrives late, but is still given out once.
+        assertTrue(buffer.add(2.0, "b"));
+        assertTrue(buffer.add(4.0, "d"));
+        assertEquals("b", buffer.get(1));
+        List<String> added = new ArrayList<>();
+        assertEquals(2, buffer.getAddedAfter(read, added));
+        assertEquals(List.of("b", "d"), added);
+        assertEquals(0, buffer.getAddedAfter(buffer.getSequence(), added));
+
+        // Full, so the oldest is dropped for a late value, but one older than all is not added.
+        assertTrue(buffer.add(1.5, "e"));
+        assertEquals(4, buffer.size());
+        assertEquals("e", buffer.get(0));
+        assertFalse(buffer.add(0.5, "f"));
+        List<String> all = new ArrayList<>();
+        buffer.getSince(Double.NEGATIVE_INFINITY, all);
+        assertEquals(List.of("e", "b", "c", "d"), all);
+    }
+
+    @Test
+    public void invalidTest() {
+        assertThrows(IllegalArgumentException.class, () -> new TimestampedBuffer<>(0));
+    }
+}
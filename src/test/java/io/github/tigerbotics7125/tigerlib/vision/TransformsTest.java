@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2023 Tigerbotics and it's members. All rights reserved.
+ * This work is licensed under the terms of the GNU GPLv3 license
+ * found in the root directory of this project.
+ */
+package io.github.tigerbotics7125.tigerlib.vision;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+public class TransformsTest {
+
+    private static final double kEpsilon = 1e-9;
+
+    @Test
+    public void composeTest() {
+        // Yawed a quarter turn left, at (1, 2, 3).
+        double s = Math.sqrt(0.5);
+        double[] a = new double[Transforms.kSize];
+        Transforms.fromPose(1, 2, 3, s, 0, 0, s, a);
+
+        double[] point = new double[3];
+        Transforms.apply(a, 1, 0, 0, point, 0);
+        assertEquals(1.0, point[0], kEpsilon);
+        assertEquals(3.0, point[1], kEpsilon);
+        assertEquals(3.0, point[2], kEpsilon);
+
+        // One meter forward of a, then yawed a quarter turn further.
+        double[] b = new double[Transforms.kSize];
+        Transforms.fromPose(1, 0, 0, s, 0, 0, s, b);
+        double[] ab = new double[Transforms.kSize];
+        Transforms.compose(a, b, ab);
+        assertEquals(1.0, ab[9], kEpsilon);
+        assertEquals(3.0, ab[10], kEpsilon);
+        assertEquals(3.0, ab[11], kEpsilon);
+
+        double[] q = new double[4];
+        Transforms.getQuaternion(ab, q);
+        assertEquals(0.0, q[0], kEpsilon);
+        assertEquals(1.0, Math.abs(q[3]), kEpsilon);
+    }
+
+    @Test
+    public void inverseTest() {
+        double[] t = new double[Transforms.kSize];
+        Transforms.fromPose(0.3, -1.2, 0.8, 0.9, 0.1, -0.3, 0.2, t);
+
+        // Inverting in place, then composing in place, gives the identity.
+        double[] inverse = t.clone();
+        Transforms.invert(inverse, inverse);
+        Transforms.compose(t, inverse, inverse);
+        double[] identity = {1, 0, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0};
+        for (int i = 0; i < Transforms.kSize; i++) assertEquals(identity[i], inverse[i], kEpsilon);
+    }
+
+    @Test
+    public void quaternionTest() {
+        double[] q = {0.2, -0.5, 0.7, 0.1};
+        double norm = Math.sqrt(0.04 + 0.25 + 0.49 + 0.01);
+
+        double[] r = new double[9];
+        Transforms.setRotation(q[0], q[1], q[2], q[3], r);
+        double[] out = new double[4];
+        Transforms.getQuaternion(r, out);
+        for (int i = 0; i < 4; i++) assertEquals(q[i] / norm, out[i], kEpsilon);
+
+        assertThrows(IllegalArgumentException.class, () -> Transforms.setRotation(0, 0, 0, 0, r));
+    }
+}